@@ -0,0 +1,81 @@
+package com.archie.mind_card_server.benchmark;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.service.impl.CardServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 实体与DTO转换：CardServiceImpl 的 convertToDTO / convertToEntity
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardMappingBenchmark {
+
+    private CardServiceImpl service;
+
+    private MethodHandle convertToDTO;
+
+    private MethodHandle convertToEntity;
+
+    private Card card;
+
+    private CardDTO dto;
+
+    @Setup
+    public void setup() throws Throwable {
+        // 转换方法不使用任何依赖
+        service = new CardServiceImpl(null, null, null, null, null, null, null, null, null, null);
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(CardServiceImpl.class, MethodHandles.lookup());
+        convertToDTO = lookup.findVirtual(CardServiceImpl.class, "convertToDTO",
+                MethodType.methodType(CardDTO.class, Card.class));
+        convertToEntity = lookup.findVirtual(CardServiceImpl.class, "convertToEntity",
+                MethodType.methodType(Card.class, CardDTO.class));
+
+        LocalDateTime now = LocalDateTime.now();
+        card = new Card();
+        card.setId(1L);
+        card.setTitle("数据库索引学习笔记");
+        card.setContent("B+树、哈希索引与倒排索引的适用场景".repeat(20));
+        card.setCategory("技术学习");
+        card.setTags("数据库,索引");
+        card.setPriority(1);
+        card.setStatus(Card.CardStatus.ACTIVE);
+        card.setIsPublic(true);
+        card.setViewCount(42);
+        card.setCreatedBy("bench");
+        card.setUpdatedBy("bench");
+        card.setCreatedAt(now);
+        card.setUpdatedAt(now);
+        dto = (CardDTO) convertToDTO.invoke(service, card);
+    }
+
+    @Benchmark
+    public CardDTO toDTO() throws Throwable {
+        return (CardDTO) convertToDTO.invokeExact(service, card);
+    }
+
+    @Benchmark
+    public Card toEntity() throws Throwable {
+        return (Card) convertToEntity.invokeExact(service, dto);
+    }
+}
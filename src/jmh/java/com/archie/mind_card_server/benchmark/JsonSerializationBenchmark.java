@@ -0,0 +1,108 @@
+package com.archie.mind_card_server.benchmark;
+
+import com.archie.mind_card_server.dto.ApiResponse;
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.json.CardJsonModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分页接口响应 ApiResponse&lt;Page&lt;CardDTO&gt;&gt; 的JSON序列化
+ * <p>
+ * serializers 对比反射序列化、Blackbird 和 Blackbird + 手写序列化器（默认配置）。
+ * 每次请求分配的字节数见 gc 分析器输出的 gc.alloc.rate.norm：
+ * <pre>
+ * mvn -P jmh verify -Djmh.args="JsonSerializationBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    @Param({"reflective", "blackbird", "card-module"})
+    public String serializers;
+
+    private ObjectMapper objectMapper;
+
+    private ApiResponse<Page<CardDTO>> response;
+
+    @Setup
+    public void setup() {
+        // 与 Spring Boot 默认配置一致：注册 JavaTimeModule，日期输出为ISO字符串
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        switch (serializers) {
+            case "blackbird" -> builder.modulesToInstall(new BlackbirdModule());
+            case "card-module" -> builder.modulesToInstall(new BlackbirdModule(), new CardJsonModule());
+            default -> {
+            }
+        }
+        objectMapper = builder.build();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<CardDTO> cards = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            CardDTO card = new CardDTO();
+            card.setId(id);
+            card.setTitle("卡片" + id);
+            card.setContent("B+树、哈希索引与倒排索引的适用场景".repeat(10));
+            card.setCategory("技术学习");
+            card.setTags("数据库,索引");
+            card.setPriority(1);
+            card.setStatus(Card.CardStatus.ACTIVE);
+            card.setColor("#FFFFFF");
+            card.setIsFavorite(false);
+            card.setIsPublic(true);
+            card.setViewCount(42);
+            card.setCreatedBy("bench");
+            card.setCreatedAt(now);
+            card.setUpdatedAt(now);
+            cards.add(card);
+        }
+        Page<CardDTO> page = new PageImpl<>(cards, PageRequest.of(0, pageSize), 10_000);
+        response = ApiResponse.success(page, "获取卡片分页成功");
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    /**
+     * 与MVC消息转换器一样直接写入输出流，不计响应体本身的字节数组
+     */
+    @Benchmark
+    public void writePage() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), response);
+    }
+}
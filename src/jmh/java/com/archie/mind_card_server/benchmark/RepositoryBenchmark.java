@@ -0,0 +1,111 @@
+package com.archie.mind_card_server.benchmark;
+
+import com.archie.mind_card_server.MindCardServerApplication;
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.repository.CardRepository;
+import com.archie.mind_card_server.service.CardExportService;
+import com.archie.mind_card_server.service.CardImportService;
+import com.archie.mind_card_server.service.CardStatisticsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 仓库查询：在嵌入式H2中导入 cards 张卡片后测量热点查询的延迟。
+ * <p>
+ * 数据量通过 -p cards=10000,100000,1000000 调整，100万张卡片需要约4GB堆内存。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class RepositoryBenchmark {
+
+    private static final int IMPORT_BATCH = 10_000;
+
+    @Param({"10000", "100000"})
+    public int cards;
+
+    private ConfigurableApplicationContext context;
+
+    private CardRepository cardRepository;
+
+    private CardStatisticsService cardStatisticsService;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        context = new SpringApplicationBuilder(MindCardServerApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                // 命令行参数优先于 application-test.yml，关闭SQL和调试日志
+                .run("--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.archie.mind_card_server=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN");
+        cardRepository = context.getBean(CardRepository.class);
+        cardStatisticsService = context.getBean(CardStatisticsService.class);
+
+        CardImportService importService = context.getBean(CardImportService.class);
+        Random random = new Random(42);
+        for (int imported = 0; imported < cards; imported += IMPORT_BATCH) {
+            byte[] batch = BenchmarkData.ndjson(random, Math.min(IMPORT_BATCH, cards - imported));
+            importService.importCards(CardExportService.Format.NDJSON, new ByteArrayInputStream(batch));
+        }
+        cardStatisticsService.reconcile();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Card> searchByKeyword() {
+        return cardRepository.searchByKeyword("数据库索引");
+    }
+
+    @Benchmark
+    public List<Card> findByTag() {
+        return cardRepository.findByTag("kafka");
+    }
+
+    @Benchmark
+    public Page<Card> findPopularCards() {
+        return cardRepository.findPopularCards(PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public Map<String, Object> statistics() {
+        return cardStatisticsService.getStatistics(false);
+    }
+
+    @Benchmark
+    public Map<String, Object> statisticsRecompute() {
+        return cardStatisticsService.getStatistics(true);
+    }
+}
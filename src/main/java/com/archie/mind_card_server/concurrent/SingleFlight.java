@@ -0,0 +1,24 @@
+package com.archie.mind_card_server.concurrent;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注只读的服务方法：方法和参数都相同的并发调用只执行一次，共享结果或异常。
+ * 参数需要实现 equals 和 hashCode；返回值由所有调用方共享，调用方不能修改。
+ *
+ * @see SingleFlightAspect
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingleFlight {
+
+    /**
+     * follower 最长等待时间（毫秒），小于0时使用 app.single-flight.timeout-ms
+     */
+    long timeoutMs() default -1;
+}
@@ -0,0 +1,52 @@
+package com.archie.mind_card_server.concurrent;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 按方法和参数合并 {@link SingleFlight} 方法的并发调用。
+ * <p>
+ * 在 ServiceMetricsAspect 之后、事务拦截器之前执行：等待中的调用不开启事务，也不占用数据库连接。
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class SingleFlightAspect {
+    
+    private final SingleFlightGroup singleFlightGroup;
+    
+    // 方法 -> 指标标签值
+    private final Map<Method, String> names = new ConcurrentHashMap<>();
+    
+    @Around("@annotation(singleFlight)")
+    public Object coalesce(ProceedingJoinPoint joinPoint, SingleFlight singleFlight) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        String name = names.computeIfAbsent(method, SingleFlightAspect::name);
+        return singleFlightGroup.execute(name, new Key(method, Arrays.asList(joinPoint.getArgs())),
+                singleFlight.timeoutMs(), joinPoint::proceed);
+    }
+    
+    // 重载的方法用参数类型区分
+    private static String name(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName() + Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(",", "(", ")"));
+    }
+    
+    private record Key(Method method, List<Object> args) {
+    }
+}
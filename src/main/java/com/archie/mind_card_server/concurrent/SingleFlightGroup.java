@@ -0,0 +1,154 @@
+package com.archie.mind_card_server.concurrent;
+
+import com.archie.mind_card_server.exception.SingleFlightTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 合并相同的并发调用：同一个 key 同时只有一个调用（leader）真正执行，
+ * 执行期间到达的相同调用（follower）等待并共享它的结果或异常。
+ * <p>
+ * leader 完成后立即移除，之后到达的调用重新执行，不会读到已完成调用的旧结果。
+ * follower 最多等待 timeout，超时抛出 {@link SingleFlightTimeoutException}；
+ * 已经执行超过 timeout 的调用不再接收新的 follower，新到达的调用另起一次执行。
+ * <p>
+ * 指标 card.singleflight.calls 按 name 和 role（leader、follower、timeout）计数，
+ * 合并比例 = follower / (leader + follower)。
+ */
+@Slf4j
+@Component
+public class SingleFlightGroup {
+
+    private final Map<Object, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+
+    private final long defaultTimeoutMs;
+
+    public SingleFlightGroup(MeterRegistry meterRegistry,
+                             @Value("${app.single-flight.enabled:true}") boolean enabled,
+                             @Value("${app.single-flight.timeout-ms:5000}") long defaultTimeoutMs) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.defaultTimeoutMs = defaultTimeoutMs;
+
+        Gauge.builder("card.singleflight.inflight", inFlight, Map::size)
+                .description("正在执行的合并调用数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 可能抛出受检异常的调用
+     */
+    @FunctionalInterface
+    public interface Call<T> {
+        T call() throws Throwable;
+    }
+
+    /**
+     * 使用默认超时合并调用
+     */
+    public <T> T execute(String name, Object key, Supplier<T> supplier) {
+        try {
+            return execute(name, key, defaultTimeoutMs, supplier::get);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    /**
+     * 合并调用，name 用于指标标签，key 相同的并发调用共享一次执行；timeoutMs 小于0时使用默认超时
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Object key, long timeoutMs, Call<T> call) throws Throwable {
+        if (!enabled) {
+            return call.call();
+        }
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs < 0 ? defaultTimeoutMs : timeoutMs);
+        Flight flight = new Flight(System.nanoTime());
+        while (true) {
+            Flight existing = inFlight.putIfAbsent(key, flight);
+            if (existing == null) {
+                return lead(name, key, flight, call);
+            }
+            if (System.nanoTime() - existing.startedAt < timeoutNanos) {
+                return (T) join(name, existing, timeoutNanos);
+            }
+            // 进行中的调用已超时，不再合并到它上面
+            if (inFlight.replace(key, existing, flight)) {
+                return lead(name, key, flight, call);
+            }
+        }
+    }
+
+    private <T> T lead(String name, Object key, Flight flight, Call<T> call) throws Throwable {
+        count(name, "leader");
+        T result;
+        try {
+            result = call.call();
+        } catch (Throwable e) {
+            inFlight.remove(key, flight);
+            flight.future.completeExceptionally(e);
+            throw e;
+        }
+        inFlight.remove(key, flight);
+        flight.future.complete(result);
+        return result;
+    }
+
+    private Object join(String name, Flight flight, long timeoutNanos) throws Throwable {
+        try {
+            Object result = flight.future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            count(name, "follower");
+            return result;
+        } catch (ExecutionException e) {
+            // leader 的异常原样传给所有 follower
+            count(name, "follower");
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            count(name, "timeout");
+            log.warn("等待合并调用结果超时: {}", name);
+            throw new SingleFlightTimeoutException("请求处理超时，请稍后重试");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待合并调用结果时被中断: " + name, e);
+        }
+    }
+
+    private void count(String name, String role) {
+        Counter.builder("card.singleflight.calls")
+                .description("合并调用次数，role 为 leader 时实际执行")
+                .tag("name", name)
+                .tag("role", role)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static final class Flight {
+
+        private final long startedAt;
+
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        Flight(long startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.archie.mind_card_server.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 采样访问日志
+ * <p>
+ * 每个请求结束后按 key=value 格式输出一行到 access 日志，取代各接口逐个打印的请求日志。
+ * 按 sample-rate 采样，5xx 和超过慢请求阈值的请求总是输出。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.access-log.enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("access");
+
+    private final double sampleRate;
+
+    private final long slowThresholdMs;
+
+    public AccessLogFilter(@Value("${app.access-log.sample-rate:1.0}") double sampleRate,
+                           @Value("${app.access-log.slow-threshold-ms:500}") long slowThresholdMs) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!ACCESS_LOG.isInfoEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // 流式导出等异步请求在响应完成时再记录
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        log(request, response, start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                log(request, response, start);
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, HttpServletResponse response, long start) {
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        int status = response.getStatus();
+        if (status < 500 && durationMs < slowThresholdMs
+                && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        ACCESS_LOG.info("method={} uri={} route={} status={} duration_ms={} client={}",
+                request.getMethod(), request.getRequestURI(), pattern != null ? pattern : "UNKNOWN",
+                status, durationMs, request.getRemoteAddr());
+    }
+}
@@ -0,0 +1,68 @@
+package com.archie.mind_card_server.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * 缓存配置
+ * <p>
+ * 业务代码只依赖Spring的 {@link CacheManager}，可以替换为其他实现（如Redis）。
+ * 缓存的命中、未命中和淘汰统计由Actuator自动注册为 cache.* 指标。
+ */
+@Slf4j
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // 单张卡片，key 为卡片ID
+    public static final String CARD_BY_ID = "cardById";
+
+    // 分类卡片列表，key 为小写分类名
+    public static final String CARDS_BY_CATEGORY = "cardsByCategory";
+
+    // 收藏卡片列表，只有一个key
+    public static final String FAVORITE_CARDS = "favoriteCards";
+
+    // 公开卡片列表，只有一个key
+    public static final String PUBLIC_CARDS = "publicCards";
+
+    // 列表缓存的固定key
+    public static final String ALL = "all";
+
+    @Value("${app.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache.card-spec:maximumSize=10000,expireAfterWrite=10m}")
+    private String cardSpec;
+
+    @Value("${app.cache.list-spec:maximumSize=1000,expireAfterWrite=1m}")
+    private String listSpec;
+
+    @Bean
+    public CacheManager cacheManager() {
+        if (!enabled) {
+            log.info("卡片缓存已禁用");
+            return new NoOpCacheManager();
+        }
+
+        log.info("配置卡片缓存 - 单卡片: {}, 列表: {}", cardSpec, listSpec);
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // 只允许使用下面注册的缓存，避免动态创建无界缓存
+        cacheManager.setCacheNames(List.of());
+        cacheManager.registerCustomCache(CARD_BY_ID, Caffeine.from(cardSpec).recordStats().build());
+        for (String name : List.of(CARDS_BY_CATEGORY, FAVORITE_CARDS, PUBLIC_CARDS)) {
+            cacheManager.registerCustomCache(name, Caffeine.from(listSpec).recordStats().build());
+        }
+        return cacheManager;
+    }
+}
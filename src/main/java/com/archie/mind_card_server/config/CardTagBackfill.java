@@ -0,0 +1,62 @@
+package com.archie.mind_card_server.config;
+
+import com.archie.mind_card_server.entity.CardTag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 将 cards.tags 中逗号分隔的标签回填到 card_tags 表
+ * <p>
+ * 启动后按ID分批处理还没有标签行的卡片，每批单独提交，不阻塞正常读写；
+ * 已回填的卡片不会重复处理，可以反复执行。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CardTagBackfill {
+    
+    private static final String SELECT_SQL = "SELECT c.id, c.tags FROM cards c WHERE c.id > ? " +
+            "AND c.tags IS NOT NULL AND c.tags <> '' " +
+            "AND NOT EXISTS (SELECT 1 FROM card_tags t WHERE t.card_id = c.id) ORDER BY c.id LIMIT ?";
+    
+    private static final String INSERT_SQL = "INSERT INTO card_tags (card_id, tag) SELECT ?, ? " +
+            "WHERE NOT EXISTS (SELECT 1 FROM card_tags WHERE card_id = ? AND tag = ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Value("${app.tags.backfill-batch-size:1000}")
+    private int batchSize;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long lastId = 0;
+        int cardCount = 0;
+        List<Map<String, Object>> rows;
+        do {
+            rows = jdbcTemplate.queryForList(SELECT_SQL, lastId, batchSize);
+            List<Object[]> inserts = new ArrayList<>();
+            for (Map<String, Object> row : rows) {
+                long id = ((Number) row.get("id")).longValue();
+                for (String tag : CardTag.parse((String) row.get("tags"))) {
+                    inserts.add(new Object[]{id, tag, id, tag});
+                }
+                lastId = id;
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+            cardCount += rows.size();
+        } while (rows.size() == batchSize);
+        
+        if (cardCount > 0) {
+            log.info("标签回填完成: {} 张卡片", cardCount);
+        }
+    }
+}
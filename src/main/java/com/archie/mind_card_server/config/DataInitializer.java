@@ -1,6 +1,7 @@
 package com.archie.mind_card_server.config;
 
 import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.repository.CardArchiveRepository;
 import com.archie.mind_card_server.repository.CardRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,12 +19,14 @@ public class DataInitializer implements CommandLineRunner {
     
     private final CardRepository cardRepository;
     
+    private final CardArchiveRepository cardArchiveRepository;
+    
     @Override
     public void run(String... args) throws Exception {
         log.info("开始初始化数据...");
         
-        // 检查是否已经有数据
-        if (cardRepository.count() > 0) {
+        // 检查是否已经有数据，卡片全部归档后也不再重新初始化
+        if (cardRepository.count() > 0 || cardArchiveRepository.count() > 0) {
             log.info("数据库中已存在数据，跳过初始化");
             return;
         }
@@ -1,10 +1,17 @@
 package com.archie.mind_card_server.config;
 
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.sql.DataSource;
@@ -12,11 +19,15 @@ import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Value;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @Configuration
 @EnableJpaRepositories(basePackages = "com.archie.mind_card_server.repository")
 @EnableTransactionManagement
-public class DatabaseConfig {
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class DatabaseConfig implements DisposableBean {
     
     @Value("${spring.datasource.url}")
     private String jdbcUrl;
@@ -45,13 +56,69 @@ public class DatabaseConfig {
     @Value("${spring.datasource.hikari.max-lifetime:1800000}")
     private long maxLifetime;
     
+    // 默认在启用虚拟线程时限制并发连接数
+    @Value("${app.datasource.concurrency-limit.enabled:${spring.threads.virtual.enabled:false}}")
+    private boolean concurrencyLimitEnabled;
+    
+    // 副本连接池和路由在应用关闭时释放
+    private final List<AutoCloseable> closeables = new ArrayList<>();
+    
     @Bean
     @ConfigurationProperties(prefix = "spring.datasource.hikari")
-    public DataSource dataSource() {
+    public DataSource dataSource(ReplicaProperties replicaProperties, ObjectProvider<MeterRegistry> meterRegistry) {
         log.info("配置数据库连接池");
         
+        HikariConfig config = poolConfig("MindCardHikariCP", jdbcUrl, username, password, maximumPoolSize, minimumIdle);
+        
+        log.info("数据库连接池配置完成 - URL: {}, 最大连接数: {}", jdbcUrl, maximumPoolSize);
+        
+        HikariDataSource pool = new HikariDataSource(config);
+        DataSource primary = limited(pool, maximumPoolSize);
+        if (replicaProperties.getTargets().isEmpty()) {
+            return primary;
+        }
+        closeables.add(pool);
+        return withReplicas(primary, replicaProperties, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+    
+    // 只读事务使用副本，其余使用主库。LazyConnectionDataSourceProxy 推迟到第一条语句时才获取连接，
+    // 此时事务已把连接标记为只读，据此选择 readOnlyDataSource
+    private DataSource withReplicas(DataSource primary, ReplicaProperties properties, MeterRegistry meterRegistry) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        List<ReplicaProperties.Target> targets = properties.getTargets();
+        for (int i = 0; i < targets.size(); i++) {
+            ReplicaProperties.Target target = targets.get(i);
+            String poolName = "MindCardReplica-" + (i + 1);
+            HikariConfig config = poolConfig(poolName, target.getUrl(),
+                    target.getUsername() != null ? target.getUsername() : username,
+                    target.getPassword() != null ? target.getPassword() : password,
+                    target.getMaximumPoolSize(), target.getMinimumIdle());
+            // 副本连不上时不阻止启动，由健康检查标记为不可用
+            config.setInitializationFailTimeout(-1);
+            config.setReadOnly(true);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            
+            HikariDataSource pool = new HikariDataSource(config);
+            closeables.add(pool);
+            replicas.add(new ReplicaRoutingDataSource.Replica(poolName,
+                    limited(pool, target.getMaximumPoolSize())));
+            log.info("副本连接池配置完成 - {}: {}, 最大连接数: {}", poolName, target.getUrl(), target.getMaximumPoolSize());
+        }
+        
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, replicas, properties.getMaxLagMs(),
+                properties.getLagQuery(), properties.getHealthCheckIntervalMs(), meterRegistry);
+        closeables.add(router);
+        
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(router);
+        log.info("启用读写分离: {} 个副本, 最大复制延迟 {} ms", replicas.size(), properties.getMaxLagMs());
+        return dataSource;
+    }
+    
+    private HikariConfig poolConfig(String poolName, String url, String username, String password,
+                                    int maximumPoolSize, int minimumIdle) {
         HikariConfig config = new HikariConfig();
-        config.setJdbcUrl(jdbcUrl);
+        config.setJdbcUrl(url);
         config.setUsername(username);
         config.setPassword(password);
         config.setDriverClassName(driverClassName);
@@ -64,7 +131,7 @@ public class DatabaseConfig {
         config.setMaxLifetime(maxLifetime);
         
         // 连接池名称
-        config.setPoolName("MindCardHikariCP");
+        config.setPoolName(poolName);
         
         // 连接测试查询
         config.setConnectionTestQuery("SELECT 1");
@@ -74,9 +141,22 @@ public class DatabaseConfig {
         
         // 连接泄漏检测
         config.setLeakDetectionThreshold(60000);
-        
-        log.info("数据库连接池配置完成 - URL: {}, 最大连接数: {}", jdbcUrl, maximumPoolSize);
-        
-        return new HikariDataSource(config);
+        return config;
+    }
+    
+    private DataSource limited(HikariDataSource dataSource, int poolSize) {
+        if (concurrencyLimitEnabled) {
+            log.info("启用数据库并发限制: {} - {}", dataSource.getPoolName(), poolSize);
+            return new ConcurrencyLimitedDataSource(dataSource, poolSize, connectionTimeout);
+        }
+        return dataSource;
+    }
+    
+    @Override
+    public void destroy() throws Exception {
+        // 先停止健康检查，再关闭连接池
+        for (int i = closeables.size() - 1; i >= 0; i--) {
+            closeables.get(i).close();
+        }
     }
 }
@@ -0,0 +1,34 @@
+package com.archie.mind_card_server.config;
+
+import com.archie.mind_card_server.json.CardJsonModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JSON序列化配置
+ * <p>
+ * 注册为Bean的 Module 会被Spring Boot加入自动配置的 ObjectMapper，MVC响应和流式接口都会使用。
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * 用 LambdaMetafactory 生成的访问器代替反射读写Bean属性，作用于所有DTO
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.json.blackbird", havingValue = "true", matchIfMissing = true)
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * CardDTO 和 ApiResponse 使用手写序列化器
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.json.card-serializers", havingValue = "true", matchIfMissing = true)
+    public CardJsonModule cardJsonModule() {
+        return new CardJsonModule();
+    }
+}
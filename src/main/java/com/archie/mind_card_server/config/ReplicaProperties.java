@@ -0,0 +1,39 @@
+package com.archie.mind_card_server.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 只读副本配置，targets 为空时不启用读写分离
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaProperties {
+    
+    private List<Target> targets = new ArrayList<>();
+    
+    // 复制延迟超过该值的副本不再接收读请求
+    private long maxLagMs = 5000;
+    
+    private long healthCheckIntervalMs = 5000;
+    
+    // 返回复制延迟毫秒数的查询，为空时只检查副本能否连接
+    private String lagQuery;
+    
+    @Data
+    public static class Target {
+        
+        private String url;
+        
+        private String username;
+        
+        private String password;
+        
+        private int maximumPoolSize = 10;
+        
+        private int minimumIdle = 2;
+    }
+}
@@ -0,0 +1,213 @@
+package com.archie.mind_card_server.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 只读事务的连接来源：在健康且复制延迟不超过阈值的副本之间轮询，
+ * 没有可用副本时回退到主库。
+ * <p>
+ * 副本状态由后台线程定期检查。检查完成前副本视为不可用，
+ * 因此副本启动较慢或连不上时不会影响应用启动，只是读请求暂时走主库。
+ * <p>
+ * 副本可能落后于刚提交的写入。读取结果要写入缓存或内存计数时用 {@link #onPrimary} 读主库，
+ * 否则旧数据会在缓存中一直保留到下次失效。
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    
+    private final DataSource primary;
+    
+    private final List<Replica> replicas;
+    
+    private final long maxLagMs;
+    
+    private final String lagQuery;
+    
+    // 当前线程是否要求只读事务也使用主库
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+    
+    private final AtomicInteger next = new AtomicInteger();
+    
+    private final ScheduledExecutorService healthChecker;
+    
+    private final Counter fallbacks;
+    
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, long maxLagMs,
+                                    String lagQuery, long healthCheckIntervalMs, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagMs = maxLagMs;
+        this.lagQuery = lagQuery != null && !lagQuery.isBlank() ? lagQuery : null;
+        
+        for (Replica replica : this.replicas) {
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("副本是否健康")
+                    .tag("pool", replica.name())
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagMs)
+                    .description("副本复制延迟（毫秒）")
+                    .tag("pool", replica.name())
+                    .register(meterRegistry);
+        }
+        this.fallbacks = Counter.builder("datasource.replica.fallback")
+                .description("没有可用副本、只读连接回退到主库的次数")
+                .register(meterRegistry);
+        
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.healthChecker.scheduleWithFixedDelay(this::checkReplicas, 0, healthCheckIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * 执行 action，期间当前线程开启的只读事务从主库获取连接。
+     * 只对 action 内第一次获取连接的事务生效，已经拿到副本连接的外层事务不受影响
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (PRIMARY_REQUIRED.get() != null) {
+            return action.get();
+        }
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+    
+    public static void onPrimary(Runnable action) {
+        onPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(DataSource::getConnection);
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection(dataSource -> dataSource.getConnection(username, password));
+    }
+    
+    private Connection getConnection(ConnectionFactory factory) throws SQLException {
+        if (PRIMARY_REQUIRED.get() != null) {
+            return factory.connect(primary);
+        }
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (!replica.isUsable(maxLagMs)) {
+                continue;
+            }
+            try {
+                return factory.connect(replica.dataSource());
+            } catch (SQLException e) {
+                // 等下一次健康检查恢复
+                replica.markDown(e);
+            }
+        }
+        fallbacks.increment();
+        return factory.connect(primary);
+    }
+    
+    /**
+     * 当前接收读请求的副本数
+     */
+    public int getUsableReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.isUsable(maxLagMs)).count();
+    }
+    
+    /**
+     * 立即检查所有副本，正常由后台线程定期调用
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource().getConnection()) {
+                long lag = lagQuery != null ? queryLag(connection) : 0;
+                if (!replica.healthy || (lag > maxLagMs) != (replica.lagMs > maxLagMs)) {
+                    log.info("副本状态: {} 可用, 复制延迟 {} ms", replica.name(), lag);
+                }
+                replica.lagMs = lag;
+                replica.healthy = true;
+            } catch (SQLException | RuntimeException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+    
+    private long queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+    
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+    }
+    
+    @FunctionalInterface
+    private interface ConnectionFactory {
+        
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+    
+    /**
+     * 一个副本连接池及其最近一次检查的状态
+     */
+    public static final class Replica {
+        
+        private final String name;
+        
+        private final DataSource dataSource;
+        
+        private volatile boolean healthy;
+        
+        private volatile long lagMs;
+        
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+        
+        public String name() {
+            return name;
+        }
+        
+        public DataSource dataSource() {
+            return dataSource;
+        }
+        
+        boolean isUsable(long maxLagMs) {
+            return healthy && lagMs <= maxLagMs;
+        }
+        
+        void markDown(Exception e) {
+            if (healthy) {
+                log.warn("副本不可用: {}, {}", name, e.getMessage());
+            }
+            healthy = false;
+        }
+    }
+}
@@ -1,9 +1,20 @@
 package com.archie.mind_card_server.controller;
 
 import com.archie.mind_card_server.dto.ApiResponse;
+import com.archie.mind_card_server.dto.BatchUpdateResult;
 import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.dto.CardSummaryDTO;
+import com.archie.mind_card_server.dto.CursorPage;
+import com.archie.mind_card_server.dto.ImportResult;
+import com.archie.mind_card_server.dto.ListValidator;
+import com.archie.mind_card_server.dto.TagCountDTO;
 import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.outbox.SseCardEventSink;
+import com.archie.mind_card_server.ranking.PopularityWindow;
+import com.archie.mind_card_server.service.CardExportService;
+import com.archie.mind_card_server.service.CardImportService;
 import com.archie.mind_card_server.service.CardService;
+import com.archie.mind_card_server.service.CardStatisticsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,12 +22,21 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/cards")
@@ -26,12 +46,20 @@ public class CardController {
     
     private final CardService cardService;
     
+    private final CardExportService cardExportService;
+    
+    private final CardImportService cardImportService;
+    
+    private final CardStatisticsService cardStatisticsService;
+    
+    private final SseCardEventSink sseCardEventSink;
+    
     /**
      * 创建新卡片
      */
     @PostMapping
     public ResponseEntity<ApiResponse<CardDTO>> createCard(@Valid @RequestBody CardDTO cardDTO) {
-        log.info("创建卡片请求: {}", cardDTO.getTitle());
+        log.debug("创建卡片请求: {}", cardDTO.getTitle());
         
         CardDTO createdCard = cardService.createCard(cardDTO);
         return ResponseEntity.status(HttpStatus.CREATED)
@@ -39,16 +67,22 @@ public class CardController {
     }
     
     /**
-     * 根据ID获取卡片
+     * 根据ID获取卡片，支持 If-None-Match / If-Modified-Since 条件请求
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<CardDTO>> getCard(@PathVariable Long id) {
-        log.info("获取卡片请求: {}", id);
+    public ResponseEntity<ApiResponse<CardDTO>> getCard(@PathVariable Long id, WebRequest request) {
+        log.debug("获取卡片请求: {}", id);
         
-        CardDTO card = cardService.getCardById(id);
-        // 增加查看次数
-        cardService.incrementViewCount(id);
+        // 获取卡片并增加查看次数（查看次数异步批量写入数据库）
+        CardDTO card = cardService.incrementViewCount(id);
         
+        // 弱ETag只由ID和版本号决定，查看次数的变化不视为内容变化
+        String eTag = "W/\"" + card.getId() + "-" + card.getVersion() + "\"";
+        long lastModified = card.getUpdatedAt() != null
+                ? card.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+        if (request.checkNotModified(eTag, lastModified)) {
+            return null;
+        }
         return ResponseEntity.ok(ApiResponse.success(card, "获取卡片成功"));
     }
     
@@ -59,7 +93,7 @@ public class CardController {
     public ResponseEntity<ApiResponse<CardDTO>> updateCard(
             @PathVariable Long id,
             @Valid @RequestBody CardDTO cardDTO) {
-        log.info("更新卡片请求: {}", id);
+        log.debug("更新卡片请求: {}", id);
         
         CardDTO updatedCard = cardService.updateCard(id, cardDTO);
         return ResponseEntity.ok(ApiResponse.success(updatedCard, "卡片更新成功"));
@@ -70,7 +104,7 @@ public class CardController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteCard(@PathVariable Long id) {
-        log.info("删除卡片请求: {}", id);
+        log.debug("删除卡片请求: {}", id);
         
         cardService.deleteCard(id);
         return ResponseEntity.ok(ApiResponse.success(null, "卡片删除成功"));
@@ -81,7 +115,7 @@ public class CardController {
      */
     @DeleteMapping("/{id}/hard")
     public ResponseEntity<ApiResponse<Void>> hardDeleteCard(@PathVariable Long id) {
-        log.info("物理删除卡片请求: {}", id);
+        log.debug("物理删除卡片请求: {}", id);
         
         cardService.hardDeleteCard(id);
         return ResponseEntity.ok(ApiResponse.success(null, "卡片永久删除成功"));
@@ -91,11 +125,54 @@ public class CardController {
      * 获取所有卡片
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CardDTO>>> getAllCards() {
-        log.info("获取所有卡片请求");
+    public ResponseEntity<ApiResponse<List<CardDTO>>> getAllCards(WebRequest request) {
+        log.debug("获取所有卡片请求");
+        
+        return conditional(request, cardService.getCardsValidator(),
+                () -> ApiResponse.success(cardService.getAllCards(), "获取卡片列表成功"), "all");
+    }
+    
+    /**
+     * 获取所有卡片的摘要（view=summary），不包含正文
+     */
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<ApiResponse<List<CardSummaryDTO>>> getAllCardSummaries(WebRequest request) {
+        log.debug("获取所有卡片摘要请求");
         
-        List<CardDTO> cards = cardService.getAllCards();
-        return ResponseEntity.ok(ApiResponse.success(cards, "获取卡片列表成功"));
+        return conditional(request, cardService.getCardsValidator(),
+                () -> ApiResponse.success(cardService.getAllCardSummaries(), "获取卡片列表成功"), "all", "summary");
+    }
+    
+    /**
+     * 流式导出卡片（NDJSON 或 CSV），边读边写，适合大数据量
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCards(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Card.CardStatus status) {
+        log.debug("导出卡片请求: format={}, status={}", format, status);
+        
+        CardExportService.Format exportFormat = CardExportService.Format.valueOf(format.toUpperCase());
+        StreamingResponseBody body = out -> cardExportService.exportCards(exportFormat, status, out);
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=cards." + exportFormat.getExtension())
+                .body(body);
+    }
+    
+    /**
+     * 流式导入卡片（NDJSON 或 CSV，格式与导出一致），返回出错的行
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ApiResponse<ImportResult>> importCards(
+            @RequestParam(defaultValue = "ndjson") String format,
+            InputStream body) throws IOException {
+        log.debug("导入卡片请求: format={}", format);
+        
+        CardExportService.Format importFormat = CardExportService.Format.valueOf(format.toUpperCase());
+        ImportResult result = cardImportService.importCards(importFormat, body);
+        return ResponseEntity.ok(ApiResponse.success(result, "导入完成"));
     }
     
     /**
@@ -106,15 +183,68 @@ public class CardController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
-        log.info("分页获取卡片请求: page={}, size={}", page, size);
+            @RequestParam(defaultValue = "desc") String sortDir,
+            WebRequest request) {
+        log.debug("分页获取卡片请求: page={}, size={}", page, size);
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<CardDTO> cards = cardService.getCards(pageable);
-        return ResponseEntity.ok(ApiResponse.success(cards, "获取卡片分页成功"));
+        return conditional(request, cardService.getCardsValidator(),
+                () -> ApiResponse.success(cardService.getCards(pageable), "获取卡片分页成功"),
+                "page", page, size, sort);
+    }
+    
+    /**
+     * 分页获取卡片摘要（view=summary）
+     */
+    @GetMapping(value = "/page", params = "view=summary")
+    public ResponseEntity<ApiResponse<Page<CardSummaryDTO>>> getCardSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            WebRequest request) {
+        log.debug("分页获取卡片摘要请求: page={}, size={}", page, size);
+        
+        Sort sort = sortDir.equalsIgnoreCase("desc") ? 
+                Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        Pageable pageable = PageRequest.of(page, size, sort);
+        
+        return conditional(request, cardService.getCardsValidator(),
+                () -> ApiResponse.success(cardService.getCardSummaries(pageable), "获取卡片分页成功"),
+                "page", page, size, sort, "summary");
+    }
+    
+    /**
+     * 游标分页获取卡片，按创建时间倒序，cursor 为空时返回第一页
+     */
+    @GetMapping(value = "/page", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<CardDTO>>> getCardsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        log.debug("游标分页获取卡片请求: size={}", size);
+        
+        return conditional(request, cardService.getCardsValidator(),
+                () -> ApiResponse.success(cardService.getCards(cursor, size), "获取卡片分页成功"),
+                "cursor", cursor, size);
+    }
+    
+    /**
+     * 游标分页获取卡片摘要（view=summary）
+     */
+    @GetMapping(value = "/page", params = {"cursor", "view=summary"})
+    public ResponseEntity<ApiResponse<CursorPage<CardSummaryDTO>>> getCardSummariesByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        log.debug("游标分页获取卡片摘要请求: size={}", size);
+        
+        return conditional(request, cardService.getCardsValidator(),
+                () -> ApiResponse.success(cardService.getCardSummaries(cursor, size), "获取卡片分页成功"),
+                "cursor", cursor, size, "summary");
     }
     
     /**
@@ -124,13 +254,63 @@ public class CardController {
     public ResponseEntity<ApiResponse<Page<CardDTO>>> getCardsByStatus(
             @PathVariable Card.CardStatus status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        log.info("根据状态获取卡片请求: {}", status);
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        log.debug("根据状态获取卡片请求: {}", status);
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<CardDTO> cards = cardService.getCardsByStatus(status, pageable);
+        return conditional(request, cardService.getCardsByStatusValidator(status),
+                () -> ApiResponse.success(cardService.getCardsByStatus(status, pageable), "获取卡片成功"),
+                "status", status, page, size);
+    }
+    
+    /**
+     * 根据状态分页获取卡片摘要（view=summary）
+     */
+    @GetMapping(value = "/status/{status}", params = "view=summary")
+    public ResponseEntity<ApiResponse<Page<CardSummaryDTO>>> getCardSummariesByStatus(
+            @PathVariable Card.CardStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        log.debug("根据状态获取卡片摘要请求: {}", status);
+        
+        Pageable pageable = PageRequest.of(page, size);
+        return conditional(request, cardService.getCardsByStatusValidator(status),
+                () -> ApiResponse.success(cardService.getCardSummariesByStatus(status, pageable), "获取卡片成功"),
+                "status", status, page, size, "summary");
+    }
+    
+    /**
+     * 根据状态游标分页获取卡片
+     */
+    @GetMapping(value = "/status/{status}", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<CardDTO>>> getCardsByStatusCursor(
+            @PathVariable Card.CardStatus status,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        log.debug("根据状态游标分页获取卡片请求: {}", status);
         
-        return ResponseEntity.ok(ApiResponse.success(cards, "获取卡片成功"));
+        return conditional(request, cardService.getCardsByStatusValidator(status),
+                () -> ApiResponse.success(cardService.getCardsByStatus(status, cursor, size), "获取卡片成功"),
+                "status", status, cursor, size);
+    }
+    
+    /**
+     * 根据状态游标分页获取卡片摘要（view=summary）
+     */
+    @GetMapping(value = "/status/{status}", params = {"cursor", "view=summary"})
+    public ResponseEntity<ApiResponse<CursorPage<CardSummaryDTO>>> getCardSummariesByStatusCursor(
+            @PathVariable Card.CardStatus status,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        log.debug("根据状态游标分页获取卡片摘要请求: {}", status);
+        
+        return conditional(request, cardService.getCardsByStatusValidator(status),
+                () -> ApiResponse.success(cardService.getCardSummariesByStatus(status, cursor, size), "获取卡片成功"),
+                "status", status, cursor, size, "summary");
     }
     
     /**
@@ -141,7 +321,7 @@ public class CardController {
             @RequestParam String keyword,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        log.info("搜索卡片请求: {}", keyword);
+        log.debug("搜索卡片请求: {}", keyword);
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         Page<CardDTO> cards = cardService.searchByKeyword(keyword, pageable);
@@ -149,74 +329,233 @@ public class CardController {
         return ResponseEntity.ok(ApiResponse.success(cards, "搜索卡片成功"));
     }
     
+    /**
+     * 游标分页搜索卡片，按创建时间倒序
+     */
+    @GetMapping(value = "/search", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<CardDTO>>> searchCardsByCursor(
+            @RequestParam String keyword,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        log.debug("游标分页搜索卡片请求: {}", keyword);
+        
+        CursorPage<CardDTO> cards = cardService.searchByKeyword(keyword, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(cards, "搜索卡片成功"));
+    }
+    
     /**
      * 根据分类获取卡片
      */
     @GetMapping("/category/{category}")
-    public ResponseEntity<ApiResponse<List<CardDTO>>> getCardsByCategory(@PathVariable String category) {
-        log.info("根据分类获取卡片请求: {}", category);
+    public ResponseEntity<ApiResponse<List<CardDTO>>> getCardsByCategory(@PathVariable String category,
+                                                                         WebRequest request) {
+        log.debug("根据分类获取卡片请求: {}", category);
         
-        List<CardDTO> cards = cardService.getCardsByCategory(category);
-        return ResponseEntity.ok(ApiResponse.success(cards, "获取分类卡片成功"));
+        return conditional(request, cardService.getCardsByCategoryValidator(category),
+                () -> ApiResponse.success(cardService.getCardsByCategory(category), "获取分类卡片成功"),
+                "category", category);
     }
     
     /**
-     * 根据标签搜索卡片
+     * 根据分类获取卡片摘要（view=summary）
+     */
+    @GetMapping(value = "/category/{category}", params = "view=summary")
+    public ResponseEntity<ApiResponse<List<CardSummaryDTO>>> getCardSummariesByCategory(@PathVariable String category,
+                                                                                        WebRequest request) {
+        log.debug("根据分类获取卡片摘要请求: {}", category);
+        
+        return conditional(request, cardService.getCardsByCategoryValidator(category),
+                () -> ApiResponse.success(cardService.getCardSummariesByCategory(category), "获取分类卡片成功"),
+                "category", category, "summary");
+    }
+    
+    /**
+     * 根据标签搜索卡片，prefix=true 时按标签前缀匹配
      */
     @GetMapping("/tag/{tag}")
-    public ResponseEntity<ApiResponse<List<CardDTO>>> getCardsByTag(@PathVariable String tag) {
-        log.info("根据标签获取卡片请求: {}", tag);
+    public ResponseEntity<ApiResponse<List<CardDTO>>> getCardsByTag(
+            @PathVariable String tag,
+            @RequestParam(defaultValue = "false") boolean prefix) {
+        log.debug("根据标签获取卡片请求: {}, 前缀匹配: {}", tag, prefix);
+        
+        List<CardDTO> cards = prefix ? cardService.searchByTagPrefix(tag) : cardService.searchByTag(tag);
+        return ResponseEntity.ok(ApiResponse.success(cards, "获取标签卡片成功"));
+    }
+    
+    /**
+     * 根据多个标签搜索卡片，match=all 需包含全部标签，match=any 包含任一标签
+     */
+    @GetMapping("/tags")
+    public ResponseEntity<ApiResponse<List<CardDTO>>> getCardsByTags(
+            @RequestParam List<String> names,
+            @RequestParam(defaultValue = "all") String match) {
+        log.debug("根据多个标签获取卡片请求: {}, 匹配方式: {}", names, match);
         
-        List<CardDTO> cards = cardService.searchByTag(tag);
+        List<CardDTO> cards = cardService.searchByTags(names, !match.equalsIgnoreCase("any"));
         return ResponseEntity.ok(ApiResponse.success(cards, "获取标签卡片成功"));
     }
     
+    /**
+     * 获取标签及其卡片数量
+     */
+    @GetMapping("/tags/cardinality")
+    public ResponseEntity<ApiResponse<List<TagCountDTO>>> getTagCardinality(
+            @RequestParam(defaultValue = "50") int limit) {
+        log.debug("获取标签统计请求: {}", limit);
+        
+        List<TagCountDTO> tags = cardService.getTagCardinality(limit);
+        return ResponseEntity.ok(ApiResponse.success(tags, "获取标签统计成功"));
+    }
+    
     /**
      * 根据优先级获取卡片
      */
     @GetMapping("/priority/{priority}")
-    public ResponseEntity<ApiResponse<List<CardDTO>>> getCardsByPriority(@PathVariable Integer priority) {
-        log.info("根据优先级获取卡片请求: {}", priority);
+    public ResponseEntity<ApiResponse<List<CardDTO>>> getCardsByPriority(@PathVariable Integer priority,
+                                                                         WebRequest request) {
+        log.debug("根据优先级获取卡片请求: {}", priority);
         
-        List<CardDTO> cards = cardService.getCardsByPriority(priority);
-        return ResponseEntity.ok(ApiResponse.success(cards, "获取优先级卡片成功"));
+        return conditional(request, cardService.getCardsByPriorityValidator(priority),
+                () -> ApiResponse.success(cardService.getCardsByPriority(priority), "获取优先级卡片成功"),
+                "priority", priority);
+    }
+    
+    /**
+     * 根据优先级获取卡片摘要（view=summary）
+     */
+    @GetMapping(value = "/priority/{priority}", params = "view=summary")
+    public ResponseEntity<ApiResponse<List<CardSummaryDTO>>> getCardSummariesByPriority(@PathVariable Integer priority,
+                                                                                        WebRequest request) {
+        log.debug("根据优先级获取卡片摘要请求: {}", priority);
+        
+        return conditional(request, cardService.getCardsByPriorityValidator(priority),
+                () -> ApiResponse.success(cardService.getCardSummariesByPriority(priority), "获取优先级卡片成功"),
+                "priority", priority, "summary");
     }
     
     /**
      * 获取收藏的卡片
      */
     @GetMapping("/favorites")
-    public ResponseEntity<ApiResponse<List<CardDTO>>> getFavoriteCards() {
-        log.info("获取收藏卡片请求");
+    public ResponseEntity<ApiResponse<List<CardDTO>>> getFavoriteCards(WebRequest request) {
+        log.debug("获取收藏卡片请求");
+        
+        return conditional(request, cardService.getFavoriteCardsValidator(),
+                () -> ApiResponse.success(cardService.getFavoriteCards(), "获取收藏卡片成功"), "favorite");
+    }
+    
+    /**
+     * 获取收藏卡片的摘要（view=summary）
+     */
+    @GetMapping(value = "/favorites", params = "view=summary")
+    public ResponseEntity<ApiResponse<List<CardSummaryDTO>>> getFavoriteCardSummaries(WebRequest request) {
+        log.debug("获取收藏卡片摘要请求");
         
-        List<CardDTO> cards = cardService.getFavoriteCards();
-        return ResponseEntity.ok(ApiResponse.success(cards, "获取收藏卡片成功"));
+        return conditional(request, cardService.getFavoriteCardsValidator(),
+                () -> ApiResponse.success(cardService.getFavoriteCardSummaries(), "获取收藏卡片成功"),
+                "favorite", "summary");
     }
     
     /**
      * 获取公开的卡片
      */
     @GetMapping("/public")
-    public ResponseEntity<ApiResponse<List<CardDTO>>> getPublicCards() {
-        log.info("获取公开卡片请求");
+    public ResponseEntity<ApiResponse<List<CardDTO>>> getPublicCards(WebRequest request) {
+        log.debug("获取公开卡片请求");
+        
+        return conditional(request, cardService.getPublicCardsValidator(),
+                () -> ApiResponse.success(cardService.getPublicCards(), "获取公开卡片成功"), "public");
+    }
+    
+    /**
+     * 获取公开卡片的摘要（view=summary）
+     */
+    @GetMapping(value = "/public", params = "view=summary")
+    public ResponseEntity<ApiResponse<List<CardSummaryDTO>>> getPublicCardSummaries(WebRequest request) {
+        log.debug("获取公开卡片摘要请求");
         
-        List<CardDTO> cards = cardService.getPublicCards();
-        return ResponseEntity.ok(ApiResponse.success(cards, "获取公开卡片成功"));
+        return conditional(request, cardService.getPublicCardsValidator(),
+                () -> ApiResponse.success(cardService.getPublicCardSummaries(), "获取公开卡片成功"),
+                "public", "summary");
     }
     
     /**
-     * 获取热门卡片
+     * 获取热门卡片，window 为时间窗口：1h、24h、7d 按衰减热度，all 按累计查看次数
      */
     @GetMapping("/popular")
     public ResponseEntity<ApiResponse<Page<CardDTO>>> getPopularCards(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        log.info("获取热门卡片请求");
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "all") String window,
+            WebRequest request) {
+        log.debug("获取热门卡片请求: window={}", window);
         
+        PopularityWindow popularityWindow = PopularityWindow.of(window);
         Pageable pageable = PageRequest.of(page, size);
-        Page<CardDTO> cards = cardService.getPopularCards(pageable);
+        // 排行在内存中，ETag 取排行版本号，不需要查询数据库
+        String eTag = "W/\"popular-" + popularityWindow.param() + "-" + cardService.getPopularRankingVersion()
+                + "-" + page + "-" + size + "\"";
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok(ApiResponse.success(cardService.getPopularCards(popularityWindow, pageable),
+                "获取热门卡片成功"));
+    }
+    
+    /**
+     * 获取热门卡片摘要（view=summary），window 与完整视图相同
+     */
+    @GetMapping(value = "/popular", params = "view=summary")
+    public ResponseEntity<ApiResponse<Page<CardSummaryDTO>>> getPopularCardSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "all") String window,
+            WebRequest request) {
+        log.debug("获取热门卡片摘要请求: window={}", window);
+        
+        PopularityWindow popularityWindow = PopularityWindow.of(window);
+        Pageable pageable = PageRequest.of(page, size);
+        String eTag = "W/\"popular-" + popularityWindow.param() + "-" + cardService.getPopularRankingVersion()
+                + "-" + page + "-" + size + "-summary\"";
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok(ApiResponse.success(cardService.getPopularCardSummaries(popularityWindow, pageable),
+                "获取热门卡片成功"));
+    }
+    
+    /**
+     * 游标分页获取热门卡片，按累计查看次数排序，只支持 window=all
+     */
+    @GetMapping(value = "/popular", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<CardDTO>>> getPopularCardsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "all") String window,
+            WebRequest request) {
+        log.debug("游标分页获取热门卡片请求");
         
-        return ResponseEntity.ok(ApiResponse.success(cards, "获取热门卡片成功"));
+        checkCursorWindow(window);
+        return conditional(request, cardService.getCardsByStatusValidator(Card.CardStatus.ACTIVE),
+                () -> ApiResponse.success(cardService.getPopularCards(cursor, size), "获取热门卡片成功"),
+                "popular", cursor, size);
+    }
+    
+    /**
+     * 游标分页获取热门卡片摘要（view=summary），只支持 window=all
+     */
+    @GetMapping(value = "/popular", params = {"cursor", "view=summary"})
+    public ResponseEntity<ApiResponse<CursorPage<CardSummaryDTO>>> getPopularCardSummariesByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "all") String window,
+            WebRequest request) {
+        log.debug("游标分页获取热门卡片摘要请求");
+        
+        checkCursorWindow(window);
+        return conditional(request, cardService.getCardsByStatusValidator(Card.CardStatus.ACTIVE),
+                () -> ApiResponse.success(cardService.getPopularCardSummaries(cursor, size), "获取热门卡片成功"),
+                "popular", cursor, size, "summary");
     }
     
     /**
@@ -224,7 +563,7 @@ public class CardController {
      */
     @PutMapping("/{id}/favorite")
     public ResponseEntity<ApiResponse<CardDTO>> toggleFavorite(@PathVariable Long id) {
-        log.info("切换收藏状态请求: {}", id);
+        log.debug("切换收藏状态请求: {}", id);
         
         CardDTO card = cardService.toggleFavorite(id);
         return ResponseEntity.ok(ApiResponse.success(card, "收藏状态切换成功"));
@@ -235,7 +574,7 @@ public class CardController {
      */
     @PutMapping("/{id}/public")
     public ResponseEntity<ApiResponse<CardDTO>> togglePublic(@PathVariable Long id) {
-        log.info("切换公开状态请求: {}", id);
+        log.debug("切换公开状态请求: {}", id);
         
         CardDTO card = cardService.togglePublic(id);
         return ResponseEntity.ok(ApiResponse.success(card, "公开状态切换成功"));
@@ -248,7 +587,7 @@ public class CardController {
     public ResponseEntity<ApiResponse<CardDTO>> updateStatus(
             @PathVariable Long id,
             @RequestParam Card.CardStatus status) {
-        log.info("更新卡片状态请求: {} -> {}", id, status);
+        log.debug("更新卡片状态请求: {} -> {}", id, status);
         
         CardDTO card = cardService.updateStatus(id, status);
         return ResponseEntity.ok(ApiResponse.success(card, "状态更新成功"));
@@ -258,34 +597,64 @@ public class CardController {
      * 批量删除卡片
      */
     @DeleteMapping("/batch")
-    public ResponseEntity<ApiResponse<Void>> batchDeleteCards(@RequestBody List<Long> ids) {
-        log.info("批量删除卡片请求: {}", ids);
+    public ResponseEntity<ApiResponse<BatchUpdateResult>> batchDeleteCards(@RequestBody List<Long> ids) {
+        log.debug("批量删除卡片请求: {} 张", ids.size());
         
-        cardService.batchDeleteCards(ids);
-        return ResponseEntity.ok(ApiResponse.success(null, "批量删除成功"));
+        BatchUpdateResult result = cardService.batchDeleteCards(ids);
+        return ResponseEntity.ok(ApiResponse.success(result, "批量删除成功"));
     }
     
     /**
      * 批量更新状态
      */
     @PutMapping("/batch/status")
-    public ResponseEntity<ApiResponse<Void>> batchUpdateStatus(
+    public ResponseEntity<ApiResponse<BatchUpdateResult>> batchUpdateStatus(
             @RequestBody List<Long> ids,
             @RequestParam Card.CardStatus status) {
-        log.info("批量更新状态请求: {} -> {}", ids, status);
+        log.debug("批量更新状态请求: {} 张 -> {}", ids.size(), status);
         
-        cardService.batchUpdateStatus(ids, status);
-        return ResponseEntity.ok(ApiResponse.success(null, "批量状态更新成功"));
+        BatchUpdateResult result = cardService.batchUpdateStatus(ids, status);
+        return ResponseEntity.ok(ApiResponse.success(result, "批量状态更新成功"));
     }
     
     /**
-     * 获取统计信息
+     * 获取统计信息，默认从内存计数返回，fresh=true 时从数据库重新计算
      */
     @GetMapping("/statistics")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getStatistics() {
-        log.info("获取统计信息请求");
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getStatistics(
+            @RequestParam(defaultValue = "false") boolean fresh) {
+        log.debug("获取统计信息请求: fresh={}", fresh);
         
-        Map<String, Object> stats = cardService.getStatistics();
+        Map<String, Object> stats = cardStatisticsService.getStatistics(fresh);
         return ResponseEntity.ok(ApiResponse.success(stats, "获取统计信息成功"));
     }
+    
+    /**
+     * 订阅卡片变更事件（SSE），从 after 或 Last-Event-ID 之后的事件开始补发，
+     * 都未指定时只推送订阅之后的变更
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeEvents(
+            @RequestParam(required = false) Long after,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        log.debug("订阅卡片变更事件请求: after={}, lastEventId={}", after, lastEventId);
+        
+        return sseCardEventSink.subscribe(lastEventId != null ? lastEventId : after);
+    }
+    
+    // 列表的条件GET：ETag 与 If-None-Match 匹配时直接返回304，不查询也不序列化列表
+    private <T> ResponseEntity<ApiResponse<T>> conditional(WebRequest request, ListValidator validator,
+                                                          Supplier<ApiResponse<T>> body, Object... variant) {
+        if (request.checkNotModified(validator.eTag(variant))) {
+            return null;
+        }
+        return ResponseEntity.ok(body.get());
+    }
+    
+    // 游标按数据库中的查看次数定位，衰减窗口的排行只在内存中，无法生成游标
+    private static void checkCursorWindow(String window) {
+        if (PopularityWindow.of(window) != PopularityWindow.ALL) {
+            throw new IllegalArgumentException("游标分页只支持 window=all，其他时间窗口请使用 page 分页");
+        }
+    }
 }
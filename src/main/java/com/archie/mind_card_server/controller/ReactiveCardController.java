@@ -0,0 +1,75 @@
+package com.archie.mind_card_server.controller;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.service.CardStreamService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * 流式只读接口，以 NDJSON 或 SSE 逐条返回卡片
+ * <p>
+ * 处理方法返回后请求线程立即释放，数据由 Spring MVC 按客户端的读取速度逐条写出。
+ * 写操作仍使用 {@link CardController}。
+ */
+@RestController
+@RequestMapping("/reactive/cards")
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveCardController {
+    
+    private final CardStreamService cardStreamService;
+    
+    /**
+     * 流式获取所有卡片，按创建时间倒序
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<CardDTO> streamCards(@RequestParam(required = false) Long limit) {
+        log.info("流式获取卡片请求: limit={}", limit);
+        
+        return limit(cardStreamService.streamCards(), limit);
+    }
+    
+    /**
+     * 流式搜索卡片
+     */
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<CardDTO> streamSearch(
+            @RequestParam String keyword,
+            @RequestParam(required = false) Long limit) {
+        log.info("流式搜索卡片请求: {}", keyword);
+        
+        return limit(cardStreamService.streamSearch(keyword), limit);
+    }
+    
+    /**
+     * 流式获取公开的卡片
+     */
+    @GetMapping(value = "/public", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<CardDTO> streamPublicCards(@RequestParam(required = false) Long limit) {
+        log.info("流式获取公开卡片请求");
+        
+        return limit(cardStreamService.streamPublicCards(), limit);
+    }
+    
+    /**
+     * 流式获取热门卡片
+     */
+    @GetMapping(value = "/popular", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<CardDTO> streamPopularCards(@RequestParam(required = false) Long limit) {
+        log.info("流式获取热门卡片请求");
+        
+        return limit(cardStreamService.streamPopularCards(), limit);
+    }
+    
+    private static Flux<CardDTO> limit(Flux<CardDTO> cards, Long limit) {
+        return limit != null ? cards.take(limit, true) : cards;
+    }
+}
@@ -0,0 +1,22 @@
+package com.archie.mind_card_server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量操作结果：请求的卡片数、实际更新的行数以及每个批次更新的行数
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUpdateResult {
+    
+    private int requested;
+    
+    private int affected;
+    
+    private List<Integer> batchCounts;
+}
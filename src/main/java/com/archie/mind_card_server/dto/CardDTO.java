@@ -52,4 +52,31 @@ public class CardDTO {
     private LocalDateTime updatedAt;
     
     private LocalDateTime deletedAt;
+    
+    private Long version;
+    
+    /**
+     * 从实体复制全部字段
+     */
+    public static CardDTO from(Card card) {
+        CardDTO dto = new CardDTO();
+        dto.setId(card.getId());
+        dto.setTitle(card.getTitle());
+        dto.setContent(card.getContent());
+        dto.setCategory(card.getCategory());
+        dto.setTags(card.getTags());
+        dto.setPriority(card.getPriority());
+        dto.setStatus(card.getStatus());
+        dto.setColor(card.getColor());
+        dto.setIsFavorite(card.getIsFavorite());
+        dto.setIsPublic(card.getIsPublic());
+        dto.setViewCount(card.getViewCount());
+        dto.setCreatedBy(card.getCreatedBy());
+        dto.setUpdatedBy(card.getUpdatedBy());
+        dto.setCreatedAt(card.getCreatedAt());
+        dto.setUpdatedAt(card.getUpdatedAt());
+        dto.setDeletedAt(card.getDeletedAt());
+        dto.setVersion(card.getVersion());
+        return dto;
+    }
 }
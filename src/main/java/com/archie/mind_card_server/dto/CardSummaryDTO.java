@@ -0,0 +1,53 @@
+package com.archie.mind_card_server.dto;
+
+import com.archie.mind_card_server.entity.Card;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 卡片摘要，用于列表展示。不包含 content 字段，查询时只读取需要的列，
+ * 正文通过 GET /cards/{id} 获取。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardSummaryDTO {
+    
+    private Long id;
+    
+    private String title;
+    
+    private String category;
+    
+    private String tags;
+    
+    private Integer priority;
+    
+    private Card.CardStatus status;
+    
+    private String color;
+    
+    private Boolean isFavorite;
+    
+    private Boolean isPublic;
+    
+    private Integer viewCount;
+    
+    private String createdBy;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime updatedAt;
+    
+    /**
+     * 从完整的卡片生成摘要，用于已经在缓存中的卡片
+     */
+    public static CardSummaryDTO from(CardDTO card) {
+        return new CardSummaryDTO(card.getId(), card.getTitle(), card.getCategory(), card.getTags(),
+                card.getPriority(), card.getStatus(), card.getColor(), card.getIsFavorite(), card.getIsPublic(),
+                card.getViewCount(), card.getCreatedBy(), card.getCreatedAt(), card.getUpdatedAt());
+    }
+}
@@ -0,0 +1,24 @@
+package com.archie.mind_card_server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 游标分页结果，不包含总数。hasNext 为 true 时用 nextCursor 请求下一页。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    
+    private List<T> content;
+    
+    private int size;
+    
+    private boolean hasNext;
+    
+    private String nextCursor;
+}
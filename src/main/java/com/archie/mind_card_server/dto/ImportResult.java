@@ -0,0 +1,38 @@
+package com.archie.mind_card_server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 导入结果：总行数、成功和失败的行数，以及出错的行（最多返回 app.import.max-reported-errors 条）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResult {
+    
+    private long total;
+    
+    private long imported;
+    
+    private long failed;
+    
+    private long elapsedMs;
+    
+    private List<RowError> errors = new ArrayList<>();
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        
+        // 输入中的行号，从1开始；CSV为记录起始行
+        private long line;
+        
+        private String message;
+    }
+}
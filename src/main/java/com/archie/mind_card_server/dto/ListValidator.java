@@ -0,0 +1,33 @@
+package com.archie.mind_card_server.dto;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * 列表的HTTP缓存校验值：对查询条件下的卡片做一次聚合，不加载卡片本身。
+ * 行数、最后更新时间或版本号之和任一变化，列表内容就可能变化。
+ * 与单张卡片的ETag一样不包含查看次数：列表缓存不随查看次数写回失效，查看次数的变化不视为内容变化。
+ * <p>
+ * 只生成ETag，不用于 Last-Modified：卡片移出列表时最大更新时间可能变小，按时间比较会误判为未修改。
+ *
+ * @param count        卡片数
+ * @param lastModified 最大的 updatedAt
+ * @param versionSum   版本号之和，每次更新都会增加
+ */
+public record ListValidator(Long count, LocalDateTime lastModified, Long versionSum) {
+    
+    /**
+     * 弱ETag，variant 为区分同一查询不同页和视图的参数
+     */
+    public String eTag(Object... variant) {
+        StringBuilder raw = new StringBuilder()
+                .append(count).append('|').append(lastModified).append('|')
+                .append(versionSum);
+        for (Object part : variant) {
+            raw.append('|').append(part);
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(raw.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
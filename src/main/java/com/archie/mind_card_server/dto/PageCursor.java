@@ -0,0 +1,67 @@
+package com.archie.mind_card_server.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 游标分页的位置：上一页最后一条记录的排序键和ID，编码为不透明的字符串
+ *
+ * @param sortKey 排序方式，防止把一种排序的游标用于另一种排序
+ * @param value   排序字段的值
+ * @param id      卡片ID
+ */
+public record PageCursor(String sortKey, String value, Long id) {
+    
+    public static final String CREATED_AT = "createdAt";
+    
+    public static final String VIEW_COUNT = "viewCount";
+    
+    public static PageCursor ofCreatedAt(LocalDateTime createdAt, Long id) {
+        return new PageCursor(CREATED_AT, createdAt.toString(), id);
+    }
+    
+    public static PageCursor ofViewCount(Integer viewCount, Long id) {
+        return new PageCursor(VIEW_COUNT, String.valueOf(viewCount != null ? viewCount : 0), id);
+    }
+    
+    /**
+     * 解析游标，空字符串表示第一页，返回 null
+     */
+    public static PageCursor decode(String token, String expectedSortKey) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|");
+            if (parts.length != 3 || !parts[0].equals(expectedSortKey)) {
+                throw new IllegalArgumentException("游标与排序方式不匹配");
+            }
+            PageCursor cursor = new PageCursor(parts[0], parts[1], Long.parseLong(parts[2]));
+            // 提前校验排序值的格式
+            if (CREATED_AT.equals(cursor.sortKey())) {
+                cursor.createdAt();
+            } else {
+                cursor.viewCount();
+            }
+            return cursor;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("无效的分页游标: " + token, e);
+        }
+    }
+    
+    public String encode() {
+        String raw = sortKey + "|" + value + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public LocalDateTime createdAt() {
+        return LocalDateTime.parse(value);
+    }
+    
+    public int viewCount() {
+        return Integer.parseInt(value);
+    }
+}
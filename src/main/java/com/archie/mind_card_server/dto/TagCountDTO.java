@@ -0,0 +1,15 @@
+package com.archie.mind_card_server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagCountDTO {
+    
+    private String tag;
+    
+    private Long count;
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -18,8 +19,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Card {
     
+    // 池化序列：每次从数据库取50个ID，插入可以按JDBC批量执行
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cards_id_seq")
+    @SequenceGenerator(name = "cards_id_seq", sequenceName = "cards_id_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "标题不能为空")
@@ -77,6 +80,12 @@ public class Card {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
     
+    // 乐观锁版本号，每次更新加1，同时作为HTTP缓存校验值的一部分
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version = 0L;
+    
     public enum CardStatus {
         DRAFT, PUBLISHED, ARCHIVED, ACTIVE, DELETED
     }
@@ -0,0 +1,43 @@
+package com.archie.mind_card_server.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.Length;
+
+import java.time.LocalDateTime;
+
+/**
+ * 已归档的卡片。软删除超过一定天数的卡片从 cards 移到这里，
+ * 完整内容以 gzip 压缩的 CardDTO JSON 保存，只保留按ID、删除时间查找需要的列。
+ */
+@Entity
+@Table(name = "cards_archive", indexes = @Index(name = "idx_cards_archive_archived_at", columnList = "archived_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardArchive {
+
+    @Id
+    private Long id;
+
+    @Column(length = 100)
+    private String category;
+
+    @Column(name = "created_by", length = 100)
+    private String createdBy;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // gzip 压缩的 CardDTO JSON
+    @Column(nullable = false, length = Length.LONG32)
+    private byte[] payload;
+}
@@ -0,0 +1,48 @@
+package com.archie.mind_card_server.entity;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.Length;
+
+import java.time.LocalDateTime;
+
+/**
+ * 卡片变更事件的发件箱记录，与卡片的写操作在同一事务中写入。
+ * ID 即事件在流中的位置，订阅方按 ID 记录消费进度。
+ */
+@Entity
+@Table(name = "card_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "card_id", nullable = false)
+    private Long cardId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 20)
+    private Type type;
+
+    // JSON：CREATED、UPDATED 为变更后的卡片，DELETED 为删除前的卡片，STATUS_CHANGED 只有新状态
+    @JsonRawValue
+    @Column(length = Length.LONG32)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum Type {
+        CREATED,        // 新建
+        UPDATED,        // 更新，包括软删除、恢复和切换收藏/公开
+        DELETED,        // 物理删除或归档
+        STATUS_CHANGED  // 批量状态变更，不携带卡片内容
+    }
+}
@@ -0,0 +1,25 @@
+package com.archie.mind_card_server.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 投递时等待超时后跳过的事件ID，对应的事务之后提交时补发
+ */
+@Entity
+@Table(name = "card_outbox_gap")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardOutboxGap {
+
+    @Id
+    private Long id;
+
+    @Column(name = "skipped_at", nullable = false)
+    private LocalDateTime skippedAt;
+}
@@ -0,0 +1,29 @@
+package com.archie.mind_card_server.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 发件箱投递进度，last_id 之前（含）的事件都已投递
+ */
+@Entity
+@Table(name = "card_outbox_offset")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardOutboxOffset {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
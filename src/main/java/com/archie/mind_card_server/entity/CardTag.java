@@ -0,0 +1,67 @@
+package com.archie.mind_card_server.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 卡片标签关联表，每个标签一行，标签统一为去空格的小写形式。
+ * Card.tags 仍保留原始的逗号分隔字符串用于展示。
+ */
+@Entity
+@Table(name = "card_tags", indexes = @Index(name = "idx_card_tags_tag", columnList = "tag, card_id"))
+@IdClass(CardTag.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardTag {
+    
+    public static final int MAX_TAG_LENGTH = 100;
+    
+    @Id
+    @Column(name = "card_id")
+    private Long cardId;
+    
+    @Id
+    @Column(length = MAX_TAG_LENGTH)
+    private String tag;
+    
+    /**
+     * 解析逗号分隔的标签字符串，返回去重后的标准化标签
+     */
+    public static Set<String> parse(String tags) {
+        Set<String> result = new LinkedHashSet<>();
+        if (tags == null) {
+            return result;
+        }
+        for (String tag : tags.split("[,，]")) {
+            String normalized = normalize(tag);
+            if (!normalized.isEmpty()) {
+                result.add(normalized);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 标签标准化：去掉首尾空格并转为小写
+     */
+    public static String normalize(String tag) {
+        String normalized = tag.trim().toLowerCase(Locale.ROOT);
+        return normalized.length() > MAX_TAG_LENGTH ? normalized.substring(0, MAX_TAG_LENGTH) : normalized;
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long cardId;
+        private String tag;
+    }
+}
@@ -0,0 +1,25 @@
+package com.archie.mind_card_server.event;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.entity.CardArchive;
+
+/**
+ * 物理删除已归档的卡片。卡片归档时已按删除处理过缓存、统计和搜索索引，
+ * 这里只需要通知发件箱
+ *
+ * @param card 归档表中保留的列，不含标题和内容
+ */
+public record ArchivedCardDeletedEvent(CardDTO card) {
+
+    public static ArchivedCardDeletedEvent of(CardArchive archive) {
+        CardDTO card = new CardDTO();
+        card.setId(archive.getId());
+        card.setCategory(archive.getCategory());
+        card.setCreatedBy(archive.getCreatedBy());
+        card.setCreatedAt(archive.getCreatedAt());
+        card.setDeletedAt(archive.getDeletedAt());
+        card.setStatus(Card.CardStatus.DELETED);
+        return new ArchivedCardDeletedEvent(card);
+    }
+}
@@ -0,0 +1,12 @@
+package com.archie.mind_card_server.event;
+
+import com.archie.mind_card_server.dto.CardDTO;
+
+/**
+ * 软删除的卡片移到归档表。软删除时已发布过 {@link CardChangedEvent}，发件箱、搜索索引和热门排行不再处理；
+ * 缓存淘汰卡片和所在列表，统计从软删除计数中减去
+ *
+ * @param card 归档前的卡片，状态为 DELETED
+ */
+public record CardArchivedEvent(CardDTO card) {
+}
@@ -0,0 +1,25 @@
+package com.archie.mind_card_server.event;
+
+import com.archie.mind_card_server.dto.CardDTO;
+
+/**
+ * 卡片变更事件，在CardServiceImpl的每个写操作中发布
+ *
+ * @param cardId 卡片ID
+ * @param before 变更前的卡片，新建时为 null
+ * @param after  变更后的卡片，物理删除时为 null
+ */
+public record CardChangedEvent(Long cardId, CardDTO before, CardDTO after) {
+
+    public static CardChangedEvent created(CardDTO after) {
+        return new CardChangedEvent(after.getId(), null, after);
+    }
+
+    public static CardChangedEvent updated(CardDTO before, CardDTO after) {
+        return new CardChangedEvent(after.getId(), before, after);
+    }
+
+    public static CardChangedEvent deleted(CardDTO before) {
+        return new CardChangedEvent(before.getId(), before, null);
+    }
+}
@@ -0,0 +1,39 @@
+package com.archie.mind_card_server.event;
+
+import com.archie.mind_card_server.entity.Card;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 批量状态变更事件，批量操作不加载实体，因此只携带卡片ID和变更前的分组计数
+ *
+ * @param cardIds 卡片ID
+ * @param before  变更前按状态、分类和优先级分组的卡片数
+ * @param status  变更后的状态
+ */
+public record CardsStatusChangedEvent(Collection<Long> cardIds, List<Group> before, Card.CardStatus status) {
+
+    /**
+     * 变更前卡片所属的分类
+     */
+    public Set<String> categories() {
+        return before.stream()
+                .map(Group::category)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    public record Group(Card.CardStatus status, String category, Integer priority, long count) {
+
+        /**
+         * 由 SELECT status, category, priority, COUNT(*) 的结果行创建
+         */
+        public static Group fromRow(Object[] row) {
+            return new Group((Card.CardStatus) row[0], (String) row[1], (Integer) row[2], ((Number) row[3]).longValue());
+        }
+    }
+}
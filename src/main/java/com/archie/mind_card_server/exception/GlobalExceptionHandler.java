@@ -4,6 +4,7 @@ import com.archie.mind_card_server.dto.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -27,6 +28,36 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
     
+    /**
+     * 处理版本冲突异常，客户端应重新获取卡片后再提交
+     */
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ApiResponse<Object>> handleVersionConflictException(VersionConflictException e) {
+        log.warn("版本冲突: {}", e.getMessage());
+        ApiResponse<Object> response = ApiResponse.error(e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+    
+    /**
+     * 处理提交时的乐观锁冲突：读取之后、提交之前卡片被其他请求修改
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Object>> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException e) {
+        log.warn("乐观锁冲突: {}", e.getMessage());
+        ApiResponse<Object> response = ApiResponse.error("卡片已被其他请求修改，请刷新后重试");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+    
+    /**
+     * 处理合并请求等待超时，客户端可以稍后重试
+     */
+    @ExceptionHandler(SingleFlightTimeoutException.class)
+    public ResponseEntity<ApiResponse<Object>> handleSingleFlightTimeoutException(SingleFlightTimeoutException e) {
+        log.warn("合并请求等待超时: {}", e.getMessage());
+        ApiResponse<Object> response = ApiResponse.error(e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+    
     /**
      * 处理参数验证异常
      */
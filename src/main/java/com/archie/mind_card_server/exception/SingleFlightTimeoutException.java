@@ -0,0 +1,11 @@
+package com.archie.mind_card_server.exception;
+
+/**
+ * 等待相同请求的执行结果超时，通常是数据库响应变慢
+ */
+public class SingleFlightTimeoutException extends RuntimeException {
+    
+    public SingleFlightTimeoutException(String message) {
+        super(message);
+    }
+}
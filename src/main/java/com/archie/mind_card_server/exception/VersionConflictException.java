@@ -0,0 +1,15 @@
+package com.archie.mind_card_server.exception;
+
+/**
+ * 版本冲突：客户端提交的版本号与数据库中的不一致，卡片已被其他请求修改
+ */
+public class VersionConflictException extends RuntimeException {
+    
+    public VersionConflictException(String message) {
+        super(message);
+    }
+    
+    public VersionConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,234 @@
+package com.archie.mind_card_server.json;
+
+import com.archie.mind_card_server.dto.ApiResponse;
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.entity.Card;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * CardDTO 和 ApiResponse 的手写序列化器
+ * <p>
+ * 字段名和状态枚举值预先编码为 {@link SerializedString}，按固定顺序直接写出，不经过反射和属性元数据。
+ * 默认的ISO日期格式直接写入字符数组，不经过 DateTimeFormatter。
+ * 输出与默认的 BeanSerializer 一致：字段顺序相同，日期格式和 null 值是否输出遵循 spring.jackson 配置。
+ */
+public class CardJsonModule extends SimpleModule {
+
+    public CardJsonModule() {
+        super("CardJsonModule");
+        addSerializer(CardDTO.class, new CardDTOSerializer());
+        addSerializer(ApiResponse.class, new ApiResponseSerializer());
+    }
+
+    // yyyy-MM-ddTHH:mm:ss.SSSSSSSSS
+    private static final int ISO_LOCAL_DATE_TIME_MAX_LENGTH = 29;
+
+    static final class CardDTOSerializer extends StdSerializer<CardDTO> {
+
+        private static final SerializableString ID = new SerializedString("id");
+        private static final SerializableString TITLE = new SerializedString("title");
+        private static final SerializableString CONTENT = new SerializedString("content");
+        private static final SerializableString CATEGORY = new SerializedString("category");
+        private static final SerializableString TAGS = new SerializedString("tags");
+        private static final SerializableString PRIORITY = new SerializedString("priority");
+        private static final SerializableString STATUS = new SerializedString("status");
+        private static final SerializableString COLOR = new SerializedString("color");
+        private static final SerializableString IS_FAVORITE = new SerializedString("isFavorite");
+        private static final SerializableString IS_PUBLIC = new SerializedString("isPublic");
+        private static final SerializableString VIEW_COUNT = new SerializedString("viewCount");
+        private static final SerializableString CREATED_BY = new SerializedString("createdBy");
+        private static final SerializableString UPDATED_BY = new SerializedString("updatedBy");
+        private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+        private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+        private static final SerializableString DELETED_AT = new SerializedString("deletedAt");
+        private static final SerializableString VERSION = new SerializedString("version");
+
+        // 按 ordinal 缓存的状态值
+        private static final SerializableString[] STATUS_VALUES = Arrays.stream(Card.CardStatus.values())
+                .map(status -> new SerializedString(status.name()))
+                .toArray(SerializableString[]::new);
+
+        CardDTOSerializer() {
+            super(CardDTO.class);
+        }
+
+        @Override
+        public void serialize(CardDTO card, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            boolean nulls = writeNulls(provider, CardDTO.class);
+            char[] buffer = new char[ISO_LOCAL_DATE_TIME_MAX_LENGTH];
+            gen.writeStartObject(card);
+            writeNumber(gen, nulls, ID, card.getId());
+            writeString(gen, nulls, TITLE, card.getTitle());
+            writeString(gen, nulls, CONTENT, card.getContent());
+            writeString(gen, nulls, CATEGORY, card.getCategory());
+            writeString(gen, nulls, TAGS, card.getTags());
+            writeNumber(gen, nulls, PRIORITY, card.getPriority());
+            if (card.getStatus() != null) {
+                gen.writeFieldName(STATUS);
+                gen.writeString(STATUS_VALUES[card.getStatus().ordinal()]);
+            } else {
+                writeNull(gen, nulls, STATUS);
+            }
+            writeString(gen, nulls, COLOR, card.getColor());
+            writeBool(gen, nulls, IS_FAVORITE, card.getIsFavorite());
+            writeBool(gen, nulls, IS_PUBLIC, card.getIsPublic());
+            writeNumber(gen, nulls, VIEW_COUNT, card.getViewCount());
+            writeString(gen, nulls, CREATED_BY, card.getCreatedBy());
+            writeString(gen, nulls, UPDATED_BY, card.getUpdatedBy());
+            writeDateTime(gen, provider, nulls, buffer, CREATED_AT, card.getCreatedAt());
+            writeDateTime(gen, provider, nulls, buffer, UPDATED_AT, card.getUpdatedAt());
+            writeDateTime(gen, provider, nulls, buffer, DELETED_AT, card.getDeletedAt());
+            writeNumber(gen, nulls, VERSION, card.getVersion());
+            gen.writeEndObject();
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    static final class ApiResponseSerializer extends StdSerializer<ApiResponse> {
+
+        private static final SerializableString SUCCESS = new SerializedString("success");
+        private static final SerializableString MESSAGE = new SerializedString("message");
+        private static final SerializableString DATA = new SerializedString("data");
+        private static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+
+        ApiResponseSerializer() {
+            super(ApiResponse.class);
+        }
+
+        @Override
+        public void serialize(ApiResponse response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            boolean nulls = writeNulls(provider, ApiResponse.class);
+            char[] buffer = new char[ISO_LOCAL_DATE_TIME_MAX_LENGTH];
+            gen.writeStartObject(response);
+            gen.writeFieldName(SUCCESS);
+            gen.writeBoolean(response.isSuccess());
+            writeString(gen, nulls, MESSAGE, response.getMessage());
+            if (response.getData() != null) {
+                gen.writeFieldName(DATA);
+                provider.defaultSerializeValue(response.getData(), gen);
+            } else {
+                writeNull(gen, nulls, DATA);
+            }
+            writeDateTime(gen, provider, nulls, buffer, TIMESTAMP, response.getTimestamp());
+            gen.writeEndObject();
+        }
+    }
+
+    // 是否输出 null 值
+    private static boolean writeNulls(SerializerProvider provider, Class<?> type) {
+        JsonInclude.Include inclusion = provider.getConfig().getDefaultPropertyInclusion(type).getValueInclusion();
+        return inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS;
+    }
+
+    private static void writeNull(JsonGenerator gen, boolean nulls, SerializableString name) throws IOException {
+        if (nulls) {
+            gen.writeFieldName(name);
+            gen.writeNull();
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, boolean nulls, SerializableString name, String value)
+            throws IOException {
+        if (value == null) {
+            writeNull(gen, nulls, name);
+            return;
+        }
+        gen.writeFieldName(name);
+        gen.writeString(value);
+    }
+
+    private static void writeNumber(JsonGenerator gen, boolean nulls, SerializableString name, Number value)
+            throws IOException {
+        if (value == null) {
+            writeNull(gen, nulls, name);
+            return;
+        }
+        gen.writeFieldName(name);
+        if (value instanceof Integer i) {
+            gen.writeNumber(i);
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    private static void writeBool(JsonGenerator gen, boolean nulls, SerializableString name, Boolean value)
+            throws IOException {
+        if (value == null) {
+            writeNull(gen, nulls, name);
+            return;
+        }
+        gen.writeFieldName(name);
+        gen.writeBoolean(value);
+    }
+
+    // 使用默认的 LocalDateTime 序列化器且日期输出为字符串时直接写出ISO格式，否则交给已注册的序列化器
+    private static void writeDateTime(JsonGenerator gen, SerializerProvider provider, boolean nulls, char[] buffer,
+                                      SerializableString name, LocalDateTime value) throws IOException {
+        if (value == null) {
+            writeNull(gen, nulls, name);
+            return;
+        }
+        gen.writeFieldName(name);
+        JsonFormat.Value format = provider.getDefaultPropertyFormat(LocalDateTime.class);
+        if ((Object) provider.findValueSerializer(LocalDateTime.class) == LocalDateTimeSerializer.INSTANCE
+                && !format.hasPattern() && !format.hasShape()
+                && !provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                && value.getYear() >= 0 && value.getYear() <= 9999) {
+            gen.writeString(buffer, 0, formatIsoLocalDateTime(value, buffer));
+        } else {
+            // 按 spring.jackson 配置的日期格式输出
+            provider.findValueSerializer(LocalDateTime.class, null).serialize(value, gen, provider);
+        }
+    }
+
+    /**
+     * 按 {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE_TIME} 格式写入 buffer，返回长度。
+     * 秒总是输出，纳秒去掉末尾的0，为0时不输出。年份需在0~9999之间。
+     */
+    static int formatIsoLocalDateTime(LocalDateTime value, char[] buffer) {
+        int pos = writeDigits(buffer, 0, value.getYear(), 4);
+        buffer[pos++] = '-';
+        pos = writeDigits(buffer, pos, value.getMonthValue(), 2);
+        buffer[pos++] = '-';
+        pos = writeDigits(buffer, pos, value.getDayOfMonth(), 2);
+        buffer[pos++] = 'T';
+        pos = writeDigits(buffer, pos, value.getHour(), 2);
+        buffer[pos++] = ':';
+        pos = writeDigits(buffer, pos, value.getMinute(), 2);
+        buffer[pos++] = ':';
+        pos = writeDigits(buffer, pos, value.getSecond(), 2);
+        int nano = value.getNano();
+        if (nano > 0) {
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            buffer[pos++] = '.';
+            pos = writeDigits(buffer, pos, nano, digits);
+        }
+        return pos;
+    }
+
+    // 左侧补0写出固定位数的非负整数
+    private static int writeDigits(char[] buffer, int pos, int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+}
@@ -0,0 +1,23 @@
+package com.archie.mind_card_server.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 数据库语句计数：把 {@link StatementCounter} 注册为Hibernate的语句检查器
+ */
+@Configuration
+public class MetricsConfig {
+    
+    @Bean
+    public StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer(StatementCounter statementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+}
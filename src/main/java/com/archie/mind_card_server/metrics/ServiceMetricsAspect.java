@@ -0,0 +1,74 @@
+package com.archie.mind_card_server.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 为 service 包中各服务接口的方法记录耗时，指标名 card.service，
+ * 按服务接口、方法和异常类型打标签。最先执行，耗时包含事务提交。
+ * <p>
+ * 返回 Flux 的流式服务只在订阅时执行查询，计时没有意义，不在此统计。
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    
+    private static final String SERVICE_PACKAGE = "com.archie.mind_card_server.service";
+    
+    private final MeterRegistry meterRegistry;
+    
+    // 方法 -> 标签值
+    private final Map<Method, Tags> methodTags = new ConcurrentHashMap<>();
+    
+    @Around("execution(public * com.archie.mind_card_server.service.*Service.*(..)) "
+            + "&& !within(com.archie.mind_card_server.service.impl.CardStreamServiceImpl)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Tags tags = methodTags.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                ServiceMetricsAspect::tags);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("card.service")
+                    .description("服务方法耗时")
+                    .tags(tags)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+    
+    // service 取声明该方法的服务接口名，与实现类无关；重载的方法用参数类型区分
+    private static Tags tags(Method method) {
+        String service = ClassUtils.getAllInterfacesForClassAsSet(method.getDeclaringClass()).stream()
+                .filter(type -> type.getPackageName().equals(SERVICE_PACKAGE)
+                        && ClassUtils.hasMethod(type, method.getName(), method.getParameterTypes()))
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse(method.getDeclaringClass().getSimpleName());
+        return Tags.of("service", service, "method", method.getName() + Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(",", "(", ")")));
+    }
+}
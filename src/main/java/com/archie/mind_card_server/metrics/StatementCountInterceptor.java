@@ -0,0 +1,74 @@
+package com.archie.mind_card_server.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 记录每个请求执行的SQL条数，指标名 card.request.statements，按接口路径模板打标签。
+ * 超过阈值时输出警告日志。异步请求只统计请求线程上执行的语句。
+ */
+@Slf4j
+@Component
+public class StatementCountInterceptor implements AsyncHandlerInterceptor {
+    
+    private final StatementCounter statementCounter;
+    
+    private final MeterRegistry meterRegistry;
+    
+    private final int warnThreshold;
+    
+    public StatementCountInterceptor(StatementCounter statementCounter,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.metrics.statement-warn-threshold:50}") int warnThreshold) {
+        this.statementCounter = statementCounter;
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 异步请求已在请求线程结束时记录，异步分派不再计数
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            statementCounter.start();
+        }
+        return true;
+    }
+    
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        record(request);
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        record(request);
+    }
+    
+    private void record(HttpServletRequest request) {
+        int count = statementCounter.stop();
+        if (count < 0) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("card.request.statements")
+                .description("单个请求执行的SQL条数")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(count);
+        if (count > warnThreshold) {
+            log.warn("请求执行了 {} 条SQL: {} {}", count, request.getMethod(), uri);
+        }
+    }
+}
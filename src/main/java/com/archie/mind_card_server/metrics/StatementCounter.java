@@ -0,0 +1,37 @@
+package com.archie.mind_card_server.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 统计当前线程通过Hibernate执行的SQL条数，用于发现N+1查询和意外的全表加载。
+ * 只在 {@link #start()} 与 {@link #stop()} 之间计数；JdbcTemplate 直接执行的语句不经过这里。
+ */
+public class StatementCounter implements StatementInspector {
+    
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+    
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+    
+    /**
+     * 开始为当前线程计数
+     */
+    public void start() {
+        COUNT.set(new int[1]);
+    }
+    
+    /**
+     * 结束计数并返回条数，没有开始计数时返回 -1
+     */
+    public int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : -1;
+    }
+}
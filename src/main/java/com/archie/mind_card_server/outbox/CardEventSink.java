@@ -0,0 +1,19 @@
+package com.archie.mind_card_server.outbox;
+
+import com.archie.mind_card_server.entity.CardOutboxEvent;
+
+import java.util.List;
+
+/**
+ * 卡片变更事件的投递目标
+ * <p>
+ * {@link CardOutboxRelay} 按ID顺序分批调用所有实现，全部成功后才推进投递进度；
+ * 任一实现抛出异常时整批在下次轮询重新投递，因此同一事件可能收到多次，接收方按事件ID去重。
+ */
+public interface CardEventSink {
+
+    /**
+     * 投递一批按ID递增的事件
+     */
+    void publish(List<CardOutboxEvent> events);
+}
@@ -0,0 +1,286 @@
+package com.archie.mind_card_server.outbox;
+
+import com.archie.mind_card_server.entity.CardOutboxEvent;
+import com.archie.mind_card_server.entity.CardOutboxOffset;
+import com.archie.mind_card_server.repository.CardOutboxGapRepository;
+import com.archie.mind_card_server.repository.CardOutboxOffsetRepository;
+import com.archie.mind_card_server.repository.CardOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 发件箱投递：按ID顺序分批读取 card_outbox，交给所有 {@link CardEventSink}，成功后保存投递进度。
+ * <p>
+ * 至少一次：进度在投递成功之后保存，投递失败或进程在两者之间退出时，下次从上次保存的进度重新投递。
+ * <p>
+ * 有序：事件ID由数据库按插入顺序分配，但事务不一定按ID顺序提交。读到ID不连续时只投递空洞之前的事件，
+ * 等待较小ID的事务提交；空洞超过 gap-timeout-ms 仍未出现时跳过该空洞，并把缺失的ID记入 card_outbox_gap。
+ * 之后每次投递先复查这些ID：提交较慢的事务在 gap-recheck-ms 内出现时补发，此时顺序晚于ID更大的事件；
+ * 超过 gap-recheck-ms 仍未出现的视为已回滚。
+ */
+@Slf4j
+@Component
+public class CardOutboxRelay {
+
+    static final String RELAY = "relay";
+
+    private static final String DELETE_GAP_SQL = "DELETE FROM card_outbox_gap WHERE id >= ? AND id < ?";
+
+    private static final String INSERT_GAP_SQL = "INSERT INTO card_outbox_gap (id, skipped_at) VALUES (?, ?)";
+
+    private final CardOutboxRepository outboxRepository;
+
+    private final CardOutboxOffsetRepository offsetRepository;
+
+    private final CardOutboxGapRepository gapRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectProvider<CardEventSink> sinks;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final long gapTimeoutMs;
+
+    private final long gapRecheckMs;
+
+    private final int retentionDays;
+
+    // 关闭时定时投递和清理不执行，只能显式调用 relay() / purge()
+    private final boolean relayEnabled;
+
+    private final ReentrantLock relayLock = new ReentrantLock();
+
+    // 已投递的最大事件ID，-1 表示尚未从数据库读取
+    private final AtomicLong offset = new AtomicLong(-1);
+
+    // 正在等待的空洞：缺失的事件ID和首次发现的时间
+    private long gapId;
+
+    private long gapSeenAt;
+
+    private final Counter relayedEvents;
+
+    private final Counter lateEvents;
+
+    public CardOutboxRelay(CardOutboxRepository outboxRepository,
+                           CardOutboxOffsetRepository offsetRepository,
+                           CardOutboxGapRepository gapRepository,
+                           JdbcTemplate jdbcTemplate,
+                           ObjectProvider<CardEventSink> sinks,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.outbox.batch-size:500}") int batchSize,
+                           @Value("${app.outbox.gap-timeout-ms:10000}") long gapTimeoutMs,
+                           @Value("${app.outbox.gap-recheck-ms:3600000}") long gapRecheckMs,
+                           @Value("${app.outbox.retention-days:7}") int retentionDays,
+                           @Value("${app.outbox.relay.enabled:true}") boolean relayEnabled) {
+        this.outboxRepository = outboxRepository;
+        this.offsetRepository = offsetRepository;
+        this.gapRepository = gapRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.sinks = sinks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.gapTimeoutMs = gapTimeoutMs;
+        this.gapRecheckMs = gapRecheckMs;
+        this.retentionDays = retentionDays;
+        this.relayEnabled = relayEnabled;
+
+        this.relayedEvents = Counter.builder("card.outbox.relayed")
+                .description("已投递的卡片变更事件数")
+                .register(meterRegistry);
+        this.lateEvents = Counter.builder("card.outbox.late")
+                .description("空洞跳过之后才提交、补发的卡片变更事件数")
+                .register(meterRegistry);
+        Gauge.builder("card.outbox.offset", offset, AtomicLong::get)
+                .description("已投递的最大事件ID")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public void scheduledRelay() {
+        if (relayEnabled) {
+            relay();
+        }
+    }
+
+    @Scheduled(cron = "${app.outbox.purge-cron:0 0 4 * * *}")
+    public void scheduledPurge() {
+        if (relayEnabled) {
+            purge();
+        }
+    }
+
+    /**
+     * 投递所有可以按顺序投递的事件，返回投递的条数
+     */
+    public int relay() {
+        // 已有线程在投递时直接返回，保证同一时间只有一个投递顺序
+        if (!relayLock.tryLock()) {
+            return 0;
+        }
+        try {
+            int total = relaySkipped();
+            long current = offset();
+            while (true) {
+                List<CardOutboxEvent> batch = outboxRepository.findAfter(current, Limit.of(batchSize));
+                List<CardOutboxEvent> ready = contiguous(current, batch);
+                if (ready.isEmpty()) {
+                    break;
+                }
+                sinks.orderedStream().forEach(sink -> sink.publish(ready));
+                current = ready.get(ready.size() - 1).getId();
+                saveOffset(current);
+                relayedEvents.increment(ready.size());
+                total += ready.size();
+                if (ready.size() < batch.size() || batch.size() < batchSize) {
+                    break;
+                }
+            }
+            if (total > 0) {
+                log.debug("投递卡片变更事件: {} 条, 进度 {}", total, current);
+            }
+            return total;
+        } catch (RuntimeException e) {
+            log.error("投递卡片变更事件失败，下次从进度 {} 重试: {}", offset.get(), e.getMessage());
+            return 0;
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    /**
+     * 补发跳过之后才提交的事件，删除超过 gap-recheck-ms 的空洞
+     */
+    private int relaySkipped() {
+        int total = 0;
+        while (true) {
+            List<CardOutboxEvent> late = outboxRepository.findSkipped(Limit.of(batchSize));
+            if (late.isEmpty()) {
+                break;
+            }
+            sinks.orderedStream().forEach(sink -> sink.publish(late));
+            gapRepository.deleteAllByIdInBatch(late.stream().map(CardOutboxEvent::getId).toList());
+            log.warn("补发空洞跳过之后才提交的卡片变更事件: {} 条, ID {} - {}",
+                    late.size(), late.get(0).getId(), late.get(late.size() - 1).getId());
+            lateEvents.increment(late.size());
+            relayedEvents.increment(late.size());
+            total += late.size();
+            if (late.size() < batchSize) {
+                break;
+            }
+        }
+        LocalDateTime expiredBefore = LocalDateTime.now().minusNanos(gapRecheckMs * 1_000_000);
+        transactionTemplate.executeWithoutResult(status -> gapRepository.deleteSkippedBefore(expiredBefore));
+        return total;
+    }
+
+    /**
+     * 已投递的最大事件ID
+     */
+    public long offset() {
+        long current = offset.get();
+        if (current < 0) {
+            current = offsetRepository.findById(RELAY).map(CardOutboxOffset::getLastId).orElse(0L);
+            offset.compareAndSet(-1, current);
+        }
+        return current;
+    }
+
+    /**
+     * 删除已投递且超过保留天数的事件，保留期内的事件可供订阅方从旧进度补发
+     */
+    public int purge() {
+        long delivered = offset();
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        int purged = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = outboxRepository.findDeliveredIdsBefore(delivered, before, Limit.of(batchSize));
+                if (!ids.isEmpty()) {
+                    outboxRepository.deleteAllByIdInBatch(ids);
+                }
+                return ids.size();
+            });
+            purged += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        log.info("清理已投递的卡片变更事件: {} 条, 创建时间早于 {}", purged, before);
+        return purged;
+    }
+
+    /**
+     * 从 batch 开头取出ID连续的事件；遇到未超时的空洞时停在空洞之前，已超时的空洞记录后跳过
+     */
+    private List<CardOutboxEvent> contiguous(long after, List<CardOutboxEvent> batch) {
+        List<CardOutboxEvent> ready = new ArrayList<>(batch.size());
+        long expected = after + 1;
+        for (CardOutboxEvent event : batch) {
+            if (event.getId() != expected) {
+                if (!gapExpired(expected)) {
+                    break;
+                }
+                skip(expected, event.getId());
+            }
+            ready.add(event);
+            expected = event.getId() + 1;
+        }
+        if (ready.size() == batch.size()) {
+            gapSeenAt = 0;
+        }
+        return ready;
+    }
+
+    private boolean gapExpired(long missingId) {
+        long now = System.currentTimeMillis();
+        if (gapSeenAt == 0 || gapId != missingId) {
+            gapId = missingId;
+            gapSeenAt = now;
+            return false;
+        }
+        if (now - gapSeenAt < gapTimeoutMs) {
+            return false;
+        }
+        log.warn("事件 {} 等待 {} ms 仍未提交，先跳过，{} ms 内提交时补发", missingId, now - gapSeenAt, gapRecheckMs);
+        gapSeenAt = 0;
+        return true;
+    }
+
+    // 在保存越过空洞的进度之前记录跳过的ID [from, to)。上次记录后进度未能保存时会再次跳过同一空洞，先删除旧记录
+    private void skip(long from, long to) {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_GAP_SQL, from, to);
+            jdbcTemplate.batchUpdate(INSERT_GAP_SQL, LongStream.range(from, to)
+                    .mapToObj(id -> new Object[]{id, now})
+                    .toList());
+        });
+    }
+
+    private void saveOffset(long lastId) {
+        offsetRepository.save(new CardOutboxOffset(RELAY, lastId, LocalDateTime.now()));
+        offset.set(lastId);
+    }
+}
@@ -0,0 +1,127 @@
+package com.archie.mind_card_server.outbox;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.entity.CardOutboxEvent;
+import com.archie.mind_card_server.event.ArchivedCardDeletedEvent;
+import com.archie.mind_card_server.event.CardChangedEvent;
+import com.archie.mind_card_server.event.CardsStatusChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 把卡片变更事件写入发件箱
+ * <p>
+ * 同步监听 {@link CardChangedEvent}、{@link CardsStatusChangedEvent} 和 {@link ArchivedCardDeletedEvent}，在发布事件的事务中收集，
+ * 事务提交前一次批量插入 card_outbox：卡片变更与事件要么一起提交，要么一起回滚。
+ * 提交前才分配ID，并发事务的事件ID基本按提交顺序递增。
+ */
+@Component
+@RequiredArgsConstructor
+public class CardOutboxWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO card_outbox (card_id, event_type, payload, created_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    public void onCardChanged(CardChangedEvent event) {
+        CardOutboxEvent.Type type = event.before() == null ? CardOutboxEvent.Type.CREATED
+                : event.after() == null ? CardOutboxEvent.Type.DELETED
+                : CardOutboxEvent.Type.UPDATED;
+        CardDTO card = event.after() != null ? event.after() : event.before();
+        append(Collections.singletonList(row(event.cardId(), type, toJson(card))));
+    }
+
+    @EventListener
+    public void onArchivedCardDeleted(ArchivedCardDeletedEvent event) {
+        CardDTO card = event.card();
+        append(Collections.singletonList(row(card.getId(), CardOutboxEvent.Type.DELETED, toJson(card))));
+    }
+
+    @EventListener
+    public void onCardsStatusChanged(CardsStatusChangedEvent event) {
+        String payload = toJson(Map.of("status", event.status()));
+        List<Object[]> rows = new ArrayList<>(event.cardIds().size());
+        for (Long cardId : event.cardIds()) {
+            rows.add(row(cardId, CardOutboxEvent.Type.STATUS_CHANGED, payload));
+        }
+        append(rows);
+    }
+
+    // 事务中先缓存，提交前统一写入；没有事务时直接写入
+    private void append(List<Object[]> rows) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(rows);
+            return;
+        }
+        PendingRows pending = (PendingRows) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingRows();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.rows.addAll(rows);
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private static Object[] row(Long cardId, CardOutboxEvent.Type type, String payload) {
+        return new Object[]{cardId, type.name(), payload, LocalDateTime.now()};
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 当前事务中待写入的事件，挂起内层 REQUIRES_NEW 事务时一起解绑，不会混入内层事务
+     */
+    private final class PendingRows implements TransactionSynchronization {
+
+        private final List<Object[]> rows = new ArrayList<>();
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(CardOutboxWriter.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(CardOutboxWriter.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!rows.isEmpty()) {
+                insert(rows);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CardOutboxWriter.this);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.archie.mind_card_server.outbox;
+
+import com.archie.mind_card_server.entity.CardOutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 把事件以 JSON Lines 追加到本地文件，每批写完后刷盘再返回，进程崩溃不会丢失已确认的事件
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileCardEventSink implements CardEventSink {
+
+    private final ObjectMapper objectMapper;
+
+    private final Path file;
+
+    public FileCardEventSink(ObjectMapper objectMapper,
+                             @Value("${app.outbox.file:logs/card-events.jsonl}") String file) {
+        this.objectMapper = objectMapper;
+        this.file = Path.of(file);
+    }
+
+    @Override
+    public synchronized void publish(List<CardOutboxEvent> events) {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        try {
+            for (CardOutboxEvent event : events) {
+                objectMapper.writeValue(lines, event);
+                lines.write('\n');
+            }
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入卡片变更事件文件失败: " + file, e);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.archie.mind_card_server.outbox;
+
+import com.archie.mind_card_server.entity.CardOutboxEvent;
+import com.archie.mind_card_server.entity.CardOutboxOffset;
+import com.archie.mind_card_server.repository.CardOutboxOffsetRepository;
+import com.archie.mind_card_server.repository.CardOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 通过 SSE 把卡片变更事件推送给订阅方
+ * <p>
+ * 订阅时指定从哪个事件ID之后开始：先从发件箱分批补发已投递的历史事件，再切换为接收实时事件。
+ * 补发期间到达的实时事件先缓存，切换时按事件ID去重后发送，不会遗漏或重复。
+ * SSE 事件的 id 为发件箱事件ID，客户端断线重连时通过 Last-Event-ID 从断点继续。
+ */
+@Slf4j
+@Component
+public class SseCardEventSink implements CardEventSink {
+
+    // 补发期间最多缓存的实时事件数，超过后丢弃缓存，改为继续从发件箱补发
+    private static final int MAX_BUFFERED = 10000;
+
+    private final CardOutboxRepository outboxRepository;
+
+    private final CardOutboxOffsetRepository offsetRepository;
+
+    private final AsyncTaskExecutor taskExecutor;
+
+    private final int batchSize;
+
+    private final long timeoutMs;
+
+    private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+
+    // 已交给本投递目标的最大事件ID，-1 表示尚未从数据库读取
+    private final AtomicLong published = new AtomicLong(-1);
+
+    public SseCardEventSink(CardOutboxRepository outboxRepository,
+                            CardOutboxOffsetRepository offsetRepository,
+                            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                            AsyncTaskExecutor taskExecutor,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.outbox.batch-size:500}") int batchSize,
+                            @Value("${app.outbox.sse-timeout-ms:1800000}") long timeoutMs) {
+        this.outboxRepository = outboxRepository;
+        this.offsetRepository = offsetRepository;
+        this.taskExecutor = taskExecutor;
+        this.batchSize = batchSize;
+        this.timeoutMs = timeoutMs;
+
+        Gauge.builder("card.outbox.subscribers", subscribers, Set::size)
+                .description("SSE订阅数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 订阅 after 之后的事件；after 为 null 时只接收订阅之后投递的事件
+     */
+    public SseEmitter subscribe(Long after) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, after != null ? after : published());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // 先登记再补发，补发期间投递的事件进入缓存
+        subscribers.add(subscriber);
+        taskExecutor.execute(() -> catchUp(subscriber));
+        return emitter;
+    }
+
+    @Override
+    public void publish(List<CardOutboxEvent> events) {
+        // 先更新进度再分发：之后登记的订阅方补发到这里为止，之前登记的订阅方收到这一批
+        published.set(events.get(events.size() - 1).getId());
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(events);
+        }
+    }
+
+    private long published() {
+        long current = published.get();
+        if (current < 0) {
+            current = offsetRepository.findById(CardOutboxRelay.RELAY).map(CardOutboxOffset::getLastId).orElse(0L);
+            published.compareAndSet(-1, current);
+        }
+        return Math.max(current, published.get());
+    }
+
+    // 分批补发 (lastId, 已投递进度]，补发完后切换为实时推送
+    private void catchUp(Subscriber subscriber) {
+        try {
+            while (true) {
+                List<CardOutboxEvent> events = outboxRepository.findBetween(
+                        subscriber.lastId(), published(), Limit.of(batchSize));
+                if (!events.isEmpty()) {
+                    subscriber.send(events);
+                } else if (subscriber.goLive()) {
+                    return;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(subscriber);
+        } catch (RuntimeException e) {
+            log.error("补发卡片变更事件失败: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private long lastId;
+
+        private boolean live;
+
+        // 补发期间到达的实时事件
+        private List<CardOutboxEvent> buffered = new ArrayList<>();
+
+        private boolean overflowed;
+
+        Subscriber(SseEmitter emitter, long lastId) {
+            this.emitter = emitter;
+            this.lastId = lastId;
+        }
+
+        synchronized long lastId() {
+            return lastId;
+        }
+
+        // 投递线程调用：补发期间缓存，之后直接发送
+        synchronized void offer(List<CardOutboxEvent> events) {
+            if (!live) {
+                if (overflowed || buffered.size() + events.size() > MAX_BUFFERED) {
+                    overflowed = true;
+                    buffered.clear();
+                } else {
+                    buffered.addAll(events);
+                }
+                return;
+            }
+            try {
+                send(events);
+            } catch (IOException | IllegalStateException e) {
+                // 连接已断开
+                subscribers.remove(this);
+            }
+        }
+
+        // 缓存溢出时返回 false，由调用方继续补发；否则发送缓存并切换为实时推送
+        synchronized boolean goLive() throws IOException {
+            if (overflowed) {
+                overflowed = false;
+                return false;
+            }
+            send(buffered);
+            buffered = null;
+            live = true;
+            return true;
+        }
+
+        synchronized void send(List<CardOutboxEvent> events) throws IOException {
+            for (CardOutboxEvent event : events) {
+                if (event.getId() > lastId) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.getId()))
+                            .name(event.getType().name())
+                            .data(event, MediaType.APPLICATION_JSON));
+                    lastId = event.getId();
+                }
+            }
+        }
+    }
+}
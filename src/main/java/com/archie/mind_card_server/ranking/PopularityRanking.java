@@ -0,0 +1,361 @@
+package com.archie.mind_card_server.ranking;
+
+import com.archie.mind_card_server.config.ReplicaRoutingDataSource;
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.event.CardChangedEvent;
+import com.archie.mind_card_server.event.CardsStatusChangedEvent;
+import com.archie.mind_card_server.repository.CardRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 进程内热门排行
+ * <p>
+ * 为每张 ACTIVE 卡片保存累计查看次数和 1h、24h、7d 三个窗口的指数衰减热度，
+ * 查看和收藏时增量更新；定时任务为每个窗口选出前 top-k 张卡片生成快照，
+ * 热门列表只需从快照中截取一页ID。
+ * <p>
+ * 衰减热度以对数形式保存为相对于固定时间点的值 ln(Σ w·e^((t - t0)/τ))，
+ * 更新时不需要先衰减旧值，不同卡片的热度在任何时刻都可以直接比较。
+ * 启动时只能从数据库得到累计查看次数，衰减窗口从启动后的查看和收藏开始累积。
+ */
+@Slf4j
+@Component
+public class PopularityRanking {
+
+    // 批量状态变更时每次查询的卡片数
+    private static final int HYDRATE_CHUNK_SIZE = 1000;
+
+    // 衰减后热度低于该值的卡片不进入衰减窗口的排行，约为一次查看经过 4.6 个窗口长度
+    private static final double MIN_SCORE = 0.01;
+
+    private static final PopularityWindow[] DECAYED = Arrays.stream(PopularityWindow.values())
+            .filter(PopularityWindow::isDecayed)
+            .toArray(PopularityWindow[]::new);
+
+    // 同分时ID大的靠前，与数据库 ORDER BY view_count DESC, id DESC 一致
+    private static final Comparator<Ranked> ORDER = Comparator.comparingDouble(Ranked::value)
+            .thenComparingLong(Ranked::id);
+
+    private final CardRepository cardRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final int topK;
+
+    private final double favoriteWeight;
+
+    // 对数热度的基准时间
+    private final long epochMillis = System.currentTimeMillis();
+
+    // 卡片ID -> 热度
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    // 构建期间被移除的卡片，构建时跳过以免重新加入
+    private final Set<Long> removedDuringBuild = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean building;
+
+    // 每个窗口按热度倒序的卡片ID，尚未构建时为 null
+    private volatile Snapshot snapshot;
+
+    // 上次刷新后是否有查看、收藏或卡片变更
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final Timer refreshTimer;
+
+    public PopularityRanking(CardRepository cardRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.ranking.top-k:1000}") int topK,
+                             @Value("${app.ranking.favorite-weight:5}") double favoriteWeight) {
+        this.cardRepository = cardRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.topK = topK;
+        this.favoriteWeight = favoriteWeight;
+
+        Gauge.builder("card.ranking.cards", entries, Map::size)
+                .description("热门排行中的卡片数")
+                .register(meterRegistry);
+        this.refreshTimer = Timer.builder("card.ranking.refresh")
+                .description("热门排行快照刷新耗时")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 启动后流式读取所有激活卡片的查看次数，然后生成第一份快照
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        log.info("开始构建热门排行");
+        long start = System.currentTimeMillis();
+
+        building = true;
+        try {
+            // 构建之后只靠事件增量更新，必须从主库读取
+            ReplicaRoutingDataSource.onPrimary(() -> readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = cardRepository.streamActiveViewCounts()) {
+                    rows.forEach(row -> {
+                        Long id = (Long) row[0];
+                        if (!removedDuringBuild.contains(id)) {
+                            entries.putIfAbsent(id, new Entry(toLong(row[1])));
+                        }
+                    });
+                }
+            }));
+        } finally {
+            building = false;
+            removedDuringBuild.clear();
+        }
+        refresh();
+
+        log.info("热门排行构建完成: {} 张卡片, 耗时 {} ms", size(), System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(fixedDelayString = "${app.ranking.refresh-interval-ms:10000}",
+            initialDelayString = "${app.ranking.refresh-interval-ms:10000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * 记录一次查看
+     */
+    public void recordView(Long cardId) {
+        recordView(cardId, System.currentTimeMillis());
+    }
+
+    void recordView(Long cardId, long now) {
+        Entry entry = entries.get(cardId);
+        if (entry != null) {
+            entry.add(1, 1, now, epochMillis);
+            dirty.set(true);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCardChanged(CardChangedEvent event) {
+        CardDTO after = event.after();
+        if (after == null || after.getStatus() != Card.CardStatus.ACTIVE) {
+            remove(event.cardId());
+        } else {
+            Entry entry = entries.computeIfAbsent(after.getId(), id -> new Entry(toLong(after.getViewCount())));
+            // 收藏按 favorite-weight 次查看计入衰减窗口，取消收藏不回退
+            CardDTO before = event.before();
+            if (before != null && !Boolean.TRUE.equals(before.getIsFavorite())
+                    && Boolean.TRUE.equals(after.getIsFavorite())) {
+                entry.add(favoriteWeight, 0, System.currentTimeMillis(), epochMillis);
+            }
+        }
+        // 列表中卡片的内容可能已变化
+        changed();
+    }
+
+    /**
+     * 批量状态变更：变为 ACTIVE 的卡片按当前查看次数加入，其余移除
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCardsStatusChanged(CardsStatusChangedEvent event) {
+        if (event.status() == Card.CardStatus.ACTIVE) {
+            List<Long> ids = new ArrayList<>(event.cardIds());
+            for (int from = 0; from < ids.size(); from += HYDRATE_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + HYDRATE_CHUNK_SIZE, ids.size()));
+                for (Object[] row : ReplicaRoutingDataSource.onPrimary(() -> cardRepository.findActiveViewCounts(chunk))) {
+                    entries.computeIfAbsent((Long) row[0], id -> new Entry(toLong(row[1])));
+                }
+            }
+        } else {
+            event.cardIds().forEach(this::remove);
+        }
+        changed();
+    }
+
+    /**
+     * 为每个窗口重新选出前 top-k 张卡片。快照内容或卡片有变化时版本号加一
+     */
+    public void refresh() {
+        refreshTimer.record(() -> refresh(System.currentTimeMillis()));
+    }
+
+    synchronized void refresh(long now) {
+        boolean changed = dirty.getAndSet(false);
+
+        Map<PopularityWindow, PriorityQueue<Ranked>> heaps = new EnumMap<>(PopularityWindow.class);
+        for (PopularityWindow window : PopularityWindow.values()) {
+            heaps.put(window, new PriorityQueue<>(ORDER));
+        }
+        double[] minLogScores = new double[DECAYED.length];
+        for (int i = 0; i < DECAYED.length; i++) {
+            minLogScores[i] = Math.log(MIN_SCORE) + elapsed(DECAYED[i], now, epochMillis);
+        }
+
+        entries.forEach((id, entry) -> {
+            double[] values = entry.values();
+            offer(heaps.get(PopularityWindow.ALL), new Ranked(id, values[DECAYED.length]));
+            for (int i = 0; i < DECAYED.length; i++) {
+                if (values[i] >= minLogScores[i]) {
+                    offer(heaps.get(DECAYED[i]), new Ranked(id, values[i]));
+                }
+            }
+        });
+
+        // 累计排行中最小的查看次数，即小顶堆的堆顶
+        Ranked last = heaps.get(PopularityWindow.ALL).peek();
+        long lastViews = last != null ? (long) last.value() : 0;
+
+        Map<PopularityWindow, long[]> top = new EnumMap<>(PopularityWindow.class);
+        heaps.forEach((window, heap) -> {
+            long[] ids = new long[heap.size()];
+            for (int i = ids.length - 1; i >= 0; i--) {
+                ids[i] = heap.poll().id();
+            }
+            top.put(window, ids);
+        });
+
+        Snapshot previous = snapshot;
+        if (changed || previous == null || previous.lastViews() != lastViews || top.keySet().stream()
+                .anyMatch(window -> !Arrays.equals(top.get(window), previous.top().get(window)))) {
+            snapshot = new Snapshot(top, lastViews);
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * 窗口内按热度倒序的卡片ID，最多 top-k 张；尚未构建时返回 null。
+     * 返回的数组为共享快照，调用方不能修改
+     */
+    public long[] top(PopularityWindow window) {
+        Snapshot current = snapshot;
+        return current != null ? current.top().get(window) : null;
+    }
+
+    /**
+     * 生成快照时累计排行最后一张卡片的查看次数，排行之外的卡片当时的查看次数都不超过它，
+     * 同为该值时ID都比它小。超出 top-k 的分页从这个位置开始查询数据库；尚未构建或排行为空时返回0
+     */
+    public long lastRankedViews() {
+        Snapshot current = snapshot;
+        return current != null ? current.lastViews() : 0;
+    }
+
+    /**
+     * 排行中的卡片数，即 ACTIVE 卡片数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 排行版本号，快照或其中的卡片变化时增加，用于生成ETag
+     */
+    public long version() {
+        return version.get();
+    }
+
+    private void remove(Long cardId) {
+        if (building) {
+            removedDuringBuild.add(cardId);
+        }
+        entries.remove(cardId);
+    }
+
+    private void changed() {
+        dirty.set(true);
+        version.incrementAndGet();
+    }
+
+    // 小顶堆只保留最大的 top-k 个
+    private void offer(PriorityQueue<Ranked> heap, Ranked ranked) {
+        if (heap.size() < topK) {
+            heap.add(ranked);
+        } else if (topK > 0 && ORDER.compare(ranked, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(ranked);
+        }
+    }
+
+    // 从基准时间到 now 经过的衰减时间常数个数
+    private static double elapsed(PopularityWindow window, long now, long epochMillis) {
+        return (double) (now - epochMillis) / window.decay().toMillis();
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0;
+    }
+
+    /**
+     * 一次刷新的结果：各窗口的卡片ID和累计排行最后一张卡片的查看次数
+     */
+    private record Snapshot(Map<PopularityWindow, long[]> top, long lastViews) {
+    }
+
+    /**
+     * 一张卡片的热度：累计查看次数和各衰减窗口的对数热度
+     */
+    private static final class Entry {
+
+        private long views;
+
+        private final double[] logScores = new double[DECAYED.length];
+
+        Entry(long views) {
+            this.views = views;
+            Arrays.fill(logScores, Double.NEGATIVE_INFINITY);
+        }
+
+        synchronized void add(double weight, long viewDelta, long now, long epochMillis) {
+            views += viewDelta;
+            double logWeight = Math.log(weight);
+            for (int i = 0; i < DECAYED.length; i++) {
+                logScores[i] = logAddExp(logScores[i], logWeight + elapsed(DECAYED[i], now, epochMillis));
+            }
+        }
+
+        // 各衰减窗口的对数热度，最后一项为累计查看次数
+        synchronized double[] values() {
+            double[] values = Arrays.copyOf(logScores, DECAYED.length + 1);
+            values[DECAYED.length] = views;
+            return values;
+        }
+
+        // ln(e^a + e^b)，不会溢出
+        private static double logAddExp(double a, double b) {
+            if (a == Double.NEGATIVE_INFINITY) {
+                return b;
+            }
+            double max = Math.max(a, b);
+            return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+        }
+    }
+
+    private record Ranked(long id, double value) {
+    }
+}
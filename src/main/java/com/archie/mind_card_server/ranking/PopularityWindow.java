@@ -0,0 +1,56 @@
+package com.archie.mind_card_server.ranking;
+
+import java.time.Duration;
+
+/**
+ * 热门排行的时间窗口
+ * <p>
+ * 1h、24h、7d 为指数衰减的热度，衰减时间常数等于窗口长度：一次查看经过一个窗口长度后权重降为 1/e；
+ * all 为累计查看次数，与数据库中的 view_count 排序一致。
+ */
+public enum PopularityWindow {
+
+    HOUR("1h", Duration.ofHours(1)),
+    DAY("24h", Duration.ofHours(24)),
+    WEEK("7d", Duration.ofDays(7)),
+    ALL("all", null);
+
+    private final String param;
+
+    private final Duration decay;
+
+    PopularityWindow(String param, Duration decay) {
+        this.param = param;
+        this.decay = decay;
+    }
+
+    /**
+     * 请求参数中的取值
+     */
+    public String param() {
+        return param;
+    }
+
+    /**
+     * 衰减时间常数，all 为 null
+     */
+    public Duration decay() {
+        return decay;
+    }
+
+    public boolean isDecayed() {
+        return decay != null;
+    }
+
+    /**
+     * 按请求参数解析窗口
+     */
+    public static PopularityWindow of(String param) {
+        for (PopularityWindow window : values()) {
+            if (window.param.equalsIgnoreCase(param)) {
+                return window;
+            }
+        }
+        throw new IllegalArgumentException("不支持的时间窗口: " + param + "，可选 1h、24h、7d、all");
+    }
+}
@@ -0,0 +1,19 @@
+package com.archie.mind_card_server.repository;
+
+import com.archie.mind_card_server.entity.CardArchive;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CardArchiveRepository extends JpaRepository<CardArchive, Long> {
+
+    // 归档时间早于指定时间的卡片ID，按归档时间从早到晚，供清理任务分批删除
+    @Query("SELECT a.id FROM CardArchive a WHERE a.archivedAt < :before ORDER BY a.archivedAt")
+    List<Long> findIdsArchivedBefore(@Param("before") LocalDateTime before, Limit limit);
+}
@@ -0,0 +1,19 @@
+package com.archie.mind_card_server.repository;
+
+import com.archie.mind_card_server.entity.CardOutboxGap;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface CardOutboxGapRepository extends JpaRepository<CardOutboxGap, Long> {
+
+    // 删除跳过时间早于指定时间的空洞，之后提交的事件不再补发
+    @Modifying
+    @Query("DELETE FROM CardOutboxGap g WHERE g.skippedAt < :before")
+    int deleteSkippedBefore(@Param("before") LocalDateTime before);
+}
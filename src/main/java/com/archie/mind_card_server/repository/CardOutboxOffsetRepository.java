@@ -0,0 +1,9 @@
+package com.archie.mind_card_server.repository;
+
+import com.archie.mind_card_server.entity.CardOutboxOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CardOutboxOffsetRepository extends JpaRepository<CardOutboxOffset, String> {
+}
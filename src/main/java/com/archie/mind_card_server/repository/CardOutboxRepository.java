@@ -0,0 +1,31 @@
+package com.archie.mind_card_server.repository;
+
+import com.archie.mind_card_server.entity.CardOutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CardOutboxRepository extends JpaRepository<CardOutboxEvent, Long> {
+
+    // ID 大于 after 的事件，按ID顺序，供投递分批读取
+    @Query("SELECT e FROM CardOutboxEvent e WHERE e.id > :after ORDER BY e.id")
+    List<CardOutboxEvent> findAfter(@Param("after") Long after, Limit limit);
+
+    // 之前超时跳过、之后才提交的事件，按ID顺序补发
+    @Query("SELECT e FROM CardOutboxEvent e WHERE e.id IN (SELECT g.id FROM CardOutboxGap g) ORDER BY e.id")
+    List<CardOutboxEvent> findSkipped(Limit limit);
+
+    // ID 在 (after, upTo] 之间的事件，供订阅方补发已投递的历史事件
+    @Query("SELECT e FROM CardOutboxEvent e WHERE e.id > :after AND e.id <= :upTo ORDER BY e.id")
+    List<CardOutboxEvent> findBetween(@Param("after") Long after, @Param("upTo") Long upTo, Limit limit);
+
+    // 已投递（ID 不大于 upTo）且早于指定时间的事件ID，供清理任务分批删除
+    @Query("SELECT e.id FROM CardOutboxEvent e WHERE e.id <= :upTo AND e.createdAt < :before ORDER BY e.id")
+    List<Long> findDeliveredIdsBefore(@Param("upTo") Long upTo, @Param("before") LocalDateTime before, Limit limit);
+}
@@ -1,23 +1,44 @@
 package com.archie.mind_card_server.repository;
 
+import com.archie.mind_card_server.dto.CardSummaryDTO;
+import com.archie.mind_card_server.dto.ListValidator;
 import com.archie.mind_card_server.entity.Card;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface CardRepository extends JpaRepository<Card, Long> {
+public interface CardRepository extends JpaRepository<Card, Long>, CardRepositoryCustom {
+    
+    // 摘要查询的SELECT部分，不读取 content 列
+    String SELECT_SUMMARY = "SELECT new com.archie.mind_card_server.dto.CardSummaryDTO(" +
+            "c.id, c.title, c.category, c.tags, c.priority, c.status, c.color, c.isFavorite, c.isPublic, " +
+            "c.viewCount, c.createdBy, c.createdAt, c.updatedAt) FROM Card c ";
+    
+    // 列表校验值查询的SELECT部分，只做聚合
+    String SELECT_VALIDATOR = "SELECT new com.archie.mind_card_server.dto.ListValidator(" +
+            "COUNT(c), MAX(c.updatedAt), SUM(c.version)) FROM Card c ";
     
     // 根据标题查找
     List<Card> findByTitleContainingIgnoreCase(String title);
     
-    // 根据分类查找
-    List<Card> findByCategoryIgnoreCase(String category);
+    // 根据分类查找，忽略大小写；与摘要查询一样用 LOWER 以使用 lower(category) 索引
+    @Query("SELECT c FROM Card c WHERE LOWER(c.category) = LOWER(:category)")
+    List<Card> findByCategoryIgnoreCase(@Param("category") String category);
     
     // 根据状态查找
     List<Card> findByStatus(Card.CardStatus status);
@@ -51,24 +72,263 @@ public interface CardRepository extends JpaRepository<Card, Long> {
            "c.status = 'ACTIVE'")
     Page<Card> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
     
-    // 根据标签查找
-    @Query("SELECT c FROM Card c WHERE " +
-           "LOWER(c.tags) LIKE LOWER(CONCAT('%', :tag, '%')) AND " +
-           "c.status = 'ACTIVE'")
-    List<Card> findByTagsContaining(@Param("tag") String tag);
+    // 全文检索（仅PostgreSQL）：按相关度排序，query 为 to_tsquery 表达式
+    @Query(value = "SELECT c.* FROM cards c WHERE c.status = 'ACTIVE' AND " +
+                   "c.search_vector @@ to_tsquery('simple', :query) " +
+                   "ORDER BY ts_rank(c.search_vector, to_tsquery('simple', :query)) DESC, c.created_at DESC, c.id DESC",
+           countQuery = "SELECT COUNT(*) FROM cards c WHERE c.status = 'ACTIVE' AND " +
+                        "c.search_vector @@ to_tsquery('simple', :query)",
+           nativeQuery = true)
+    Page<Card> fullTextSearch(@Param("query") String query, Pageable pageable);
+    
+    // 流式读取激活的卡片，需在事务中使用并关闭Stream
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT c FROM Card c WHERE c.status = 'ACTIVE'")
+    Stream<Card> streamActiveCards();
+    
+    // 流式读取激活卡片的ID和查看次数，用于构建热门排行，需在事务中使用并关闭Stream
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT c.id, c.viewCount FROM Card c WHERE c.status = 'ACTIVE'")
+    Stream<Object[]> streamActiveViewCounts();
+    
+    // 指定ID中激活卡片的ID和查看次数
+    @Query("SELECT c.id, c.viewCount FROM Card c WHERE c.status = 'ACTIVE' AND c.id IN :ids")
+    List<Object[]> findActiveViewCounts(@Param("ids") Collection<Long> ids);
+    
+    // 根据标签精确查找
+    @Query("SELECT c FROM Card c WHERE c.status = 'ACTIVE' AND " +
+           "c.id IN (SELECT t.cardId FROM CardTag t WHERE t.tag = :tag)")
+    List<Card> findByTag(@Param("tag") String tag);
+    
+    // 根据标签前缀查找，pattern 中的通配符需用 ! 转义
+    @Query("SELECT c FROM Card c WHERE c.status = 'ACTIVE' AND " +
+           "c.id IN (SELECT t.cardId FROM CardTag t WHERE t.tag LIKE :pattern ESCAPE '!')")
+    List<Card> findByTagPattern(@Param("pattern") String pattern);
+    
+    // 查找包含任一标签的卡片
+    @Query("SELECT c FROM Card c WHERE c.status = 'ACTIVE' AND " +
+           "c.id IN (SELECT t.cardId FROM CardTag t WHERE t.tag IN :tags)")
+    List<Card> findByAnyTag(@Param("tags") Collection<String> tags);
+    
+    // 查找包含全部标签的卡片，tagCount 为标签个数
+    @Query("SELECT c FROM Card c WHERE c.status = 'ACTIVE' AND " +
+           "c.id IN (SELECT t.cardId FROM CardTag t WHERE t.tag IN :tags GROUP BY t.cardId HAVING COUNT(t) = :tagCount)")
+    List<Card> findByAllTags(@Param("tags") Collection<String> tags, @Param("tagCount") long tagCount);
     
     // 统计激活的卡片数量
     long countByStatus(Card.CardStatus status);
     
-    // 根据分类统计
-    @Query("SELECT c.category, COUNT(c) FROM Card c WHERE c.status = 'ACTIVE' GROUP BY c.category")
-    List<Object[]> countByCategory();
-    
-    // 根据优先级统计
-    @Query("SELECT c.priority, COUNT(c) FROM Card c WHERE c.status = 'ACTIVE' GROUP BY c.priority")
-    List<Object[]> countByPriority();
+    // 按状态、分类和优先级分组计数，一次查询得到全部统计
+    @Query("SELECT c.status, c.category, c.priority, COUNT(c) FROM Card c GROUP BY c.status, c.category, c.priority")
+    List<Object[]> countGroups();
     
     // 查找热门卡片（按查看次数排序）
-    @Query("SELECT c FROM Card c WHERE c.status = 'ACTIVE' ORDER BY c.viewCount DESC")
+    @Query("SELECT c FROM Card c WHERE c.status = 'ACTIVE' ORDER BY c.viewCount DESC, c.id DESC")
     Page<Card> findPopularCards(Pageable pageable);
+    
+    // ===== 游标分页：按 (排序字段, id) 定位，不使用 OFFSET 和 COUNT =====
+    
+    // 所有卡片按创建时间倒序，第一页
+    @Query("SELECT c FROM Card c ORDER BY c.createdAt DESC, c.id DESC")
+    List<Card> findFirstByCreatedAt(Limit limit);
+    
+    // 所有卡片按创建时间倒序，游标之后
+    @Query("SELECT c FROM Card c WHERE c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Card> findAfterByCreatedAt(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+    
+    // 指定状态按创建时间倒序，第一页
+    @Query("SELECT c FROM Card c WHERE c.status = :status ORDER BY c.createdAt DESC, c.id DESC")
+    List<Card> findFirstByStatus(@Param("status") Card.CardStatus status, Limit limit);
+    
+    // 指定状态按创建时间倒序，游标之后
+    @Query("SELECT c FROM Card c WHERE c.status = :status AND " +
+           "(c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Card> findAfterByStatus(@Param("status") Card.CardStatus status,
+                                 @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+    
+    // 公开卡片按创建时间倒序，第一页
+    @Query("SELECT c FROM Card c WHERE c.isPublic = true AND c.status = 'ACTIVE' ORDER BY c.createdAt DESC, c.id DESC")
+    List<Card> findFirstPublic(Limit limit);
+    
+    // 公开卡片按创建时间倒序，游标之后
+    @Query("SELECT c FROM Card c WHERE c.isPublic = true AND c.status = 'ACTIVE' AND " +
+           "(c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Card> findAfterPublic(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+    
+    // 关键词搜索按创建时间倒序，第一页
+    @Query("SELECT c FROM Card c WHERE " +
+           "(LOWER(c.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(c.content) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
+           "c.status = 'ACTIVE' ORDER BY c.createdAt DESC, c.id DESC")
+    List<Card> searchFirstByKeyword(@Param("keyword") String keyword, Limit limit);
+    
+    // 关键词搜索按创建时间倒序，游标之后
+    @Query("SELECT c FROM Card c WHERE " +
+           "(LOWER(c.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(c.content) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
+           "c.status = 'ACTIVE' AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Card> searchAfterByKeyword(@Param("keyword") String keyword,
+                                    @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+    
+    // 全文检索按创建时间倒序，第一页（仅PostgreSQL）
+    @Query(value = "SELECT c.* FROM cards c WHERE c.status = 'ACTIVE' AND " +
+                   "c.search_vector @@ to_tsquery('simple', :query) " +
+                   "ORDER BY c.created_at DESC, c.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Card> fullTextSearchFirst(@Param("query") String query, @Param("limit") int limit);
+    
+    // 全文检索按创建时间倒序，游标之后（仅PostgreSQL）
+    @Query(value = "SELECT c.* FROM cards c WHERE c.status = 'ACTIVE' AND " +
+                   "c.search_vector @@ to_tsquery('simple', :query) AND " +
+                   "(c.created_at < :createdAt OR (c.created_at = :createdAt AND c.id < :id)) " +
+                   "ORDER BY c.created_at DESC, c.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Card> fullTextSearchAfter(@Param("query") String query, @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id, @Param("limit") int limit);
+    
+    // 热门卡片按查看次数倒序，第一页
+    @Query("SELECT c FROM Card c WHERE c.status = 'ACTIVE' ORDER BY c.viewCount DESC, c.id DESC")
+    List<Card> findFirstPopular(Limit limit);
+    
+    // 热门卡片中 (viewCount, id) 之后的部分，排除 excluded 后跳过前 skip 条，用于补齐超出内存排行 top-k 的分页。
+    // excluded 只包含少量落在范围内的排行卡片，不能为空
+    @Query(value = "SELECT c.* FROM cards c WHERE c.status = 'ACTIVE' AND " +
+                   "(c.view_count < :viewCount OR (c.view_count = :viewCount AND c.id < :id)) AND c.id NOT IN (:excluded) " +
+                   "ORDER BY c.view_count DESC, c.id DESC LIMIT :limit OFFSET :skip", nativeQuery = true)
+    List<Card> findPopularAfter(@Param("viewCount") Integer viewCount, @Param("id") Long id,
+                                @Param("excluded") Collection<Long> excluded,
+                                @Param("skip") long skip, @Param("limit") int limit);
+    
+    // 热门卡片按查看次数倒序，游标之后
+    @Query("SELECT c FROM Card c WHERE c.status = 'ACTIVE' AND " +
+           "(c.viewCount < :viewCount OR (c.viewCount = :viewCount AND c.id < :id)) " +
+           "ORDER BY c.viewCount DESC, c.id DESC")
+    List<Card> findAfterPopular(@Param("viewCount") Integer viewCount, @Param("id") Long id, Limit limit);
+    
+    // 批量操作前按状态、分类和优先级分组计数，用于淘汰缓存和调整统计
+    @Query("SELECT c.status, c.category, c.priority, COUNT(c) FROM Card c WHERE c.id IN :ids " +
+           "GROUP BY c.status, c.category, c.priority")
+    List<Object[]> countGroupsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // 批量更新状态，一条UPDATE语句完成
+    @Modifying
+    @Query("UPDATE Card c SET c.status = :status, c.updatedAt = :now, c.version = c.version + 1 " +
+           "WHERE c.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") Card.CardStatus status,
+                           @Param("now") LocalDateTime now);
+    
+    // 批量软删除，一条UPDATE语句完成
+    @Modifying
+    @Query("UPDATE Card c SET c.status = 'DELETED', c.deletedAt = :now, c.updatedAt = :now, " +
+           "c.version = c.version + 1 WHERE c.id IN :ids")
+    int softDeleteByIdIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+    
+    // 写入全文检索的分词结果（仅PostgreSQL）。search_tokens 不映射到实体，普通查询和更新不读写该列；
+    // 执行前先flush，新建的卡片已经插入
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE cards SET search_tokens = :tokens WHERE id = :id", nativeQuery = true)
+    int updateSearchTokens(@Param("id") Long id, @Param("tokens") String tokens);
+    
+    // 软删除时间早于指定时间的卡片ID，按删除时间从早到晚，供归档任务分批处理
+    @Query("SELECT c.id FROM Card c WHERE c.status = 'DELETED' AND c.deletedAt < :before ORDER BY c.deletedAt")
+    List<Long> findDeletedIdsBefore(@Param("before") LocalDateTime before, Limit limit);
+    
+    // 锁定仍处于软删除状态的卡片，归档期间不会被并发恢复
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Card c WHERE c.id IN :ids AND c.status = 'DELETED'")
+    List<Card> lockDeletedByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // ===== 摘要查询：只读取列表展示需要的列 =====
+    
+    // 所有卡片的摘要
+    @Query(SELECT_SUMMARY)
+    List<CardSummaryDTO> findAllSummaries();
+    
+    // 分页获取摘要，排序由 Pageable 指定
+    @Query(value = SELECT_SUMMARY, countQuery = "SELECT COUNT(c) FROM Card c")
+    Page<CardSummaryDTO> findSummaries(Pageable pageable);
+    
+    // 根据分类查找摘要
+    @Query(SELECT_SUMMARY + "WHERE LOWER(c.category) = LOWER(:category)")
+    List<CardSummaryDTO> findSummariesByCategory(@Param("category") String category);
+    
+    // 根据优先级查找摘要
+    @Query(SELECT_SUMMARY + "WHERE c.priority >= :priority ORDER BY c.priority DESC")
+    List<CardSummaryDTO> findSummariesByPriority(@Param("priority") Integer priority);
+    
+    // 查找收藏卡片的摘要
+    @Query(SELECT_SUMMARY + "WHERE c.isFavorite = true AND c.status = 'ACTIVE'")
+    List<CardSummaryDTO> findFavoriteSummaries();
+    
+    // 查找公开卡片的摘要
+    @Query(SELECT_SUMMARY + "WHERE c.isPublic = true AND c.status = 'ACTIVE'")
+    List<CardSummaryDTO> findPublicSummaries();
+    
+    // 所有卡片按创建时间倒序，第一页
+    @Query(SELECT_SUMMARY + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CardSummaryDTO> findFirstSummariesByCreatedAt(Limit limit);
+    
+    // 所有卡片按创建时间倒序，游标之后
+    @Query(SELECT_SUMMARY + "WHERE c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CardSummaryDTO> findSummariesAfterByCreatedAt(@Param("createdAt") LocalDateTime createdAt,
+                                                       @Param("id") Long id, Limit limit);
+    
+    // 指定状态分页获取摘要，按创建时间倒序
+    @Query(value = SELECT_SUMMARY + "WHERE c.status = :status ORDER BY c.createdAt DESC",
+           countQuery = "SELECT COUNT(c) FROM Card c WHERE c.status = :status")
+    Page<CardSummaryDTO> findSummariesByStatus(@Param("status") Card.CardStatus status, Pageable pageable);
+    
+    // 指定状态按创建时间倒序，第一页
+    @Query(SELECT_SUMMARY + "WHERE c.status = :status ORDER BY c.createdAt DESC, c.id DESC")
+    List<CardSummaryDTO> findFirstSummariesByStatus(@Param("status") Card.CardStatus status, Limit limit);
+    
+    // 指定状态按创建时间倒序，游标之后
+    @Query(SELECT_SUMMARY + "WHERE c.status = :status AND " +
+           "(c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CardSummaryDTO> findSummariesAfterByStatus(@Param("status") Card.CardStatus status,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") Long id, Limit limit);
+    
+    // 热门卡片按查看次数倒序，第一页
+    @Query(SELECT_SUMMARY + "WHERE c.status = 'ACTIVE' ORDER BY c.viewCount DESC, c.id DESC")
+    List<CardSummaryDTO> findFirstPopularSummaries(Limit limit);
+    
+    // 热门卡片按查看次数倒序，游标之后
+    @Query(SELECT_SUMMARY + "WHERE c.status = 'ACTIVE' AND " +
+           "(c.viewCount < :viewCount OR (c.viewCount = :viewCount AND c.id < :id)) " +
+           "ORDER BY c.viewCount DESC, c.id DESC")
+    List<CardSummaryDTO> findPopularSummariesAfter(@Param("viewCount") Integer viewCount, @Param("id") Long id,
+                                                   Limit limit);
+    
+    // ===== 列表校验值：条件与对应的列表查询一致 =====
+    
+    // 所有卡片
+    @Query(SELECT_VALIDATOR)
+    ListValidator validateAll();
+    
+    // 指定状态的卡片，热门卡片使用 ACTIVE
+    @Query(SELECT_VALIDATOR + "WHERE c.status = :status")
+    ListValidator validateByStatus(@Param("status") Card.CardStatus status);
+    
+    // 指定分类的卡片
+    @Query(SELECT_VALIDATOR + "WHERE LOWER(c.category) = LOWER(:category)")
+    ListValidator validateByCategory(@Param("category") String category);
+    
+    // 优先级不低于指定值的卡片
+    @Query(SELECT_VALIDATOR + "WHERE c.priority >= :priority")
+    ListValidator validateByPriority(@Param("priority") Integer priority);
+    
+    // 收藏的卡片
+    @Query(SELECT_VALIDATOR + "WHERE c.isFavorite = true AND c.status = 'ACTIVE'")
+    ListValidator validateFavorites();
+    
+    // 公开的卡片
+    @Query(SELECT_VALIDATOR + "WHERE c.isPublic = true AND c.status = 'ACTIVE'")
+    ListValidator validatePublic();
 }
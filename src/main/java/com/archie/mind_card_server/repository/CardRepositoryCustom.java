@@ -0,0 +1,22 @@
+package com.archie.mind_card_server.repository;
+
+import com.archie.mind_card_server.entity.Card;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * CardRepository 中无法用JPQL表达的原子更新
+ */
+public interface CardRepositoryCustom {
+    
+    /**
+     * 用一条UPDATE语句切换收藏状态并返回更新后的卡片，卡片不存在时返回空
+     */
+    Optional<Card> toggleFavorite(Long id, LocalDateTime now);
+    
+    /**
+     * 用一条UPDATE语句切换公开状态并返回更新后的卡片，卡片不存在时返回空
+     */
+    Optional<Card> togglePublic(Long id, LocalDateTime now);
+}
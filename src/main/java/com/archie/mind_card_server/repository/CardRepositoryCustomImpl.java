@@ -0,0 +1,69 @@
+package com.archie.mind_card_server.repository;
+
+import com.archie.mind_card_server.entity.Card;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 原子切换布尔字段：取反、更新时间和版本号在同一条UPDATE中完成，
+ * 并发切换在行锁上排队，不会互相覆盖，也不需要先查询一次。
+ * <p>
+ * PostgreSQL 使用 UPDATE ... RETURNING，H2 使用 SELECT ... FROM FINAL TABLE (UPDATE ...)，
+ * 其他数据库在同一事务中先UPDATE再按ID查询。
+ */
+public class CardRepositoryCustomImpl implements CardRepositoryCustom {
+    
+    private static final String COLUMNS = "id, title, content, category, tags, priority, status, color, is_favorite, "
+            + "is_public, view_count, created_by, updated_by, created_at, updated_at, deleted_at, version";
+    
+    private static final RowMapper<Card> CARD_MAPPER = BeanPropertyRowMapper.newInstance(Card.class);
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    private volatile String databaseProduct;
+    
+    public CardRepositoryCustomImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+    
+    @Override
+    public Optional<Card> toggleFavorite(Long id, LocalDateTime now) {
+        return toggle("is_favorite", id, now);
+    }
+    
+    @Override
+    public Optional<Card> togglePublic(Long id, LocalDateTime now) {
+        return toggle("is_public", id, now);
+    }
+    
+    private Optional<Card> toggle(String column, Long id, LocalDateTime now) {
+        String update = "UPDATE cards SET " + column + " = NOT COALESCE(" + column + ", FALSE), "
+                + "updated_at = ?, version = version + 1 WHERE id = ?";
+        Timestamp updatedAt = Timestamp.valueOf(now);
+        
+        List<Card> cards = switch (databaseProduct()) {
+            case "PostgreSQL" -> jdbcTemplate.query(update + " RETURNING " + COLUMNS, CARD_MAPPER, updatedAt, id);
+            case "H2" -> jdbcTemplate.query("SELECT " + COLUMNS + " FROM FINAL TABLE (" + update + ")",
+                    CARD_MAPPER, updatedAt, id);
+            default -> jdbcTemplate.update(update, updatedAt, id) == 0 ? List.of()
+                    : jdbcTemplate.query("SELECT " + COLUMNS + " FROM cards WHERE id = ?", CARD_MAPPER, id);
+        };
+        return cards.stream().findFirst();
+    }
+    
+    private String databaseProduct() {
+        if (databaseProduct == null) {
+            databaseProduct = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+        }
+        return databaseProduct;
+    }
+}
@@ -0,0 +1,47 @@
+package com.archie.mind_card_server.repository;
+
+import com.archie.mind_card_server.dto.TagCountDTO;
+import com.archie.mind_card_server.entity.CardTag;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CardTagRepository extends JpaRepository<CardTag, CardTag.Key> {
+    
+    // 查询卡片的所有标签
+    @Query("SELECT t.tag FROM CardTag t WHERE t.cardId = :cardId")
+    List<String> findTagsByCardId(@Param("cardId") Long cardId);
+    
+    // 新增标签，直接插入而不先查询是否存在
+    @Modifying
+    @Query(value = "INSERT INTO card_tags (card_id, tag) VALUES (:cardId, :tag)", nativeQuery = true)
+    void insert(@Param("cardId") Long cardId, @Param("tag") String tag);
+    
+    // 删除卡片的指定标签
+    @Modifying
+    @Query("DELETE FROM CardTag t WHERE t.cardId = :cardId AND t.tag IN :tags")
+    int deleteByCardIdAndTagIn(@Param("cardId") Long cardId, @Param("tags") Collection<String> tags);
+    
+    // 删除卡片的所有标签
+    @Modifying
+    @Query("DELETE FROM CardTag t WHERE t.cardId = :cardId")
+    int deleteByCardId(@Param("cardId") Long cardId);
+    
+    // 批量删除多张卡片的标签
+    @Modifying
+    @Query("DELETE FROM CardTag t WHERE t.cardId IN :cardIds")
+    int deleteByCardIdIn(@Param("cardIds") Collection<Long> cardIds);
+    
+    // 统计每个标签下激活的卡片数量
+    @Query("SELECT new com.archie.mind_card_server.dto.TagCountDTO(t.tag, COUNT(t)) FROM CardTag t " +
+           "WHERE t.cardId IN (SELECT c.id FROM Card c WHERE c.status = 'ACTIVE') " +
+           "GROUP BY t.tag ORDER BY COUNT(t) DESC, t.tag")
+    List<TagCountDTO> countCardsByTag(Pageable pageable);
+}
@@ -0,0 +1,38 @@
+package com.archie.mind_card_server.search;
+
+import com.archie.mind_card_server.entity.Card;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 卡片关键词搜索引擎，只返回 ACTIVE 状态的卡片。
+ * 具体实现由 app.search.engine 配置选择。
+ */
+public interface CardSearchEngine {
+    
+    /**
+     * 关键词搜索
+     */
+    List<Card> search(String keyword);
+    
+    /**
+     * 分页关键词搜索
+     */
+    Page<Card> search(String keyword, Pageable pageable);
+    
+    /**
+     * 游标搜索，按创建时间和ID倒序。createdAt/id 为上一页最后一条，第一页传 null
+     */
+    List<Card> searchAfter(String keyword, LocalDateTime createdAt, Long id, int limit);
+    
+    /**
+     * 需要保存到 cards.search_tokens 的分词结果，卡片标题、内容或标签写入时调用。
+     * 不在数据库中分词的实现返回 null，不写入该列
+     */
+    default String indexText(String title, String content, String tags) {
+        return null;
+    }
+}
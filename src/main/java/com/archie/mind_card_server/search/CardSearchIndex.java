@@ -0,0 +1,318 @@
+package com.archie.mind_card_server.search;
+
+import com.archie.mind_card_server.config.ReplicaRoutingDataSource;
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.event.CardChangedEvent;
+import com.archie.mind_card_server.event.CardsStatusChangedEvent;
+import com.archie.mind_card_server.repository.CardRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 进程内倒排索引
+ * <p>
+ * 为 ACTIVE 卡片的标题、内容和标签建立索引，分词规则与 {@link SearchTokenizer} 一致。
+ * 启动时流式读取 CardRepository 构建，之后根据 {@link CardChangedEvent} 增量更新。
+ * 搜索在内存中完成，再按ID一次查询加载当前页的卡片。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "index")
+public class CardSearchIndex implements CardSearchEngine {
+
+    // 批量重建索引时每次按ID加载的卡片数
+    private static final int HYDRATE_CHUNK_SIZE = 1000;
+
+    private final CardRepository cardRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 词 -> 倒排表
+    private final Map<String, LongPostingList> postings = new HashMap<>();
+
+    // 卡片ID -> 已索引的文档
+    private final Map<Long, IndexedCard> cards = new HashMap<>();
+
+    // 构建索引期间发生过变更的卡片，构建时跳过以免覆盖较新的状态
+    private final Set<Long> changedDuringBuild = new HashSet<>();
+
+    private boolean building;
+
+    public CardSearchIndex(CardRepository cardRepository,
+                           EntityManager entityManager,
+                           PlatformTransactionManager transactionManager) {
+        this.cardRepository = cardRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 启动后流式读取所有激活的卡片构建索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        log.info("开始构建卡片搜索索引");
+        long start = System.currentTimeMillis();
+
+        write(() -> building = true);
+        try {
+            // 构建之后只靠事件增量更新，必须从主库读取
+            ReplicaRoutingDataSource.onPrimary(() -> readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Card> stream = cardRepository.streamActiveCards()) {
+                    stream.forEach(card -> {
+                        write(() -> {
+                            if (!changedDuringBuild.contains(card.getId())) {
+                                index(card.getId(), card.getTitle(), card.getContent(), card.getTags(), card.getCreatedAt());
+                            }
+                        });
+                        // 不在持久化上下文中保留已读取的实体
+                        entityManager.detach(card);
+                    });
+                }
+            }));
+        } finally {
+            write(() -> {
+                building = false;
+                changedDuringBuild.clear();
+            });
+        }
+
+        log.info("卡片搜索索引构建完成: {} 张卡片, {} 个词, 耗时 {} ms",
+                size(), termCount(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCardChanged(CardChangedEvent event) {
+        CardDTO after = event.after();
+        write(() -> {
+            if (building) {
+                changedDuringBuild.add(event.cardId());
+            }
+            if (after != null && after.getStatus() == Card.CardStatus.ACTIVE) {
+                index(after.getId(), after.getTitle(), after.getContent(), after.getTags(), after.getCreatedAt());
+            } else {
+                remove(event.cardId());
+            }
+        });
+    }
+
+    /**
+     * 批量状态变更：变为 ACTIVE 的卡片重新加载并索引，其余从索引中移除
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCardsStatusChanged(CardsStatusChangedEvent event) {
+        List<Card> activated = new ArrayList<>();
+        if (event.status() == Card.CardStatus.ACTIVE) {
+            List<Long> ids = new ArrayList<>(event.cardIds());
+            for (int from = 0; from < ids.size(); from += HYDRATE_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + HYDRATE_CHUNK_SIZE, ids.size()));
+                activated.addAll(ReplicaRoutingDataSource.onPrimary(() -> cardRepository.findAllById(chunk)));
+            }
+        }
+        write(() -> {
+            if (building) {
+                changedDuringBuild.addAll(event.cardIds());
+            }
+            event.cardIds().forEach(this::remove);
+            for (Card card : activated) {
+                index(card.getId(), card.getTitle(), card.getContent(), card.getTags(), card.getCreatedAt());
+            }
+        });
+    }
+    
+    @Override
+    public List<Card> search(String keyword) {
+        long[] ids = match(keyword).ids();
+        return hydrate(Arrays.stream(ids).boxed().collect(Collectors.toList()));
+    }
+
+    @Override
+    public Page<Card> search(String keyword, Pageable pageable) {
+        long[] ids = match(keyword).ids();
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(hydrate(Arrays.stream(ids).boxed().collect(Collectors.toList())));
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), ids.length);
+        int to = Math.min(from + pageable.getPageSize(), ids.length);
+        List<Long> pageIds = Arrays.stream(ids, from, to).boxed().collect(Collectors.toList());
+        return new PageImpl<>(hydrate(pageIds), pageable, ids.length);
+    }
+
+    @Override
+    public List<Card> searchAfter(String keyword, LocalDateTime createdAt, Long id, int limit) {
+        Matches matches = match(keyword);
+        long[] ids = matches.ids();
+        int from = id != null ? matches.after(toEpochMilli(createdAt), id) : 0;
+        int to = Math.min(from + limit, ids.length);
+        return hydrate(Arrays.stream(ids, from, to).boxed().collect(Collectors.toList()));
+    }
+    
+    /**
+     * 已索引的卡片数
+     */
+    public int size() {
+        return read(cards::size);
+    }
+
+    /**
+     * 索引中的词数
+     */
+    public int termCount() {
+        return read(postings::size);
+    }
+
+    /**
+     * 返回同时包含所有查询词的卡片ID，按创建时间倒序，创建时间相同时按ID倒序
+     */
+    private Matches match(String keyword) {
+        List<String> tokens = SearchTokenizer.queryTokens(keyword);
+        if (tokens.isEmpty()) {
+            return Matches.EMPTY;
+        }
+
+        return read(() -> {
+            List<LongPostingList> lists = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                LongPostingList list = postings.get(token);
+                if (list == null) {
+                    return Matches.EMPTY;
+                }
+                lists.add(list);
+            }
+
+            // 从最短的倒排表开始求交集，倒排表已按结果顺序排列，交集不需要再排序；
+            // 创建时间与ID一起取出，之后的游标定位不再访问索引
+            lists.sort(Comparator.comparingInt(LongPostingList::size));
+            Matches result = lists.get(0).toMatches();
+            for (int i = 1; i < lists.size() && result.ids().length > 0; i++) {
+                result = lists.get(i).intersect(result);
+            }
+            return result;
+        });
+    }
+
+    // 按ID一次查询加载卡片，并保持索引给出的顺序
+    private List<Card> hydrate(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Card> loaded = cardRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Card::getId, Function.identity()));
+        return ids.stream()
+                .map(loaded::get)
+                .filter(card -> card != null && card.getStatus() == Card.CardStatus.ACTIVE)
+                .collect(Collectors.toList());
+    }
+
+    // 调用方持有写锁
+    private void index(Long id, String title, String content, String tags, LocalDateTime createdAt) {
+        remove(id);
+
+        String[] terms = SearchTokenizer.indexTokens(title, content, tags).toArray(new String[0]);
+        long created = toEpochMilli(createdAt);
+        cards.put(id, new IndexedCard(terms, created));
+        for (String term : terms) {
+            postings.computeIfAbsent(term, key -> new LongPostingList()).add(created, id);
+        }
+    }
+
+    // 调用方持有写锁
+    private void remove(Long id) {
+        IndexedCard existing = cards.remove(id);
+        if (existing == null) {
+            return;
+        }
+        for (String term : existing.terms()) {
+            LongPostingList list = postings.get(term);
+            if (list != null) {
+                list.remove(existing.createdAt(), id);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+    }
+    
+    private <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private record IndexedCard(String[] terms, long createdAt) {
+    }
+
+    // 匹配结果，按创建时间倒序、ID倒序，createdAt[i] 为 ids[i] 的创建时间
+    record Matches(long[] ids, long[] createdAt) {
+
+        static final Matches EMPTY = new Matches(new long[0], new long[0]);
+
+        /**
+         * 二分查找第一条排在游标 (cursorCreated, cursorId) 之后的位置
+         */
+        int after(long cursorCreated, long cursorId) {
+            int low = 0;
+            int high = ids.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (LongPostingList.compare(createdAt[mid], ids[mid], cursorCreated, cursorId) > 0) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.archie.mind_card_server.search;
+
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.repository.CardRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 基于 LIKE '%keyword%' 的搜索，不依赖特定数据库，用于H2测试环境
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "like", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LikeSearchEngine implements CardSearchEngine {
+    
+    private final CardRepository cardRepository;
+    
+    @Override
+    public List<Card> search(String keyword) {
+        return cardRepository.searchByKeyword(keyword);
+    }
+    
+    @Override
+    public Page<Card> search(String keyword, Pageable pageable) {
+        return cardRepository.searchByKeyword(keyword, pageable);
+    }
+    
+    @Override
+    public List<Card> searchAfter(String keyword, LocalDateTime createdAt, Long id, int limit) {
+        return id == null
+                ? cardRepository.searchFirstByKeyword(keyword, Limit.of(limit))
+                : cardRepository.searchAfterByKeyword(keyword, createdAt, id, Limit.of(limit));
+    }
+}
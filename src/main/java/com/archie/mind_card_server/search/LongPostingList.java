@@ -0,0 +1,110 @@
+package com.archie.mind_card_server.search;
+
+import java.util.Arrays;
+
+/**
+ * 倒排表：按创建时间倒序、创建时间相同时按ID倒序排列的 (createdAt, id)，用两个 long 数组保存，避免装箱开销。
+ * 与搜索结果的顺序一致，求交集后不需要再排序。
+ * 非线程安全，由 {@link CardSearchIndex} 的读写锁保护。
+ */
+final class LongPostingList {
+
+    private long[] createdAt = new long[4];
+
+    private long[] ids = new long[4];
+
+    private int size;
+
+    void add(long created, long id) {
+        int pos = search(created, id);
+        if (pos >= 0) {
+            return;
+        }
+        pos = -pos - 1;
+        if (size == ids.length) {
+            createdAt = Arrays.copyOf(createdAt, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(createdAt, pos, createdAt, pos + 1, size - pos);
+        System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+        createdAt[pos] = created;
+        ids[pos] = id;
+        size++;
+    }
+
+    void remove(long created, long id) {
+        int pos = search(created, id);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(createdAt, pos + 1, createdAt, pos, size - pos - 1);
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    CardSearchIndex.Matches toMatches() {
+        return new CardSearchIndex.Matches(Arrays.copyOf(ids, size), Arrays.copyOf(createdAt, size));
+    }
+
+    /**
+     * 与同样顺序的匹配结果求交集，结果保持该顺序
+     */
+    CardSearchIndex.Matches intersect(CardSearchIndex.Matches other) {
+        long[] otherIds = other.ids();
+        long[] otherCreated = other.createdAt();
+        int capacity = Math.min(size, otherIds.length);
+        long[] resultIds = new long[capacity];
+        long[] resultCreated = new long[capacity];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < size && j < otherIds.length) {
+            int cmp = compare(createdAt[i], ids[i], otherCreated[j], otherIds[j]);
+            if (cmp < 0) {
+                i++;
+            } else if (cmp > 0) {
+                j++;
+            } else {
+                resultIds[n] = ids[i];
+                resultCreated[n++] = createdAt[i];
+                i++;
+                j++;
+            }
+        }
+        return new CardSearchIndex.Matches(Arrays.copyOf(resultIds, n), Arrays.copyOf(resultCreated, n));
+    }
+
+    /**
+     * 搜索结果中的先后顺序：a 排在 b 之前时返回负数
+     */
+    static int compare(long createdA, long idA, long createdB, long idB) {
+        int cmp = Long.compare(createdB, createdA);
+        return cmp != 0 ? cmp : Long.compare(idB, idA);
+    }
+
+    // 找到时返回下标，否则返回 -(插入位置) - 1，与 Arrays.binarySearch 一致
+    private int search(long created, long id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(createdAt[mid], ids[mid], created, id);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+}
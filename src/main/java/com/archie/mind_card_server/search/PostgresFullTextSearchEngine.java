@@ -0,0 +1,120 @@
+package com.archie.mind_card_server.search;
+
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.repository.CardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * PostgreSQL全文检索
+ * <p>
+ * 分词由 {@link SearchTokenizer} 在Java端完成，卡片保存时由 {@link #indexText} 生成后单独写入 cards.search_tokens，
+ * 数据库用 'simple' 配置生成 search_vector 列并建立GIN索引，结果按 ts_rank 排序。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "fulltext")
+@RequiredArgsConstructor
+public class PostgresFullTextSearchEngine implements CardSearchEngine {
+    
+    private final CardRepository cardRepository;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Value("${app.search.backfill-batch-size:1000}")
+    private int backfillBatchSize;
+    
+    @Override
+    public List<Card> search(String keyword) {
+        String query = toTsQuery(keyword);
+        if (query == null) {
+            return List.of();
+        }
+        return cardRepository.fullTextSearch(query, Pageable.unpaged()).getContent();
+    }
+    
+    @Override
+    public Page<Card> search(String keyword, Pageable pageable) {
+        String query = toTsQuery(keyword);
+        if (query == null) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+        // 结果按相关度排序，忽略调用方传入的排序字段
+        Pageable unsorted = pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+                : pageable;
+        return cardRepository.fullTextSearch(query, unsorted);
+    }
+    
+    @Override
+    public List<Card> searchAfter(String keyword, LocalDateTime createdAt, Long id, int limit) {
+        String query = toTsQuery(keyword);
+        if (query == null) {
+            return List.of();
+        }
+        // 游标分页需要稳定的排序键，按创建时间而不是相关度排序
+        return id == null
+                ? cardRepository.fullTextSearchFirst(query, limit)
+                : cardRepository.fullTextSearchAfter(query, createdAt, id, limit);
+    }
+    
+    @Override
+    public String indexText(String title, String content, String tags) {
+        return SearchTokenizer.toIndexText(title, content, tags);
+    }
+    
+    /**
+     * 把关键词转换为 to_tsquery 表达式：所有词需同时命中，英文词按前缀匹配。
+     * 分词结果只包含字母、数字和中日韩文字，不需要再转义。
+     */
+    public static String toTsQuery(String keyword) {
+        List<String> tokens = SearchTokenizer.queryTokens(keyword);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        return tokens.stream()
+                .map(token -> SearchTokenizer.isCjk(token.codePointAt(0)) ? token : token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+    
+    /**
+     * 启动后为历史数据生成分词，search_vector 列和GIN索引由迁移脚本创建。
+     * 其他引擎不维护 search_tokens，从其他引擎切换回来时需先把该列置为 NULL，由这里重新生成
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillTokens() {
+        int total = 0;
+        List<Map<String, Object>> rows;
+        do {
+            rows = jdbcTemplate.queryForList(
+                    "SELECT id, title, content, tags FROM cards WHERE search_tokens IS NULL ORDER BY id LIMIT ?",
+                    backfillBatchSize);
+            List<Object[]> updates = rows.stream()
+                    .map(row -> new Object[]{
+                            SearchTokenizer.toIndexText((String) row.get("title"), (String) row.get("content"), (String) row.get("tags")),
+                            row.get("id")})
+                    .collect(Collectors.toList());
+            jdbcTemplate.batchUpdate("UPDATE cards SET search_tokens = ? WHERE id = ?", updates);
+            total += updates.size();
+        } while (rows.size() == backfillBatchSize);
+        
+        if (total > 0) {
+            log.info("历史卡片分词完成: {} 条", total);
+        }
+    }
+}
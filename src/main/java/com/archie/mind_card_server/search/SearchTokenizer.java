@@ -0,0 +1,101 @@
+package com.archie.mind_card_server.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 卡片搜索分词器
+ * <p>
+ * 英文和数字按连续的字母数字切分并转小写；中日韩文字没有空格分隔，
+ * 建索引时输出单字和相邻二元组（bigram），查询时两个字以上的片段只用二元组，
+ * 单字片段用单字。索引端和查询端共用同一套规则，数据库全文检索和内存索引的结果一致。
+ */
+public final class SearchTokenizer {
+    
+    private SearchTokenizer() {
+    }
+    
+    /**
+     * 文档分词结果，去重并保持出现顺序
+     */
+    public static Set<String> indexTokens(String... texts) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text != null) {
+                tokenize(text, true, tokens);
+            }
+        }
+        return tokens;
+    }
+    
+    /**
+     * 文档分词结果，以空格拼接后保存到 cards.search_tokens
+     */
+    public static String toIndexText(String... texts) {
+        return String.join(" ", indexTokens(texts));
+    }
+    
+    /**
+     * 查询分词结果，所有词需同时命中
+     */
+    public static List<String> queryTokens(String query) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (query != null) {
+            tokenize(query, false, tokens);
+        }
+        return new ArrayList<>(tokens);
+    }
+    
+    /**
+     * 是否为中日韩文字
+     */
+    public static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+    
+    private static void tokenize(String text, boolean forIndex, Set<String> tokens) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = text.codePointAt(i);
+            if (isCjk(codePoint)) {
+                int start = i;
+                while (i < length && isCjk(text.codePointAt(i))) {
+                    i += Character.charCount(text.codePointAt(i));
+                }
+                addCjkTokens(text.substring(start, i), forIndex, tokens);
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                int start = i;
+                while (i < length) {
+                    int cp = text.codePointAt(i);
+                    if (!Character.isLetterOrDigit(cp) || isCjk(cp)) {
+                        break;
+                    }
+                    i += Character.charCount(cp);
+                }
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+            } else {
+                i += Character.charCount(codePoint);
+            }
+        }
+    }
+    
+    private static void addCjkTokens(String run, boolean forIndex, Set<String> tokens) {
+        int[] codePoints = run.codePoints().toArray();
+        if (forIndex || codePoints.length == 1) {
+            for (int codePoint : codePoints) {
+                tokens.add(new String(Character.toChars(codePoint)));
+            }
+        }
+        for (int i = 0; i + 1 < codePoints.length; i++) {
+            tokens.add(new String(codePoints, i, 2));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.archie.mind_card_server.service;
+
+import com.archie.mind_card_server.entity.Card;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface CardExportService {
+    
+    /**
+     * 导出格式
+     */
+    enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv;charset=UTF-8", "csv");
+        
+        private final String contentType;
+        
+        private final String extension;
+        
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+        
+        public String getContentType() {
+            return contentType;
+        }
+        
+        public String getExtension() {
+            return extension;
+        }
+    }
+    
+    /**
+     * 流式导出卡片，status 为 null 时导出全部卡片，返回导出的行数
+     */
+    long exportCards(Format format, Card.CardStatus status, OutputStream out) throws IOException;
+}
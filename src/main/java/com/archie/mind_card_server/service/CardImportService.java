@@ -0,0 +1,15 @@
+package com.archie.mind_card_server.service;
+
+import com.archie.mind_card_server.dto.ImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface CardImportService {
+    
+    /**
+     * 流式导入卡片，格式与导出一致。按批校验和写入，单行错误不影响其他行。
+     * 输入中的 id 字段被忽略，ID由序列分配。
+     */
+    ImportResult importCards(CardExportService.Format format, InputStream in) throws IOException;
+}
@@ -0,0 +1,14 @@
+package com.archie.mind_card_server.service;
+
+public interface CardLifecycleService {
+
+    /**
+     * 把软删除超过 archive-after-days 天的卡片分批移到归档表，返回归档的卡片数
+     */
+    int archiveDeletedCards();
+
+    /**
+     * 分批物理删除归档超过 purge-after-days 天的卡片，返回删除的卡片数
+     */
+    int purgeArchivedCards();
+}
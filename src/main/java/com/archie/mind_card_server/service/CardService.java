@@ -1,12 +1,17 @@
 package com.archie.mind_card_server.service;
 
+import com.archie.mind_card_server.dto.BatchUpdateResult;
 import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.dto.CardSummaryDTO;
+import com.archie.mind_card_server.dto.CursorPage;
+import com.archie.mind_card_server.dto.ListValidator;
+import com.archie.mind_card_server.dto.TagCountDTO;
 import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.ranking.PopularityWindow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
-import java.util.Map;
 
 public interface CardService {
     
@@ -45,11 +50,21 @@ public interface CardService {
      */
     Page<CardDTO> getCards(Pageable pageable);
     
+    /**
+     * 游标分页获取卡片，按创建时间倒序
+     */
+    CursorPage<CardDTO> getCards(String cursor, int size);
+    
     /**
      * 根据状态分页获取卡片
      */
     Page<CardDTO> getCardsByStatus(Card.CardStatus status, Pageable pageable);
     
+    /**
+     * 根据状态游标分页获取卡片，按创建时间倒序
+     */
+    CursorPage<CardDTO> getCardsByStatus(Card.CardStatus status, String cursor, int size);
+    
     /**
      * 根据标题搜索卡片
      */
@@ -71,10 +86,30 @@ public interface CardService {
     Page<CardDTO> searchByKeyword(String keyword, Pageable pageable);
     
     /**
-     * 根据标签搜索卡片
+     * 游标分页搜索卡片，按创建时间倒序
+     */
+    CursorPage<CardDTO> searchByKeyword(String keyword, String cursor, int size);
+    
+    /**
+     * 根据标签搜索卡片（精确匹配，忽略大小写）
      */
     List<CardDTO> searchByTag(String tag);
     
+    /**
+     * 根据标签前缀搜索卡片
+     */
+    List<CardDTO> searchByTagPrefix(String prefix);
+    
+    /**
+     * 根据多个标签搜索卡片，matchAll 为 true 时需包含全部标签，否则包含任一标签
+     */
+    List<CardDTO> searchByTags(List<String> tags, boolean matchAll);
+    
+    /**
+     * 获取标签及其卡片数量，按数量倒序
+     */
+    List<TagCountDTO> getTagCardinality(int limit);
+    
     /**
      * 根据优先级获取卡片
      */
@@ -90,6 +125,11 @@ public interface CardService {
      */
     List<CardDTO> getPublicCards();
     
+    /**
+     * 游标分页获取公开的卡片，按创建时间倒序
+     */
+    CursorPage<CardDTO> getPublicCards(String cursor, int size);
+    
     /**
      * 切换收藏状态
      */
@@ -106,27 +146,121 @@ public interface CardService {
     CardDTO updateStatus(Long id, Card.CardStatus status);
     
     /**
-     * 增加查看次数
+     * 增加查看次数并返回卡片（查看次数异步批量写入数据库）
      */
     CardDTO incrementViewCount(Long id);
     
     /**
-     * 批量删除卡片
+     * 批量删除卡片，返回每个批次更新的行数
+     */
+    BatchUpdateResult batchDeleteCards(List<Long> ids);
+    
+    /**
+     * 批量更新状态，返回每个批次更新的行数
+     */
+    BatchUpdateResult batchUpdateStatus(List<Long> ids, Card.CardStatus status);
+    
+    /**
+     * 游标分页获取热门卡片，按查看次数倒序
+     */
+    CursorPage<CardDTO> getPopularCards(String cursor, int size);
+    
+    /**
+     * 按时间窗口获取热门卡片，从内存排行读取；all 超出排行范围的页按查看次数查询数据库
+     */
+    Page<CardDTO> getPopularCards(PopularityWindow window, Pageable pageable);
+    
+    /**
+     * 热门排行的版本号，排行或其中的卡片变化时增加
+     */
+    long getPopularRankingVersion();
+    
+    // ===== 摘要列表：不包含 content，正文通过 getCardById 获取 =====
+    
+    /**
+     * 获取所有卡片的摘要
+     */
+    List<CardSummaryDTO> getAllCardSummaries();
+    
+    /**
+     * 分页获取卡片摘要
+     */
+    Page<CardSummaryDTO> getCardSummaries(Pageable pageable);
+    
+    /**
+     * 游标分页获取卡片摘要，按创建时间倒序
+     */
+    CursorPage<CardSummaryDTO> getCardSummaries(String cursor, int size);
+    
+    /**
+     * 根据状态分页获取卡片摘要，按创建时间倒序
+     */
+    Page<CardSummaryDTO> getCardSummariesByStatus(Card.CardStatus status, Pageable pageable);
+    
+    /**
+     * 根据状态游标分页获取卡片摘要，按创建时间倒序
+     */
+    CursorPage<CardSummaryDTO> getCardSummariesByStatus(Card.CardStatus status, String cursor, int size);
+    
+    /**
+     * 根据分类获取卡片摘要
+     */
+    List<CardSummaryDTO> getCardSummariesByCategory(String category);
+    
+    /**
+     * 根据优先级获取卡片摘要
+     */
+    List<CardSummaryDTO> getCardSummariesByPriority(Integer priority);
+    
+    /**
+     * 获取收藏卡片的摘要
+     */
+    List<CardSummaryDTO> getFavoriteCardSummaries();
+    
+    /**
+     * 获取公开卡片的摘要
+     */
+    List<CardSummaryDTO> getPublicCardSummaries();
+    
+    /**
+     * 按时间窗口分页获取热门卡片摘要，顺序与 {@link #getPopularCards(PopularityWindow, Pageable)} 一致
+     */
+    Page<CardSummaryDTO> getPopularCardSummaries(PopularityWindow window, Pageable pageable);
+    
+    /**
+     * 游标分页获取热门卡片摘要，按查看次数倒序
+     */
+    CursorPage<CardSummaryDTO> getPopularCardSummaries(String cursor, int size);
+    
+    // ===== 列表校验值：用于条件GET，不加载卡片 =====
+    
+    /**
+     * 所有卡片列表的校验值
+     */
+    ListValidator getCardsValidator();
+    
+    /**
+     * 指定状态卡片列表的校验值
+     */
+    ListValidator getCardsByStatusValidator(Card.CardStatus status);
+    
+    /**
+     * 分类卡片列表的校验值
      */
-    void batchDeleteCards(List<Long> ids);
+    ListValidator getCardsByCategoryValidator(String category);
     
     /**
-     * 批量更新状态
+     * 优先级卡片列表的校验值
      */
-    void batchUpdateStatus(List<Long> ids, Card.CardStatus status);
+    ListValidator getCardsByPriorityValidator(Integer priority);
     
     /**
-     * 获取统计信息
+     * 收藏卡片列表的校验值
      */
-    Map<String, Object> getStatistics();
+    ListValidator getFavoriteCardsValidator();
     
     /**
-     * 获取热门卡片
+     * 公开卡片列表的校验值
      */
-    Page<CardDTO> getPopularCards(Pageable pageable);
+    ListValidator getPublicCardsValidator();
 }
@@ -0,0 +1,16 @@
+package com.archie.mind_card_server.service;
+
+import java.util.Map;
+
+public interface CardStatisticsService {
+    
+    /**
+     * 获取统计信息，默认直接返回内存中的计数；fresh 为 true 时先从数据库重新计算
+     */
+    Map<String, Object> getStatistics(boolean fresh);
+    
+    /**
+     * 从数据库重新计算统计信息，修正计数偏差
+     */
+    void reconcile();
+}
@@ -0,0 +1,30 @@
+package com.archie.mind_card_server.service;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import reactor.core.publisher.Flux;
+
+/**
+ * 卡片流式读取：按下游的请求量逐页查询，慢客户端不会占用请求线程和数据库连接
+ */
+public interface CardStreamService {
+    
+    /**
+     * 所有卡片，按创建时间倒序
+     */
+    Flux<CardDTO> streamCards();
+    
+    /**
+     * 搜索卡片，按创建时间倒序
+     */
+    Flux<CardDTO> streamSearch(String keyword);
+    
+    /**
+     * 公开的卡片，按创建时间倒序
+     */
+    Flux<CardDTO> streamPublicCards();
+    
+    /**
+     * 热门卡片，按查看次数倒序
+     */
+    Flux<CardDTO> streamPopularCards();
+}
@@ -0,0 +1,19 @@
+package com.archie.mind_card_server.service;
+
+public interface ViewCountService {
+    
+    /**
+     * 记录一次查看（只在内存中累加，由后台任务批量写入数据库）
+     */
+    void recordView(Long cardId);
+    
+    /**
+     * 获取尚未写入数据库的查看次数增量
+     */
+    long getPendingViews(Long cardId);
+    
+    /**
+     * 将内存中的查看次数增量批量写入数据库，返回写入的卡片数
+     */
+    int flush();
+}
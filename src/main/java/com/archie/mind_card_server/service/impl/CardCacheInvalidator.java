@@ -0,0 +1,133 @@
+package com.archie.mind_card_server.service.impl;
+
+import com.archie.mind_card_server.config.CacheConfig;
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.event.CardArchivedEvent;
+import com.archie.mind_card_server.event.CardChangedEvent;
+import com.archie.mind_card_server.event.CardsStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 卡片缓存失效：事务提交后根据变更前后的卡片只淘汰受影响的key
+ * <p>
+ * 每次淘汰都增加key所在分段的失效计数。从数据库加载缓存时先记下计数，
+ * 写入时计数已变化说明加载期间有写操作提交，读到的可能是旧数据，不写入缓存。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CardCacheInvalidator {
+
+    // 失效计数的分段数，不同key落在同一分段只会多放弃几次写入
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final CacheManager cacheManager;
+
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCardChanged(CardChangedEvent event) {
+        evictCard(event.cardId());
+        evictLists(event.before());
+        evictLists(event.after());
+    }
+
+    /**
+     * 归档：卡片离开 cards 表，淘汰卡片和仍包含它的分类列表
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCardArchived(CardArchivedEvent event) {
+        evictCard(event.card().getId());
+        evictLists(event.card());
+    }
+
+    /**
+     * 批量状态变更：淘汰涉及的卡片和分类，收藏和公开列表整体淘汰
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCardsStatusChanged(CardsStatusChangedEvent event) {
+        event.cardIds().forEach(this::evictCard);
+        event.categories().forEach(category -> evict(CacheConfig.CARDS_BY_CATEGORY, categoryKey(category)));
+        evict(CacheConfig.FAVORITE_CARDS, CacheConfig.ALL);
+        evict(CacheConfig.PUBLIC_CARDS, CacheConfig.ALL);
+    }
+    
+    /**
+     * 淘汰单张卡片
+     */
+    public void evictCard(Long id) {
+        evict(CacheConfig.CARD_BY_ID, id);
+    }
+
+    // 卡片出现在哪些列表中，就淘汰哪些列表
+    private void evictLists(CardDTO card) {
+        if (card == null) {
+            return;
+        }
+
+        if (card.getCategory() != null) {
+            evict(CacheConfig.CARDS_BY_CATEGORY, categoryKey(card.getCategory()));
+        }
+
+        if (card.getStatus() == Card.CardStatus.ACTIVE) {
+            if (Boolean.TRUE.equals(card.getIsFavorite())) {
+                evict(CacheConfig.FAVORITE_CARDS, CacheConfig.ALL);
+            }
+            if (Boolean.TRUE.equals(card.getIsPublic())) {
+                evict(CacheConfig.PUBLIC_CARDS, CacheConfig.ALL);
+            }
+        }
+    }
+
+    /**
+     * key 当前的失效计数，在查询数据库之前读取
+     */
+    public long generation(String cacheName, Object key) {
+        return generations.get(stripe(cacheName, key));
+    }
+
+    /**
+     * 写入加载结果，读取 generation 之后 key 被淘汰过时不写入。
+     * 先写入再检查：检查之后才增加的计数，对应的淘汰在写入之后执行；检查时已经增加的由这里淘汰
+     */
+    public void put(Cache cache, Object key, Object value, long generation) {
+        int stripe = stripe(cache.getName(), key);
+        if (generations.get(stripe) != generation) {
+            return;
+        }
+        cache.put(key, value);
+        if (generations.get(stripe) != generation) {
+            cache.evict(key);
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        generations.incrementAndGet(stripe(cacheName, key));
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private static int stripe(String cacheName, Object key) {
+        return Math.floorMod(Objects.hash(cacheName, key), GENERATION_STRIPES);
+    }
+
+    /**
+     * 分类缓存的key，与 findByCategoryIgnoreCase 的忽略大小写语义一致
+     */
+    public static String categoryKey(String category) {
+        return category.toLowerCase(Locale.ROOT);
+    }
+}
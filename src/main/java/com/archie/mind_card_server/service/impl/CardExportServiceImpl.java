@@ -0,0 +1,224 @@
+package com.archie.mind_card_server.service.impl;
+
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.service.CardExportService;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * 卡片流式导出
+ * <p>
+ * 在只读事务中用JDBC游标按 fetch-size 分批读取，每读一行直接写入输出流，
+ * 不创建实体也不占用持久化上下文，内存占用与导出行数无关。
+ */
+@Slf4j
+@Service
+public class CardExportServiceImpl implements CardExportService {
+
+    private static final String[] COLUMNS = {
+            "id", "title", "content", "category", "tags", "priority", "status", "color", "is_favorite",
+            "is_public", "view_count", "created_by", "updated_by", "created_at", "updated_at", "deleted_at"
+    };
+
+    private static final String[] FIELDS = {
+            "id", "title", "content", "category", "tags", "priority", "status", "color", "isFavorite",
+            "isPublic", "viewCount", "createdBy", "updatedBy", "createdAt", "updatedAt", "deletedAt"
+    };
+
+    private static final String SELECT_SQL = "SELECT " + String.join(", ", COLUMNS) + " FROM cards";
+
+    // 每写入多少行刷新一次输出流，让客户端尽早收到数据
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ObjectMapper objectMapper;
+
+    public CardExportServiceImpl(DataSource dataSource,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 @Value("${app.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        // PostgreSQL只有在关闭自动提交时才按 fetch-size 使用游标读取
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public long exportCards(Format format, Card.CardStatus status, OutputStream out) throws IOException {
+        log.info("导出卡片: 格式={}, 状态={}", format, status);
+        long start = System.currentTimeMillis();
+
+        RowWriter writer = format == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        long[] rows = new long[1];
+        try {
+            writer.begin();
+            readOnlyTransaction.executeWithoutResult(tx -> {
+                RowCallbackHandler handler = rs -> {
+                    try {
+                        writer.write(rs);
+                        if (++rows[0] % FLUSH_INTERVAL == 0) {
+                            writer.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                };
+                if (status == null) {
+                    jdbcTemplate.query(SELECT_SQL + " ORDER BY id", handler);
+                } else {
+                    jdbcTemplate.query(SELECT_SQL + " WHERE status = ? ORDER BY id", handler, status.name());
+                }
+            });
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        log.info("导出卡片完成: {} 行, 耗时 {} ms", rows[0], System.currentTimeMillis() - start);
+        return rows[0];
+    }
+
+    private interface RowWriter {
+
+        default void begin() throws IOException {
+        }
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void flush() throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * 每行一个JSON对象，字段名与 CardDTO 一致
+     */
+    private class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < COLUMNS.length; i++) {
+                Object value = readValue(rs, i);
+                generator.writeFieldName(FIELDS[i]);
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Number number) {
+                    generator.writeNumber(number.longValue());
+                } else if (value instanceof Boolean bool) {
+                    generator.writeBoolean(bool);
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    /**
+     * RFC 4180 格式，第一行为列名
+     */
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void begin() throws IOException {
+            writer.write(String.join(",", FIELDS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = readValue(rs, i);
+                if (value != null) {
+                    writeEscaped(value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeEscaped(String value) throws IOException {
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    // 时间字段按 LocalDateTime 读取，输出 ISO-8601 格式
+    private static Object readValue(ResultSet rs, int index) throws SQLException {
+        String column = COLUMNS[index];
+        if (column.endsWith("_at")) {
+            return rs.getObject(index + 1, LocalDateTime.class);
+        }
+        Object value = rs.getObject(index + 1);
+        return rs.wasNull() ? null : value;
+    }
+}
@@ -0,0 +1,43 @@
+package com.archie.mind_card_server.service.impl;
+
+import com.archie.mind_card_server.entity.Card;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 为绕过JPA直接写入的卡片分配ID
+ * <p>
+ * 使用 Card 实体自身的池化序列生成器，与 JPA 插入共享同一个序列和内存号段，不会产生重复ID。
+ */
+@Component
+public class CardIdAllocator {
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final IdentifierGenerator generator;
+
+    public CardIdAllocator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.generator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(Card.class)
+                .getGenerator();
+    }
+
+    /**
+     * 分配 count 个ID，号段用完时才访问数据库
+     */
+    public long[] allocate(int count) {
+        long[] ids = new long[count];
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            SharedSessionContractImplementor implementor = (SharedSessionContractImplementor) session;
+            for (int i = 0; i < count; i++) {
+                ids[i] = ((Number) generator.generate(implementor, null)).longValue();
+            }
+        }
+        return ids;
+    }
+}
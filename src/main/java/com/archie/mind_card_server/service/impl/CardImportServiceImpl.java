@@ -0,0 +1,488 @@
+package com.archie.mind_card_server.service.impl;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.dto.ImportResult;
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.entity.CardTag;
+import com.archie.mind_card_server.event.CardChangedEvent;
+import com.archie.mind_card_server.search.SearchTokenizer;
+import com.archie.mind_card_server.service.CardExportService;
+import com.archie.mind_card_server.service.CardImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 卡片批量导入
+ * <p>
+ * 按 batch-size 分批读取输入，每批先并行解析和校验，再在一个事务中写入：
+ * PostgreSQL 使用 COPY FROM STDIN，其他数据库使用JDBC批量INSERT。
+ * 批量写入失败时逐行重试，把数据库拒绝的行记为错误，其余行照常导入。
+ */
+@Slf4j
+@Service
+public class CardImportServiceImpl implements CardImportService {
+
+    private static final String[] COLUMNS = {
+            "id", "title", "content", "category", "tags", "priority", "status", "color", "is_favorite",
+            "is_public", "view_count", "created_by", "updated_by", "created_at", "updated_at", "deleted_at"
+    };
+
+    // 全文检索的分词结果，只有 app.search.engine=fulltext 时才写入
+    private static final String TOKENS_COLUMN = "search_tokens";
+
+    private static final String INSERT_TAG_SQL = "INSERT INTO card_tags (card_id, tag) VALUES (?, ?)";
+
+    private static final String COPY_TAG_SQL = "COPY card_tags (card_id, tag) FROM STDIN (FORMAT csv)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final CardIdAllocator idAllocator;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int batchSize;
+
+    private final boolean copyEnabled;
+
+    private final int maxReportedErrors;
+
+    private final boolean storeSearchTokens;
+
+    private final String insertCardSql;
+
+    private final String copyCardSql;
+
+    public CardImportServiceImpl(DataSource dataSource,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 CardIdAllocator idAllocator,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${app.import.batch-size:1000}") int batchSize,
+                                 @Value("${app.import.copy-enabled:true}") boolean copyEnabled,
+                                 @Value("${app.import.max-reported-errors:1000}") int maxReportedErrors,
+                                 @Value("${app.search.engine:like}") String searchEngine) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.idAllocator = idAllocator;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.copyEnabled = copyEnabled;
+        this.maxReportedErrors = maxReportedErrors;
+        this.storeSearchTokens = "fulltext".equals(searchEngine);
+
+        List<String> columns = new ArrayList<>(List.of(COLUMNS));
+        if (storeSearchTokens) {
+            columns.add(TOKENS_COLUMN);
+        }
+        this.insertCardSql = "INSERT INTO cards (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        this.copyCardSql = "COPY cards (" + String.join(", ", columns) + ") FROM STDIN (FORMAT csv)";
+    }
+
+    @Override
+    public ImportResult importCards(CardExportService.Format format, InputStream in) throws IOException {
+        boolean useCopy = copyEnabled && isPostgres();
+        RowWriter writer = useCopy ? this::copy : this::batchInsert;
+        log.info("导入卡片: 格式={}, 写入方式={}", format, useCopy ? "COPY" : "JDBC批量");
+        long start = System.currentTimeMillis();
+
+        ImportResult result = new ImportResult();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        RowReader rows = format == CardExportService.Format.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader);
+
+        List<RawRow> chunk = new ArrayList<>(batchSize);
+        RawRow row;
+        while ((row = rows.next()) != null) {
+            chunk.add(row);
+            if (chunk.size() == batchSize) {
+                importChunk(chunk, writer, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, writer, result);
+        }
+
+        result.setElapsedMs(System.currentTimeMillis() - start);
+        log.info("导入卡片完成: 共 {} 行, 成功 {} 行, 失败 {} 行, 耗时 {} ms",
+                result.getTotal(), result.getImported(), result.getFailed(), result.getElapsedMs());
+        return result;
+    }
+
+    private void importChunk(List<RawRow> chunk, RowWriter writer, ImportResult result) {
+        result.setTotal(result.getTotal() + chunk.size());
+
+        // 解析和校验互不依赖，并行执行
+        List<ParsedRow> parsed = chunk.parallelStream().map(this::parse).collect(Collectors.toList());
+        List<ParsedRow> valid = new ArrayList<>(parsed.size());
+        for (ParsedRow row : parsed) {
+            if (row.error() != null) {
+                addError(result, row.line(), row.error());
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        long[] ids = idAllocator.allocate(valid.size());
+        LocalDateTime now = LocalDateTime.now();
+        List<CardDTO> cards = new ArrayList<>(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            cards.add(prepare(valid.get(i).card(), ids[i], now));
+        }
+
+        try {
+            write(writer, cards);
+            result.setImported(result.getImported() + cards.size());
+        } catch (DataAccessException e) {
+            log.warn("批量写入失败，逐行重试: {}", NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            for (int i = 0; i < cards.size(); i++) {
+                try {
+                    write(this::batchInsert, List.of(cards.get(i)));
+                    result.setImported(result.getImported() + 1);
+                } catch (DataAccessException rowError) {
+                    addError(result, valid.get(i).line(),
+                            NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+    }
+
+    // 一批卡片在一个事务中写入，提交后由事件更新缓存和搜索索引
+    private void write(RowWriter writer, List<CardDTO> cards) {
+        transactionTemplate.executeWithoutResult(status -> {
+            writer.write(cards);
+            cards.forEach(card -> eventPublisher.publishEvent(CardChangedEvent.created(card)));
+        });
+    }
+
+    private ParsedRow parse(RawRow row) {
+        if (row.error() != null) {
+            return new ParsedRow(row.line(), null, row.error());
+        }
+
+        CardDTO card;
+        try {
+            card = row.json() != null
+                    ? objectMapper.readValue(row.json(), CardDTO.class)
+                    : objectMapper.convertValue(row.fields(), CardDTO.class);
+        } catch (JsonProcessingException e) {
+            return new ParsedRow(row.line(), null, "格式错误: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            return new ParsedRow(row.line(), null, "格式错误: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+
+        List<String> violations = validator.validate(card).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.toList());
+        if (!violations.isEmpty()) {
+            return new ParsedRow(row.line(), null, String.join("; ", violations));
+        }
+        return new ParsedRow(row.line(), card, null);
+    }
+
+    // 分配ID并补齐默认值，默认值与创建单张卡片一致
+    private CardDTO prepare(CardDTO card, long id, LocalDateTime now) {
+        card.setId(id);
+        card.setPriority(card.getPriority() != null ? card.getPriority() : 0);
+        card.setStatus(card.getStatus() != null ? card.getStatus() : Card.CardStatus.ACTIVE);
+        card.setColor(card.getColor() != null ? card.getColor() : "#FFFFFF");
+        card.setIsFavorite(card.getIsFavorite() != null ? card.getIsFavorite() : false);
+        card.setIsPublic(card.getIsPublic() != null ? card.getIsPublic() : false);
+        card.setViewCount(card.getViewCount() != null ? card.getViewCount() : 0);
+        card.setCreatedAt(card.getCreatedAt() != null ? card.getCreatedAt() : now);
+        card.setUpdatedAt(card.getUpdatedAt() != null ? card.getUpdatedAt() : now);
+        return card;
+    }
+
+    private void addError(ImportResult result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new ImportResult.RowError(line, message));
+        }
+    }
+
+    private void batchInsert(List<CardDTO> cards) {
+        List<Object[]> cardArgs = new ArrayList<>(cards.size());
+        List<Object[]> tagArgs = new ArrayList<>();
+        for (CardDTO card : cards) {
+            cardArgs.add(columnValues(card));
+            for (String tag : CardTag.parse(card.getTags())) {
+                tagArgs.add(new Object[]{card.getId(), tag});
+            }
+        }
+        jdbcTemplate.batchUpdate(insertCardSql, cardArgs);
+        if (!tagArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TAG_SQL, tagArgs);
+        }
+    }
+
+    private void copy(List<CardDTO> cards) {
+        StringBuilder cardCsv = new StringBuilder();
+        StringBuilder tagCsv = new StringBuilder();
+        for (CardDTO card : cards) {
+            Object[] values = columnValues(card);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    cardCsv.append(',');
+                }
+                appendCopyValue(cardCsv, values[i]);
+            }
+            cardCsv.append('\n');
+            for (String tag : CardTag.parse(card.getTags())) {
+                tagCsv.append(card.getId()).append(',');
+                appendCopyValue(tagCsv, tag);
+                tagCsv.append('\n');
+            }
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            try {
+                copyManager.copyIn(copyCardSql, new StringReader(cardCsv.toString()));
+                if (!tagCsv.isEmpty()) {
+                    copyManager.copyIn(COPY_TAG_SQL, new StringReader(tagCsv.toString()));
+                }
+            } catch (IOException e) {
+                throw new DataAccessResourceFailureException("COPY写入失败", e);
+            }
+            return null;
+        });
+    }
+
+    // COPY的CSV格式中，未加引号的空值为NULL，字符串一律加引号以区分空字符串
+    private static void appendCopyValue(StringBuilder sb, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof String text) {
+            sb.append('"').append(text.replace("\"", "\"\"")).append('"');
+        } else if (value instanceof Timestamp timestamp) {
+            sb.append(timestamp.toLocalDateTime());
+        } else {
+            sb.append(value);
+        }
+    }
+
+    private Object[] columnValues(CardDTO card) {
+        Object[] values = {
+                card.getId(), card.getTitle(), card.getContent(), card.getCategory(), card.getTags(),
+                card.getPriority(), card.getStatus().name(), card.getColor(), card.getIsFavorite(),
+                card.getIsPublic(), card.getViewCount(), card.getCreatedBy(), card.getUpdatedBy(),
+                toTimestamp(card.getCreatedAt()), toTimestamp(card.getUpdatedAt()), toTimestamp(card.getDeletedAt())
+        };
+        if (!storeSearchTokens) {
+            return values;
+        }
+        Object[] withTokens = Arrays.copyOf(values, values.length + 1);
+        withTokens[values.length] = SearchTokenizer.toIndexText(card.getTitle(), card.getContent(), card.getTags());
+        return withTokens;
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(product);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+
+        void write(List<CardDTO> cards);
+    }
+
+    private interface RowReader {
+
+        /**
+         * 读取下一行，输入结束时返回 null
+         */
+        RawRow next() throws IOException;
+    }
+
+    /**
+     * 输入中的一行：NDJSON 为原始JSON，CSV 为列名到值的映射
+     */
+    private record RawRow(long line, String json, Map<String, String> fields, String error) {
+    }
+
+    private record ParsedRow(long line, CardDTO card, String error) {
+    }
+
+    /**
+     * 每行一个JSON对象，跳过空行
+     */
+    private static class NdjsonRowReader implements RowReader {
+
+        private final BufferedReader reader;
+
+        private long line;
+
+        NdjsonRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (!text.isBlank()) {
+                    return new RawRow(line, text, null, null);
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * RFC 4180 格式，第一行为列名（与导出一致），字段中可以包含换行
+     */
+    private static class CsvRowReader implements RowReader {
+
+        private final BufferedReader reader;
+
+        private String[] header;
+
+        private long line;
+
+        CsvRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            if (header == null) {
+                List<String> names = readRecord();
+                if (names == null) {
+                    return null;
+                }
+                header = names.stream().map(String::trim).toArray(String[]::new);
+            }
+
+            List<String> values;
+            long start;
+            do {
+                start = line + 1;
+                values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0).isEmpty());
+
+            if (values.size() != header.length) {
+                return new RawRow(start, null, null,
+                        "列数不匹配: 期望 " + header.length + " 列, 实际 " + values.size() + " 列");
+            }
+            Map<String, String> fields = new LinkedHashMap<>();
+            for (int i = 0; i < header.length; i++) {
+                // 空值按未填写处理
+                if (!values.get(i).isEmpty()) {
+                    fields.put(header[i], values.get(i));
+                }
+            }
+            return new RawRow(start, null, fields, null);
+        }
+
+        // 读取一条记录，引号内的换行属于字段内容
+        private List<String> readRecord() throws IOException {
+            String text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+
+            List<String> values = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == text.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    // 引号未闭合，字段延续到下一行
+                    String next = reader.readLine();
+                    if (next == null) {
+                        break;
+                    }
+                    line++;
+                    field.append('\n');
+                    text = next;
+                    i = 0;
+                    continue;
+                }
+
+                char c = text.charAt(i++);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i < text.length() && text.charAt(i) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            values.add(field.toString());
+            return values;
+        }
+    }
+}
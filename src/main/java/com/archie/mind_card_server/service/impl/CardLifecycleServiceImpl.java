@@ -0,0 +1,228 @@
+package com.archie.mind_card_server.service.impl;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.event.CardArchivedEvent;
+import com.archie.mind_card_server.repository.CardArchiveRepository;
+import com.archie.mind_card_server.repository.CardRepository;
+import com.archie.mind_card_server.repository.CardTagRepository;
+import com.archie.mind_card_server.service.CardLifecycleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 卡片生命周期：软删除 -> 归档 -> 物理删除
+ * <p>
+ * 软删除的卡片留在 cards 的 cards_deleted 分区，超过 archive-after-days 天后压缩写入 cards_archive
+ * 并从 cards 删除；归档超过 purge-after-days 天后物理删除。
+ * 两个任务都按 chunk-size 分批，每批一个短事务；批次之间至少休眠与本批相同的时长，
+ * 后台任务最多占用一半的时间，不会长时间占用连接和锁影响前台请求。
+ */
+@Slf4j
+@Service
+public class CardLifecycleServiceImpl implements CardLifecycleService {
+
+    private static final String INSERT_ARCHIVE_SQL = "INSERT INTO cards_archive " +
+            "(id, category, created_by, created_at, deleted_at, archived_at, payload) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final CardRepository cardRepository;
+
+    private final CardTagRepository cardTagRepository;
+
+    private final CardArchiveRepository cardArchiveRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int archiveAfterDays;
+
+    private final int purgeAfterDays;
+
+    private final int chunkSize;
+
+    private final int maxChunksPerRun;
+
+    private final long minPauseMs;
+
+    // 归档和清理不并发执行
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    private final Counter archivedCards;
+
+    private final Counter purgedCards;
+
+    public CardLifecycleServiceImpl(CardRepository cardRepository,
+                                    CardTagRepository cardTagRepository,
+                                    CardArchiveRepository cardArchiveRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper,
+                                    ApplicationEventPublisher eventPublisher,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.lifecycle.archive-after-days:30}") int archiveAfterDays,
+                                    @Value("${app.lifecycle.purge-after-days:365}") int purgeAfterDays,
+                                    @Value("${app.lifecycle.chunk-size:500}") int chunkSize,
+                                    @Value("${app.lifecycle.max-chunks-per-run:1000}") int maxChunksPerRun,
+                                    @Value("${app.lifecycle.min-pause-ms:100}") long minPauseMs) {
+        this.cardRepository = cardRepository;
+        this.cardTagRepository = cardTagRepository;
+        this.cardArchiveRepository = cardArchiveRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.archiveAfterDays = archiveAfterDays;
+        this.purgeAfterDays = purgeAfterDays;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.minPauseMs = minPauseMs;
+
+        this.archivedCards = Counter.builder("card.lifecycle.archived")
+                .description("移到归档表的卡片数")
+                .register(meterRegistry);
+        this.purgedCards = Counter.builder("card.lifecycle.purged")
+                .description("从归档表物理删除的卡片数")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.lifecycle.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        archiveDeletedCards();
+        purgeArchivedCards();
+    }
+
+    @Override
+    public int archiveDeletedCards() {
+        LocalDateTime before = LocalDateTime.now().minusDays(archiveAfterDays);
+        long start = System.currentTimeMillis();
+        int archived = runInChunks("归档", () -> archiveChunk(before));
+        log.info("归档软删除卡片完成: {} 张, 删除时间早于 {}, 耗时 {} ms",
+                archived, before, System.currentTimeMillis() - start);
+        return archived;
+    }
+
+    @Override
+    public int purgeArchivedCards() {
+        LocalDateTime before = LocalDateTime.now().minusDays(purgeAfterDays);
+        long start = System.currentTimeMillis();
+        int purged = runInChunks("清理", () -> purgeChunk(before));
+        log.info("清理归档卡片完成: {} 张, 归档时间早于 {}, 耗时 {} ms",
+                purged, before, System.currentTimeMillis() - start);
+        return purged;
+    }
+
+    // 一个事务：锁定一批仍为软删除的卡片，写入归档表后删除卡片和标签
+    private int archiveChunk(LocalDateTime before) {
+        List<CardDTO> cards = transactionTemplate.execute(status -> {
+            List<Long> candidates = cardRepository.findDeletedIdsBefore(before, Limit.of(chunkSize));
+            if (candidates.isEmpty()) {
+                return List.of();
+            }
+            List<Card> locked = cardRepository.lockDeletedByIdIn(candidates);
+            List<Long> ids = locked.stream().map(Card::getId).toList();
+            List<CardDTO> archived = locked.stream().map(CardDTO::from).toList();
+            if (!ids.isEmpty()) {
+                LocalDateTime now = LocalDateTime.now();
+                jdbcTemplate.batchUpdate(INSERT_ARCHIVE_SQL, archived.stream()
+                        .map(card -> new Object[]{card.getId(), card.getCategory(), card.getCreatedBy(),
+                                card.getCreatedAt(), card.getDeletedAt(), now, compress(card)})
+                        .toList());
+                cardTagRepository.deleteByCardIdIn(ids);
+                cardRepository.deleteAllByIdInBatch(ids);
+                // 软删除时已通知过其他监听方，这里只需淘汰缓存和调整统计
+                archived.forEach(card -> eventPublisher.publishEvent(new CardArchivedEvent(card)));
+            }
+            return archived;
+        });
+        archivedCards.increment(cards.size());
+        return cards.size();
+    }
+
+    private int purgeChunk(LocalDateTime before) {
+        Integer purged = transactionTemplate.execute(status -> {
+            List<Long> ids = cardArchiveRepository.findIdsArchivedBefore(before, Limit.of(chunkSize));
+            if (!ids.isEmpty()) {
+                cardArchiveRepository.deleteAllByIdInBatch(ids);
+            }
+            return ids.size();
+        });
+        purgedCards.increment(purged);
+        return purged;
+    }
+
+    /**
+     * 重复执行 chunk 直到某一批少于 chunk-size、达到 max-chunks-per-run 或出错，返回处理的总数
+     */
+    private int runInChunks(String task, IntSupplier chunk) {
+        if (!runLock.tryLock()) {
+            log.info("卡片生命周期任务正在执行，跳过本次{}", task);
+            return 0;
+        }
+        try {
+            int total = 0;
+            for (int i = 0; i < maxChunksPerRun; i++) {
+                long start = System.nanoTime();
+                int processed;
+                try {
+                    processed = chunk.getAsInt();
+                } catch (RuntimeException e) {
+                    log.error("{}卡片失败，本次已处理 {} 张，剩余部分下次继续: {}", task, total, e.getMessage());
+                    break;
+                }
+                total += processed;
+                if (processed < chunkSize || !pause(System.nanoTime() - start)) {
+                    break;
+                }
+            }
+            return total;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    // 至少休眠与本批相同的时长，被中断时返回 false
+    private boolean pause(long elapsedNanos) {
+        try {
+            Thread.sleep(Math.max(minPauseMs, TimeUnit.NANOSECONDS.toMillis(elapsedNanos)));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private byte[] compress(CardDTO card) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, card);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -1,21 +1,60 @@
 package com.archie.mind_card_server.service.impl;
 
+import com.archie.mind_card_server.concurrent.SingleFlight;
+import com.archie.mind_card_server.concurrent.SingleFlightGroup;
+import com.archie.mind_card_server.config.CacheConfig;
+import com.archie.mind_card_server.config.ReplicaRoutingDataSource;
+import com.archie.mind_card_server.dto.BatchUpdateResult;
 import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.dto.CardSummaryDTO;
+import com.archie.mind_card_server.dto.CursorPage;
+import com.archie.mind_card_server.dto.ListValidator;
+import com.archie.mind_card_server.dto.PageCursor;
+import com.archie.mind_card_server.dto.TagCountDTO;
 import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.entity.CardArchive;
+import com.archie.mind_card_server.entity.CardTag;
+import com.archie.mind_card_server.event.ArchivedCardDeletedEvent;
+import com.archie.mind_card_server.event.CardChangedEvent;
+import com.archie.mind_card_server.event.CardsStatusChangedEvent;
 import com.archie.mind_card_server.exception.ResourceNotFoundException;
+import com.archie.mind_card_server.exception.VersionConflictException;
+import com.archie.mind_card_server.ranking.PopularityRanking;
+import com.archie.mind_card_server.ranking.PopularityWindow;
+import com.archie.mind_card_server.repository.CardArchiveRepository;
 import com.archie.mind_card_server.repository.CardRepository;
+import com.archie.mind_card_server.repository.CardTagRepository;
+import com.archie.mind_card_server.search.CardSearchEngine;
 import com.archie.mind_card_server.service.CardService;
+import com.archie.mind_card_server.service.ViewCountService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,8 +63,34 @@ import java.util.stream.Collectors;
 @Transactional
 public class CardServiceImpl implements CardService {
     
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    
+    // 标签统计一次最多返回的标签数
+    private static final int MAX_TAG_CARDINALITY_LIMIT = 1000;
+    
+    // 批量操作每条UPDATE语句包含的ID数
+    private static final int BULK_CHUNK_SIZE = 1000;
+    
     private final CardRepository cardRepository;
     
+    private final CardTagRepository cardTagRepository;
+    
+    private final CardArchiveRepository cardArchiveRepository;
+    
+    private final ViewCountService viewCountService;
+    
+    private final CardSearchEngine cardSearchEngine;
+    
+    private final CacheManager cacheManager;
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
+    private final SingleFlightGroup singleFlightGroup;
+    
+    private final PopularityRanking popularityRanking;
+    
+    private final CardCacheInvalidator cacheInvalidator;
+    
     @Override
     public CardDTO createCard(CardDTO cardDTO) {
         log.info("创建新卡片: {}", cardDTO.getTitle());
@@ -35,18 +100,20 @@ public class CardServiceImpl implements CardService {
         card.setUpdatedAt(LocalDateTime.now());
         
         Card savedCard = cardRepository.save(card);
-        return convertToDTO(savedCard);
+        syncTags(savedCard.getId(), Set.of(), savedCard.getTags());
+        updateSearchTokens(savedCard);
+        CardDTO created = convertToDTO(savedCard);
+        eventPublisher.publishEvent(CardChangedEvent.created(created));
+        return created;
     }
     
+    // 不开启事务：缓存未命中时只有合并调用的 leader 查询数据库，等待的请求不占用连接
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CardDTO getCardById(Long id) {
-        log.info("获取卡片: {}", id);
+        log.debug("获取卡片: {}", id);
         
-        Card card = cardRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("卡片未找到，ID: " + id));
-        
-        return convertToDTO(card);
+        return withPendingViews(findCachedCard(id));
     }
     
     @Override
@@ -55,6 +122,11 @@ public class CardServiceImpl implements CardService {
         
         Card existingCard = cardRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("卡片未找到，ID: " + id));
+        // 客户端带了版本号时，必须与当前版本一致；读取之后的并发修改在提交时由 @Version 检查
+        if (cardDTO.getVersion() != null && !cardDTO.getVersion().equals(existingCard.getVersion())) {
+            throw new VersionConflictException("卡片已被修改，当前版本: " + existingCard.getVersion());
+        }
+        CardDTO before = convertToDTO(existingCard);
         
         // 更新字段
         existingCard.setTitle(cardDTO.getTitle());
@@ -67,7 +139,15 @@ public class CardServiceImpl implements CardService {
         existingCard.setUpdatedAt(LocalDateTime.now());
         
         Card savedCard = cardRepository.save(existingCard);
-        return convertToDTO(savedCard);
+        if (!Objects.equals(before.getTags(), savedCard.getTags())) {
+            syncTags(id, new HashSet<>(cardTagRepository.findTagsByCardId(id)), savedCard.getTags());
+        }
+        if (!Objects.equals(before.getTitle(), savedCard.getTitle())
+                || !Objects.equals(before.getContent(), savedCard.getContent())
+                || !Objects.equals(before.getTags(), savedCard.getTags())) {
+            updateSearchTokens(savedCard);
+        }
+        return publishUpdated(before, savedCard);
     }
     
     @Override
@@ -76,27 +156,36 @@ public class CardServiceImpl implements CardService {
         
         Card card = cardRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("卡片未找到，ID: " + id));
+        CardDTO before = convertToDTO(card);
         
         card.setStatus(Card.CardStatus.DELETED);
         card.setDeletedAt(LocalDateTime.now());
-        cardRepository.save(card);
+        publishUpdated(before, cardRepository.save(card));
     }
     
     @Override
     public void hardDeleteCard(Long id) {
         log.info("物理删除卡片: {}", id);
         
-        if (!cardRepository.existsById(id)) {
-            throw new ResourceNotFoundException("卡片未找到，ID: " + id);
+        Card card = cardRepository.findById(id).orElse(null);
+        if (card == null) {
+            // 已归档的卡片只在归档表中，不在缓存和统计里
+            CardArchive archive = cardArchiveRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("卡片未找到，ID: " + id));
+            cardArchiveRepository.delete(archive);
+            eventPublisher.publishEvent(ArchivedCardDeletedEvent.of(archive));
+            return;
         }
         
-        cardRepository.deleteById(id);
+        cardTagRepository.deleteByCardId(id);
+        cardRepository.delete(card);
+        eventPublisher.publishEvent(CardChangedEvent.deleted(convertToDTO(card)));
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<CardDTO> getAllCards() {
-        log.info("获取所有卡片");
+        log.debug("获取所有卡片");
         
         List<Card> cards = cardRepository.findAll();
         return cards.stream()
@@ -107,25 +196,51 @@ public class CardServiceImpl implements CardService {
     @Override
     @Transactional(readOnly = true)
     public Page<CardDTO> getCards(Pageable pageable) {
-        log.info("分页获取卡片");
+        log.debug("分页获取卡片");
         
         Page<Card> cards = cardRepository.findAll(pageable);
         return cards.map(this::convertToDTO);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CardDTO> getCards(String cursor, int size) {
+        log.debug("游标分页获取卡片");
+        
+        checkCursorPageSize(size);
+        PageCursor position = PageCursor.decode(cursor, PageCursor.CREATED_AT);
+        List<Card> cards = position == null
+                ? cardRepository.findFirstByCreatedAt(Limit.of(size + 1))
+                : cardRepository.findAfterByCreatedAt(position.createdAt(), position.id(), Limit.of(size + 1));
+        return toCursorPage(cards, size, card -> PageCursor.ofCreatedAt(card.getCreatedAt(), card.getId()));
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public Page<CardDTO> getCardsByStatus(Card.CardStatus status, Pageable pageable) {
-        log.info("根据状态分页获取卡片: {}", status);
+        log.debug("根据状态分页获取卡片: {}", status);
         
         Page<Card> cards = cardRepository.findByStatusOrderByCreatedAtDesc(status, pageable);
         return cards.map(this::convertToDTO);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CardDTO> getCardsByStatus(Card.CardStatus status, String cursor, int size) {
+        log.debug("根据状态游标分页获取卡片: {}", status);
+        
+        checkCursorPageSize(size);
+        PageCursor position = PageCursor.decode(cursor, PageCursor.CREATED_AT);
+        List<Card> cards = position == null
+                ? cardRepository.findFirstByStatus(status, Limit.of(size + 1))
+                : cardRepository.findAfterByStatus(status, position.createdAt(), position.id(), Limit.of(size + 1));
+        return toCursorPage(cards, size, card -> PageCursor.ofCreatedAt(card.getCreatedAt(), card.getId()));
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<CardDTO> searchByTitle(String title) {
-        log.info("根据标题搜索卡片: {}", title);
+        log.debug("根据标题搜索卡片: {}", title);
         
         List<Card> cards = cardRepository.findByTitleContainingIgnoreCase(title);
         return cards.stream()
@@ -136,20 +251,18 @@ public class CardServiceImpl implements CardService {
     @Override
     @Transactional(readOnly = true)
     public List<CardDTO> getCardsByCategory(String category) {
-        log.info("根据分类获取卡片: {}", category);
+        log.debug("根据分类获取卡片: {}", category);
         
-        List<Card> cards = cardRepository.findByCategoryIgnoreCase(category);
-        return cards.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return cachedList(CacheConfig.CARDS_BY_CATEGORY, CardCacheInvalidator.categoryKey(category),
+                () -> cardRepository.findByCategoryIgnoreCase(category));
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<CardDTO> searchByKeyword(String keyword) {
-        log.info("根据关键词搜索卡片: {}", keyword);
+        log.debug("根据关键词搜索卡片: {}", keyword);
         
-        List<Card> cards = cardRepository.searchByKeyword(keyword);
+        List<Card> cards = cardSearchEngine.search(keyword);
         return cards.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
@@ -158,18 +271,31 @@ public class CardServiceImpl implements CardService {
     @Override
     @Transactional(readOnly = true)
     public Page<CardDTO> searchByKeyword(String keyword, Pageable pageable) {
-        log.info("分页搜索卡片: {}", keyword);
+        log.debug("分页搜索卡片: {}", keyword);
         
-        Page<Card> cards = cardRepository.searchByKeyword(keyword, pageable);
+        Page<Card> cards = cardSearchEngine.search(keyword, pageable);
         return cards.map(this::convertToDTO);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CardDTO> searchByKeyword(String keyword, String cursor, int size) {
+        log.debug("游标分页搜索卡片: {}", keyword);
+        
+        checkCursorPageSize(size);
+        PageCursor position = PageCursor.decode(cursor, PageCursor.CREATED_AT);
+        List<Card> cards = position == null
+                ? cardSearchEngine.searchAfter(keyword, null, null, size + 1)
+                : cardSearchEngine.searchAfter(keyword, position.createdAt(), position.id(), size + 1);
+        return toCursorPage(cards, size, card -> PageCursor.ofCreatedAt(card.getCreatedAt(), card.getId()));
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<CardDTO> searchByTag(String tag) {
-        log.info("根据标签搜索卡片: {}", tag);
+        log.debug("根据标签搜索卡片: {}", tag);
         
-        List<Card> cards = cardRepository.findByTagsContaining(tag);
+        List<Card> cards = cardRepository.findByTag(CardTag.normalize(tag));
         return cards.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
@@ -177,10 +303,11 @@ public class CardServiceImpl implements CardService {
     
     @Override
     @Transactional(readOnly = true)
-    public List<CardDTO> getCardsByPriority(Integer priority) {
-        log.info("根据优先级获取卡片: {}", priority);
+    public List<CardDTO> searchByTagPrefix(String prefix) {
+        log.debug("根据标签前缀搜索卡片: {}", prefix);
         
-        List<Card> cards = cardRepository.findByPriorityGreaterThanEqualOrderByPriorityDesc(priority);
+        String pattern = CardTag.normalize(prefix).replaceAll("[!%_]", "!$0") + "%";
+        List<Card> cards = cardRepository.findByTagPattern(pattern);
         return cards.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
@@ -188,10 +315,17 @@ public class CardServiceImpl implements CardService {
     
     @Override
     @Transactional(readOnly = true)
-    public List<CardDTO> getFavoriteCards() {
-        log.info("获取收藏的卡片");
+    public List<CardDTO> searchByTags(List<String> tags, boolean matchAll) {
+        log.debug("根据多个标签搜索卡片: {}, 全部匹配: {}", tags, matchAll);
         
-        List<Card> cards = cardRepository.findByIsFavoriteAndStatus(true, Card.CardStatus.ACTIVE);
+        Set<String> normalized = CardTag.parse(String.join(",", tags));
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        
+        List<Card> cards = matchAll
+                ? cardRepository.findByAllTags(normalized, normalized.size())
+                : cardRepository.findByAnyTag(normalized);
         return cards.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
@@ -199,41 +333,83 @@ public class CardServiceImpl implements CardService {
     
     @Override
     @Transactional(readOnly = true)
-    public List<CardDTO> getPublicCards() {
-        log.info("获取公开的卡片");
+    public List<TagCountDTO> getTagCardinality(int limit) {
+        log.debug("获取标签统计: {}", limit);
         
-        List<Card> cards = cardRepository.findByIsPublicAndStatus(true, Card.CardStatus.ACTIVE);
+        if (limit < 1 || limit > MAX_TAG_CARDINALITY_LIMIT) {
+            throw new IllegalArgumentException("标签数量必须在1到" + MAX_TAG_CARDINALITY_LIMIT + "之间");
+        }
+        return cardTagRepository.countCardsByTag(PageRequest.of(0, limit));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<CardDTO> getCardsByPriority(Integer priority) {
+        log.debug("根据优先级获取卡片: {}", priority);
+        
+        List<Card> cards = cardRepository.findByPriorityGreaterThanEqualOrderByPriorityDesc(priority);
         return cards.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<CardDTO> getFavoriteCards() {
+        log.debug("获取收藏的卡片");
+        
+        return cachedList(CacheConfig.FAVORITE_CARDS, CacheConfig.ALL,
+                () -> cardRepository.findByIsFavoriteAndStatus(true, Card.CardStatus.ACTIVE));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<CardDTO> getPublicCards() {
+        log.debug("获取公开的卡片");
+        
+        return cachedList(CacheConfig.PUBLIC_CARDS, CacheConfig.ALL,
+                () -> cardRepository.findByIsPublicAndStatus(true, Card.CardStatus.ACTIVE));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CardDTO> getPublicCards(String cursor, int size) {
+        log.debug("游标分页获取公开的卡片");
+        
+        checkCursorPageSize(size);
+        PageCursor position = PageCursor.decode(cursor, PageCursor.CREATED_AT);
+        List<Card> cards = position == null
+                ? cardRepository.findFirstPublic(Limit.of(size + 1))
+                : cardRepository.findAfterPublic(position.createdAt(), position.id(), Limit.of(size + 1));
+        return toCursorPage(cards, size, card -> PageCursor.ofCreatedAt(card.getCreatedAt(), card.getId()));
+    }
+    
     @Override
     public CardDTO toggleFavorite(Long id) {
         log.info("切换收藏状态: {}", id);
         
-        Card card = cardRepository.findById(id)
+        Card card = cardRepository.toggleFavorite(id, LocalDateTime.now())
                 .orElseThrow(() -> new ResourceNotFoundException("卡片未找到，ID: " + id));
-        
-        card.setIsFavorite(!card.getIsFavorite());
-        card.setUpdatedAt(LocalDateTime.now());
-        
-        Card savedCard = cardRepository.save(card);
-        return convertToDTO(savedCard);
+        return publishToggled(card, before -> before.setIsFavorite(!card.getIsFavorite()));
     }
     
     @Override
     public CardDTO togglePublic(Long id) {
         log.info("切换公开状态: {}", id);
         
-        Card card = cardRepository.findById(id)
+        Card card = cardRepository.togglePublic(id, LocalDateTime.now())
                 .orElseThrow(() -> new ResourceNotFoundException("卡片未找到，ID: " + id));
-        
-        card.setIsPublic(!card.getIsPublic());
-        card.setUpdatedAt(LocalDateTime.now());
-        
-        Card savedCard = cardRepository.save(card);
-        return convertToDTO(savedCard);
+        return publishToggled(card, before -> before.setIsPublic(!card.getIsPublic()));
+    }
+    
+    // 原子切换只返回更新后的行，切换前的状态由更新后的值还原
+    private CardDTO publishToggled(Card card, Consumer<CardDTO> restoreBefore) {
+        CardDTO after = convertToDTO(card);
+        CardDTO before = convertToDTO(card);
+        restoreBefore.accept(before);
+        before.setVersion(card.getVersion() - 1);
+        eventPublisher.publishEvent(CardChangedEvent.updated(before, after));
+        return after;
     }
     
     @Override
@@ -242,6 +418,7 @@ public class CardServiceImpl implements CardService {
         
         Card card = cardRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("卡片未找到，ID: " + id));
+        CardDTO before = convertToDTO(card);
         
         card.setStatus(status);
         card.setUpdatedAt(LocalDateTime.now());
@@ -251,113 +428,420 @@ public class CardServiceImpl implements CardService {
         }
         
         Card savedCard = cardRepository.save(card);
-        return convertToDTO(savedCard);
+        return publishUpdated(before, savedCard);
     }
     
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CardDTO incrementViewCount(Long id) {
-        log.info("增加查看次数: {}", id);
+        log.debug("增加查看次数: {}", id);
         
-        Card card = cardRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("卡片未找到，ID: " + id));
+        CardDTO card = findCachedCard(id);
         
-        card.setViewCount(card.getViewCount() + 1);
+        // 查看次数先累加到内存，由ViewCountService定时批量写入
+        viewCountService.recordView(id);
+        popularityRanking.recordView(id);
+        return withPendingViews(card);
+    }
+    
+    @Override
+    public BatchUpdateResult batchDeleteCards(List<Long> ids) {
+        log.info("批量删除卡片: {} 张", ids.size());
         
-        Card savedCard = cardRepository.save(card);
-        return convertToDTO(savedCard);
+        return bulkUpdate(ids, Card.CardStatus.DELETED,
+                (chunk, now) -> cardRepository.softDeleteByIdIn(chunk, now));
     }
     
     @Override
-    public void batchDeleteCards(List<Long> ids) {
-        log.info("批量删除卡片: {}", ids);
+    public BatchUpdateResult batchUpdateStatus(List<Long> ids, Card.CardStatus status) {
+        log.info("批量更新状态: {} 张 -> {}", ids.size(), status);
         
-        List<Card> cards = cardRepository.findAllById(ids);
-        cards.forEach(card -> {
-            card.setStatus(Card.CardStatus.DELETED);
-            card.setDeletedAt(LocalDateTime.now());
-        });
+        if (status == Card.CardStatus.DELETED) {
+            return batchDeleteCards(ids);
+        }
+        return bulkUpdate(ids, status,
+                (chunk, now) -> cardRepository.updateStatusByIdIn(chunk, status, now));
+    }
+    
+    // 按批执行集合式UPDATE，不加载实体；提交后通过事件淘汰缓存、更新索引
+    private BatchUpdateResult bulkUpdate(List<Long> ids, Card.CardStatus status,
+                                         BiFunction<List<Long>, LocalDateTime, Integer> update) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        List<CardsStatusChangedEvent.Group> before = new ArrayList<>();
+        List<Integer> batchCounts = new ArrayList<>();
+        int affected = 0;
+        
+        for (int from = 0; from < distinctIds.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinctIds.size()));
+            cardRepository.countGroupsByIdIn(chunk).forEach(row -> before.add(CardsStatusChangedEvent.Group.fromRow(row)));
+            int count = update.apply(chunk, now);
+            batchCounts.add(count);
+            affected += count;
+        }
         
-        cardRepository.saveAll(cards);
+        if (affected > 0) {
+            eventPublisher.publishEvent(new CardsStatusChangedEvent(distinctIds, before, status));
+        }
+        log.info("批量更新完成: {} 张, {} 个批次, 更新 {} 行", distinctIds.size(), batchCounts.size(), affected);
+        return new BatchUpdateResult(distinctIds.size(), affected, batchCounts);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    @SingleFlight
+    public CursorPage<CardDTO> getPopularCards(String cursor, int size) {
+        log.debug("游标分页获取热门卡片");
+        
+        checkCursorPageSize(size);
+        PageCursor position = PageCursor.decode(cursor, PageCursor.VIEW_COUNT);
+        List<Card> cards = position == null
+                ? cardRepository.findFirstPopular(Limit.of(size + 1))
+                : cardRepository.findAfterPopular(position.viewCount(), position.id(), Limit.of(size + 1));
+        return toCursorPage(cards, size, card -> PageCursor.ofViewCount(card.getViewCount(), card.getId()));
     }
     
+    // 不开启事务：整页命中缓存时不占用连接。同一窗口同一页的并发请求只读取一次
     @Override
-    public void batchUpdateStatus(List<Long> ids, Card.CardStatus status) {
-        log.info("批量更新状态: {} -> {}", ids, status);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @SingleFlight
+    public Page<CardDTO> getPopularCards(PopularityWindow window, Pageable pageable) {
+        log.debug("按时间窗口获取热门卡片: {}", window.param());
+        
+        long[] ranked = popularityRanking.top(window);
+        if (ranked == null || pageable.isUnpaged() || (ranked.length == 0 && window == PopularityWindow.ALL)) {
+            // 排行尚未构建：累计排行按查看次数查询数据库，衰减窗口没有数据
+            return window == PopularityWindow.ALL
+                    ? cardRepository.findPopularCards(pageable).map(this::convertToDTO)
+                    : Page.empty(pageable);
+        }
         
-        List<Card> cards = cardRepository.findAllById(ids);
-        cards.forEach(card -> {
-            card.setStatus(status);
-            card.setUpdatedAt(LocalDateTime.now());
-            
-            if (status == Card.CardStatus.DELETED) {
-                card.setDeletedAt(LocalDateTime.now());
+        long total = window == PopularityWindow.ALL ? popularityRanking.size() : ranked.length;
+        int from = (int) Math.min(pageable.getOffset(), ranked.length);
+        int to = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), ranked.length);
+        List<CardDTO> cards = new ArrayList<>(findCachedCards(Arrays.copyOfRange(ranked, from, to)));
+        int remaining = pageable.getPageSize() - cards.size();
+        if (remaining > 0 && ranked.length < total) {
+            // 只有累计排行会超出 top-k，衰减窗口的总数就是排行长度
+            cards.addAll(findPopularAfterRanking(ranked, pageable.getOffset() + cards.size() - ranked.length, remaining));
+        }
+        return new PageImpl<>(cards, pageable, total);
+    }
+    
+    // 超出 top-k 的部分：从排行最后一张卡片之后按 (查看次数, ID) 查询数据库，跳过前 skip 条取 limit 条。
+    // 排行之外的卡片都在这个位置之后；排行中查看次数尚未写回的卡片在数据库里也可能排在后面，查询时排除
+    private List<CardDTO> findPopularAfterRanking(long[] ranked, long skip, int limit) {
+        int lastViews = (int) Math.min(popularityRanking.lastRankedViews(), Integer.MAX_VALUE);
+        long lastId = ranked[ranked.length - 1];
+        // 最后一张本身不在范围内，一并放入保证列表不为空
+        List<Long> excluded = new ArrayList<>();
+        excluded.add(lastId);
+        loadCachedCards(ranked).values().forEach(card -> {
+            int views = card.getViewCount() != null ? card.getViewCount() : 0;
+            if (views < lastViews || (views == lastViews && card.getId() < lastId)) {
+                excluded.add(card.getId());
             }
         });
+        return cardRepository.findPopularAfter(lastViews, lastId, excluded, skip, limit).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public long getPopularRankingVersion() {
+        return popularityRanking.version();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<CardSummaryDTO> getAllCardSummaries() {
+        log.debug("获取所有卡片摘要");
         
-        cardRepository.saveAll(cards);
+        return cardRepository.findAllSummaries();
     }
     
     @Override
     @Transactional(readOnly = true)
-    public Map<String, Object> getStatistics() {
-        log.info("获取统计信息");
+    public Page<CardSummaryDTO> getCardSummaries(Pageable pageable) {
+        log.debug("分页获取卡片摘要");
         
-        Map<String, Object> stats = new HashMap<>();
+        return cardRepository.findSummaries(pageable);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CardSummaryDTO> getCardSummaries(String cursor, int size) {
+        log.debug("游标分页获取卡片摘要");
+        
+        checkCursorPageSize(size);
+        PageCursor position = PageCursor.decode(cursor, PageCursor.CREATED_AT);
+        List<CardSummaryDTO> cards = position == null
+                ? cardRepository.findFirstSummariesByCreatedAt(Limit.of(size + 1))
+                : cardRepository.findSummariesAfterByCreatedAt(position.createdAt(), position.id(), Limit.of(size + 1));
+        return toCursorPage(cards, size, card -> PageCursor.ofCreatedAt(card.getCreatedAt(), card.getId()),
+                Function.identity());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Page<CardSummaryDTO> getCardSummariesByStatus(Card.CardStatus status, Pageable pageable) {
+        log.debug("根据状态分页获取卡片摘要: {}", status);
         
-        // 总数统计
-        stats.put("totalCards", cardRepository.count());
-        stats.put("activeCards", cardRepository.countByStatus(Card.CardStatus.ACTIVE));
-        stats.put("archivedCards", cardRepository.countByStatus(Card.CardStatus.ARCHIVED));
-        stats.put("deletedCards", cardRepository.countByStatus(Card.CardStatus.DELETED));
+        return cardRepository.findSummariesByStatus(status, pageable);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CardSummaryDTO> getCardSummariesByStatus(Card.CardStatus status, String cursor, int size) {
+        log.debug("根据状态游标分页获取卡片摘要: {}", status);
+        
+        checkCursorPageSize(size);
+        PageCursor position = PageCursor.decode(cursor, PageCursor.CREATED_AT);
+        List<CardSummaryDTO> cards = position == null
+                ? cardRepository.findFirstSummariesByStatus(status, Limit.of(size + 1))
+                : cardRepository.findSummariesAfterByStatus(status, position.createdAt(), position.id(), Limit.of(size + 1));
+        return toCursorPage(cards, size, card -> PageCursor.ofCreatedAt(card.getCreatedAt(), card.getId()),
+                Function.identity());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<CardSummaryDTO> getCardSummariesByCategory(String category) {
+        log.debug("根据分类获取卡片摘要: {}", category);
         
-        // 分类统计
-        List<Object[]> categoryStats = cardRepository.countByCategory();
-        Map<String, Long> categoryMap = new HashMap<>();
-        for (Object[] stat : categoryStats) {
-            categoryMap.put((String) stat[0], (Long) stat[1]);
-        }
-        stats.put("categoryStats", categoryMap);
+        return cardRepository.findSummariesByCategory(category);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<CardSummaryDTO> getCardSummariesByPriority(Integer priority) {
+        log.debug("根据优先级获取卡片摘要: {}", priority);
         
-        // 优先级统计
-        List<Object[]> priorityStats = cardRepository.countByPriority();
-        Map<Integer, Long> priorityMap = new HashMap<>();
-        for (Object[] stat : priorityStats) {
-            priorityMap.put((Integer) stat[0], (Long) stat[1]);
-        }
-        stats.put("priorityStats", priorityMap);
+        return cardRepository.findSummariesByPriority(priority);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<CardSummaryDTO> getFavoriteCardSummaries() {
+        log.debug("获取收藏卡片摘要");
         
-        return stats;
+        return cardRepository.findFavoriteSummaries();
     }
     
     @Override
     @Transactional(readOnly = true)
-    public Page<CardDTO> getPopularCards(Pageable pageable) {
-        log.info("获取热门卡片");
+    public List<CardSummaryDTO> getPublicCardSummaries() {
+        log.debug("获取公开卡片摘要");
         
-        Page<Card> cards = cardRepository.findPopularCards(pageable);
-        return cards.map(this::convertToDTO);
+        return cardRepository.findPublicSummaries();
+    }
+    
+    // 排行中的卡片从缓存读取，缓存中已有完整内容，摘要只是去掉正文
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Page<CardSummaryDTO> getPopularCardSummaries(PopularityWindow window, Pageable pageable) {
+        log.debug("按时间窗口获取热门卡片摘要: {}", window.param());
+        
+        return getPopularCards(window, pageable).map(CardSummaryDTO::from);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    @SingleFlight
+    public CursorPage<CardSummaryDTO> getPopularCardSummaries(String cursor, int size) {
+        log.debug("游标分页获取热门卡片摘要");
+        
+        checkCursorPageSize(size);
+        PageCursor position = PageCursor.decode(cursor, PageCursor.VIEW_COUNT);
+        List<CardSummaryDTO> cards = position == null
+                ? cardRepository.findFirstPopularSummaries(Limit.of(size + 1))
+                : cardRepository.findPopularSummariesAfter(position.viewCount(), position.id(), Limit.of(size + 1));
+        return toCursorPage(cards, size, card -> PageCursor.ofViewCount(card.getViewCount(), card.getId()),
+                Function.identity());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public ListValidator getCardsValidator() {
+        return cardRepository.validateAll();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public ListValidator getCardsByStatusValidator(Card.CardStatus status) {
+        return cardRepository.validateByStatus(status);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public ListValidator getCardsByCategoryValidator(String category) {
+        return cardRepository.validateByCategory(category);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public ListValidator getCardsByPriorityValidator(Integer priority) {
+        return cardRepository.validateByPriority(priority);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public ListValidator getFavoriteCardsValidator() {
+        return cardRepository.validateFavorites();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public ListValidator getPublicCardsValidator() {
+        return cardRepository.validatePublic();
+    }
+    
+    private void checkCursorPageSize(int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("每页数量必须在1到" + MAX_CURSOR_PAGE_SIZE + "之间");
+        }
+    }
+    
+    // 多查询一条判断是否还有下一页，用当前页最后一条生成游标
+    private CursorPage<CardDTO> toCursorPage(List<Card> cards, int size, Function<Card, PageCursor> cursorOf) {
+        return toCursorPage(cards, size, cursorOf, this::convertToDTO);
+    }
+    
+    private <T, R> CursorPage<R> toCursorPage(List<T> rows, int size, Function<T, PageCursor> cursorOf,
+                                              Function<T, R> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<T> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(pageRows.size() - 1)).encode() : null;
+        
+        List<R> content = pageRows.stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+        return new CursorPage<>(content, content.size(), hasNext, nextCursor);
+    }
+    
+    // 分词结果不在实体中，只有需要的搜索引擎才单独写入
+    private void updateSearchTokens(Card card) {
+        String tokens = cardSearchEngine.indexText(card.getTitle(), card.getContent(), card.getTags());
+        if (tokens != null) {
+            cardRepository.updateSearchTokens(card.getId(), tokens);
+        }
+    }
+    
+    // 同步 card_tags 表，只插入新增的标签、删除移除的标签
+    private void syncTags(Long cardId, Set<String> existingTags, String newTags) {
+        Set<String> newSet = CardTag.parse(newTags);
+        
+        Set<String> removed = new HashSet<>(existingTags);
+        removed.removeAll(newSet);
+        if (!removed.isEmpty()) {
+            cardTagRepository.deleteByCardIdAndTagIn(cardId, removed);
+        }
+        
+        newSet.removeAll(existingTags);
+        newSet.forEach(tag -> cardTagRepository.insert(cardId, tag));
+    }
+    
+    // 从缓存读取单张卡片，返回副本以免调用方修改缓存中的对象。
+    // 未命中时同一张卡片的并发请求合并为一次查询，结果写入缓存后共享。
+    // 写入缓存的数据都从主库读取，副本上的旧数据会在缓存中保留到下次失效
+    private CardDTO findCachedCard(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.CARD_BY_ID);
+        CardDTO card = cache.get(id, CardDTO.class);
+        if (card == null) {
+            card = singleFlightGroup.execute(CacheConfig.CARD_BY_ID, id, () -> {
+                long generation = cacheInvalidator.generation(CacheConfig.CARD_BY_ID, id);
+                CardDTO loaded = convertToDTO(ReplicaRoutingDataSource.onPrimary(() -> cardRepository.findById(id))
+                        .orElseThrow(() -> new ResourceNotFoundException("卡片未找到，ID: " + id)));
+                cacheInvalidator.put(cache, id, loaded, generation);
+                return loaded;
+            });
+        }
+        
+        return copyOf(card);
+    }
+    
+    // 按ID从缓存读取多张卡片并保持顺序，未命中的一次查询加载后写入缓存；已不是 ACTIVE 的卡片跳过
+    private List<CardDTO> findCachedCards(long[] ids) {
+        Map<Long, CardDTO> found = loadCachedCards(ids);
+        List<CardDTO> cards = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            CardDTO card = found.get(id);
+            if (card != null && card.getStatus() == Card.CardStatus.ACTIVE) {
+                cards.add(withPendingViews(copyOf(card)));
+            }
+        }
+        return cards;
+    }
+    
+    // 按ID读取缓存中的卡片，未命中的一次查询加载后写入缓存。返回缓存中的共享对象，查看次数为数据库中的值
+    private Map<Long, CardDTO> loadCachedCards(long[] ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.CARD_BY_ID);
+        Map<Long, CardDTO> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (long id : ids) {
+            CardDTO card = cache.get(id, CardDTO.class);
+            if (card != null) {
+                found.put(id, card);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Long, Long> generations = new HashMap<>();
+            missing.forEach(id -> generations.put(id, cacheInvalidator.generation(CacheConfig.CARD_BY_ID, id)));
+            for (Card card : ReplicaRoutingDataSource.onPrimary(() -> cardRepository.findAllById(missing))) {
+                CardDTO loaded = convertToDTO(card);
+                cacheInvalidator.put(cache, card.getId(), loaded, generations.get(card.getId()));
+                found.put(card.getId(), loaded);
+            }
+        }
+        return found;
+    }
+    
+    // 从缓存读取卡片列表，未命中时查询主库并写入缓存。与 findCachedCard 一样返回副本
+    @SuppressWarnings("unchecked")
+    private List<CardDTO> cachedList(String cacheName, Object key, Supplier<List<Card>> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        List<CardDTO> cards = cache.get(key, List.class);
+        if (cards == null) {
+            long generation = cacheInvalidator.generation(cacheName, key);
+            cards = ReplicaRoutingDataSource.onPrimary(loader).stream()
+                    .map(this::convertToDTO)
+                    .toList();
+            cacheInvalidator.put(cache, key, cards, generation);
+        }
+        return cards.stream()
+                .map(CardServiceImpl::copyOf)
+                .collect(Collectors.toList());
+    }
+    
+    // 缓存中的对象是共享的，返回给调用方的都是副本
+    private static CardDTO copyOf(CardDTO card) {
+        CardDTO copy = new CardDTO();
+        BeanUtils.copyProperties(card, copy);
+        return copy;
+    }
+    
+    // 发布卡片更新事件并返回更新后的DTO
+    private CardDTO publishUpdated(CardDTO before, Card savedCard) {
+        CardDTO after = convertToDTO(savedCard);
+        eventPublisher.publishEvent(CardChangedEvent.updated(before, after));
+        return after;
+    }
+    
+    // 叠加尚未写入数据库的查看次数
+    private CardDTO withPendingViews(CardDTO dto) {
+        long pendingViews = viewCountService.getPendingViews(dto.getId());
+        if (pendingViews > 0) {
+            int viewCount = dto.getViewCount() != null ? dto.getViewCount() : 0;
+            dto.setViewCount((int) (viewCount + pendingViews));
+        }
+        return dto;
     }
     
     // 实体转DTO
     private CardDTO convertToDTO(Card card) {
-        CardDTO dto = new CardDTO();
-        dto.setId(card.getId());
-        dto.setTitle(card.getTitle());
-        dto.setContent(card.getContent());
-        dto.setCategory(card.getCategory());
-        dto.setTags(card.getTags());
-        dto.setPriority(card.getPriority());
-        dto.setStatus(card.getStatus());
-        dto.setColor(card.getColor());
-        dto.setIsFavorite(card.getIsFavorite());
-        dto.setIsPublic(card.getIsPublic());
-        dto.setViewCount(card.getViewCount());
-        dto.setCreatedBy(card.getCreatedBy());
-        dto.setUpdatedBy(card.getUpdatedBy());
-        dto.setCreatedAt(card.getCreatedAt());
-        dto.setUpdatedAt(card.getUpdatedAt());
-        dto.setDeletedAt(card.getDeletedAt());
-        return dto;
+        return CardDTO.from(card);
     }
     
     // DTO转实体
@@ -0,0 +1,235 @@
+package com.archie.mind_card_server.service.impl;
+
+import com.archie.mind_card_server.concurrent.SingleFlight;
+import com.archie.mind_card_server.config.ReplicaRoutingDataSource;
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.event.CardArchivedEvent;
+import com.archie.mind_card_server.event.CardChangedEvent;
+import com.archie.mind_card_server.event.CardsStatusChangedEvent;
+import com.archie.mind_card_server.repository.CardRepository;
+import com.archie.mind_card_server.service.CardStatisticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 卡片统计
+ * <p>
+ * 在内存中维护按状态计数以及 ACTIVE 卡片按分类、优先级的计数。
+ * 计数在写操作的事务提交后根据 {@link CardChangedEvent}、{@link CardsStatusChangedEvent} 和 {@link CardArchivedEvent} 增量调整，
+ * 并定期用一次分组查询与数据库对账，修正并发写入或事件丢失造成的偏差。
+ * 分组查询期间收到的增量同时记录下来，查询完成后在新计数上重放，替换计数时不会丢失。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CardStatisticsServiceImpl implements CardStatisticsService {
+    
+    private final CardRepository cardRepository;
+    
+    private final ReentrantLock recomputeLock = new ReentrantLock();
+    
+    // 应用增量、记录增量和替换计数互斥
+    private final ReentrantLock deltaLock = new ReentrantLock();
+    
+    // 当前计数，对账时整体替换
+    private volatile Counters counters;
+    
+    // 重新计算期间收到的增量，不在重新计算时为 null
+    private List<Consumer<Counters>> recorded;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+    
+    @Scheduled(fixedDelayString = "${app.statistics.reconcile-interval-ms:300000}",
+               initialDelayString = "${app.statistics.reconcile-interval-ms:300000}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCardChanged(CardChangedEvent event) {
+        apply(current -> {
+            add(current, event.before(), -1);
+            add(current, event.after(), 1);
+        });
+    }
+    
+    // 归档的卡片不再计入 cards 表的统计，软删除计数减一
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCardArchived(CardArchivedEvent event) {
+        apply(current -> add(current, event.card(), -1));
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCardsStatusChanged(CardsStatusChangedEvent event) {
+        apply(current -> {
+            for (CardsStatusChangedEvent.Group group : event.before()) {
+                current.add(group.status(), group.category(), group.priority(), -group.count());
+                current.add(event.status(), group.category(), group.priority(), group.count());
+            }
+        });
+    }
+    
+    @Override
+    @SingleFlight
+    public Map<String, Object> getStatistics(boolean fresh) {
+        Counters current = counters;
+        if (fresh || current == null) {
+            current = recompute();
+        }
+        return current.toMap();
+    }
+    
+    @Override
+    public void reconcile() {
+        recompute();
+    }
+    
+    // 查询数据库期间持有锁，使用 ReentrantLock 而不是 synchronized，避免虚拟线程固定在载体线程上
+    private Counters recompute() {
+        recomputeLock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            
+            // 查询开始之后提交的写操作不在查询结果中，它们的增量先记录下来
+            withDeltaLock(() -> recorded = new ArrayList<>());
+            Counters fresh = new Counters();
+            try {
+                // 从主库统计，副本上尚未复制的写入在之后的增量事件中不会再被计入
+                for (Object[] row : ReplicaRoutingDataSource.onPrimary(cardRepository::countGroups)) {
+                    CardsStatusChangedEvent.Group group = CardsStatusChangedEvent.Group.fromRow(row);
+                    fresh.add(group.status(), group.category(), group.priority(), group.count());
+                }
+            } catch (RuntimeException e) {
+                // 查询失败时保留当前计数，记录的增量已经应用过
+                withDeltaLock(() -> recorded = null);
+                throw e;
+            }
+            
+            Counters previous;
+            deltaLock.lock();
+            try {
+                recorded.forEach(delta -> delta.accept(fresh));
+                recorded = null;
+                previous = counters;
+                counters = fresh;
+            } finally {
+                deltaLock.unlock();
+            }
+            if (previous != null && !previous.toMap().equals(fresh.toMap())) {
+                log.info("统计信息与数据库不一致，已校正");
+            }
+            log.debug("重新计算统计信息完成, 耗时 {} ms", System.currentTimeMillis() - start);
+            return fresh;
+        } finally {
+            recomputeLock.unlock();
+        }
+    }
+    
+    // 应用到当前计数，重新计算期间同时记录
+    private void apply(Consumer<Counters> delta) {
+        withDeltaLock(() -> {
+            if (counters != null) {
+                delta.accept(counters);
+            }
+            if (recorded != null) {
+                recorded.add(delta);
+            }
+        });
+    }
+    
+    private void withDeltaLock(Runnable action) {
+        deltaLock.lock();
+        try {
+            action.run();
+        } finally {
+            deltaLock.unlock();
+        }
+    }
+    
+    private static void add(Counters counters, CardDTO card, long delta) {
+        if (card != null) {
+            counters.add(card.getStatus(), card.getCategory(), card.getPriority(), delta);
+        }
+    }
+    
+    private static class Counters {
+        
+        private final LongAdder total = new LongAdder();
+        
+        private final Map<Card.CardStatus, LongAdder> byStatus = new ConcurrentHashMap<>();
+        
+        // 分类和优先级只统计 ACTIVE 卡片
+        private final Map<String, LongAdder> activeByCategory = new ConcurrentHashMap<>();
+        
+        private final Map<Integer, LongAdder> activeByPriority = new ConcurrentHashMap<>();
+        
+        void add(Card.CardStatus status, String category, Integer priority, long delta) {
+            total.add(delta);
+            if (status == null) {
+                return;
+            }
+            byStatus.computeIfAbsent(status, key -> new LongAdder()).add(delta);
+            if (status == Card.CardStatus.ACTIVE) {
+                if (category != null) {
+                    activeByCategory.computeIfAbsent(category, key -> new LongAdder()).add(delta);
+                }
+                if (priority != null) {
+                    activeByPriority.computeIfAbsent(priority, key -> new LongAdder()).add(delta);
+                }
+            }
+        }
+        
+        Map<String, Object> toMap() {
+            Map<String, Object> stats = new HashMap<>();
+            
+            // 总数统计
+            stats.put("totalCards", total.sum());
+            stats.put("activeCards", count(Card.CardStatus.ACTIVE));
+            stats.put("archivedCards", count(Card.CardStatus.ARCHIVED));
+            stats.put("deletedCards", count(Card.CardStatus.DELETED));
+            
+            // 分类统计
+            stats.put("categoryStats", nonZero(activeByCategory));
+            
+            // 优先级统计
+            stats.put("priorityStats", nonZero(activeByPriority));
+            
+            return stats;
+        }
+        
+        private long count(Card.CardStatus status) {
+            LongAdder adder = byStatus.get(status);
+            return adder != null ? adder.sum() : 0;
+        }
+        
+        private static <K> Map<K, Long> nonZero(Map<K, LongAdder> counts) {
+            Map<K, Long> result = new HashMap<>();
+            counts.forEach((key, adder) -> {
+                long sum = adder.sum();
+                if (sum > 0) {
+                    result.put(key, sum);
+                }
+            });
+            return result;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.archie.mind_card_server.service.impl;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.dto.CursorPage;
+import com.archie.mind_card_server.service.CardService;
+import com.archie.mind_card_server.service.CardStreamService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * 基于游标分页的卡片流
+ * <p>
+ * 每页用一次短查询读取，查询在 boundedElastic 线程上执行；
+ * 下游消费完当前页后才查询下一页，两页之间不持有数据库连接。
+ */
+@Service
+public class CardStreamServiceImpl implements CardStreamService {
+    
+    private final CardService cardService;
+    
+    private final int pageSize;
+    
+    public CardStreamServiceImpl(CardService cardService,
+                                 @Value("${app.reactive.page-size:200}") int pageSize) {
+        this.cardService = cardService;
+        this.pageSize = pageSize;
+    }
+    
+    @Override
+    public Flux<CardDTO> streamCards() {
+        return pages(cursor -> cardService.getCards(cursor, pageSize));
+    }
+    
+    @Override
+    public Flux<CardDTO> streamSearch(String keyword) {
+        return pages(cursor -> cardService.searchByKeyword(keyword, cursor, pageSize));
+    }
+    
+    @Override
+    public Flux<CardDTO> streamPublicCards() {
+        return pages(cursor -> cardService.getPublicCards(cursor, pageSize));
+    }
+    
+    @Override
+    public Flux<CardDTO> streamPopularCards() {
+        return pages(cursor -> cardService.getPopularCards(cursor, pageSize));
+    }
+    
+    // 从第一页开始按 nextCursor 逐页读取：每条都按下游请求生成，当前页最后一条之后再有请求时才查询下一页，不预读；
+    // subscribeOn 让 request 也在 boundedElastic 线程上执行，查询不占用调用方线程
+    private Flux<CardDTO> pages(Function<String, CursorPage<CardDTO>> fetch) {
+        return Flux.<CardDTO, Pager>generate(() -> new Pager(fetch), (pager, sink) -> {
+                    CardDTO next = pager.next();
+                    if (next != null) {
+                        sink.next(next);
+                    } else {
+                        sink.complete();
+                    }
+                    return pager;
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    /**
+     * 当前页的迭代位置和下一页游标
+     */
+    private static final class Pager {
+        
+        private final Function<String, CursorPage<CardDTO>> fetch;
+        
+        private Iterator<CardDTO> items = Collections.emptyIterator();
+        
+        private String cursor;
+        
+        private boolean hasNext = true;
+        
+        Pager(Function<String, CursorPage<CardDTO>> fetch) {
+            this.fetch = fetch;
+        }
+        
+        // 返回下一条，没有更多时返回 null；当前页读完才查询下一页
+        CardDTO next() {
+            while (!items.hasNext()) {
+                if (!hasNext) {
+                    return null;
+                }
+                CursorPage<CardDTO> page = fetch.apply(cursor);
+                items = page.getContent().iterator();
+                hasNext = page.isHasNext();
+                cursor = page.getNextCursor();
+            }
+            return items.next();
+        }
+    }
+}
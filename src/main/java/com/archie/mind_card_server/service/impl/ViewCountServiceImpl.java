@@ -0,0 +1,209 @@
+package com.archie.mind_card_server.service.impl;
+
+import com.archie.mind_card_server.service.ViewCountService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 查看次数写回缓冲：请求线程只在内存中累加，定时任务按批次执行
+ * {@code UPDATE cards SET view_count = view_count + ?}，读请求不再写数据库。
+ */
+@Service
+@Slf4j
+public class ViewCountServiceImpl implements ViewCountService {
+
+    private static final String FLUSH_SQL = "UPDATE cards SET view_count = COALESCE(view_count, 0) + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final CardCacheInvalidator cardCacheInvalidator;
+
+    private final TaskExecutor taskExecutor;
+
+    private final int maxPending;
+
+    private final int batchSize;
+
+    // 卡片ID -> 未写入的查看次数
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // 最早一次未写入的查看时间（毫秒），0 表示没有待写入数据
+    private final AtomicLong oldestPendingAt = new AtomicLong();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // 已通知后台线程写回、尚未完成
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final Timer flushTimer;
+
+    private final Timer flushLagTimer;
+
+    private final Counter flushedViews;
+
+    public ViewCountServiceImpl(JdbcTemplate jdbcTemplate,
+                                CardCacheInvalidator cardCacheInvalidator,
+                                @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                TaskExecutor taskExecutor,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.view-count.max-pending:10000}") int maxPending,
+                                @Value("${app.view-count.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cardCacheInvalidator = cardCacheInvalidator;
+        this.taskExecutor = taskExecutor;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+
+        Gauge.builder("card.views.pending", pending, Map::size)
+                .description("等待写入数据库的卡片数")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("card.views.flush")
+                .description("查看次数批量写入耗时")
+                .register(meterRegistry);
+        this.flushLagTimer = Timer.builder("card.views.flush.lag")
+                .description("查看次数从产生到写入数据库的最大延迟")
+                .register(meterRegistry);
+        this.flushedViews = Counter.builder("card.views.flushed")
+                .description("已写入数据库的查看次数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordView(Long cardId) {
+        // 在 compute 中累加：drain 同样在 compute 中移除计数器，累加不会落到已移除的计数器上
+        pending.compute(cardId, (key, adder) -> {
+            LongAdder target = adder != null ? adder : new LongAdder();
+            target.increment();
+            return target;
+        });
+        oldestPendingAt.compareAndSet(0, System.currentTimeMillis());
+
+        // 待写入的卡片数达到上限时通知后台线程立即写回，请求线程不执行数据库写入
+        if (pending.size() >= maxPending && flushRequested.compareAndSet(false, true)) {
+            try {
+                taskExecutor.execute(() -> {
+                    try {
+                        flush();
+                    } finally {
+                        flushRequested.set(false);
+                    }
+                });
+            } catch (RuntimeException e) {
+                flushRequested.set(false);
+                log.warn("提交查看次数写回任务失败，等待定时写回: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public long getPendingViews(Long cardId) {
+        LongAdder adder = pending.get(cardId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    @Override
+    public int flush() {
+        // 已有线程在写回时直接返回，由其完成本轮写入
+        if (!flushLock.tryLock()) {
+            return 0;
+        }
+
+        try {
+            long since = oldestPendingAt.getAndSet(0);
+            List<Object[]> batch = drain();
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            long start = System.nanoTime();
+            try {
+                for (int from = 0; from < batch.size(); from += batchSize) {
+                    jdbcTemplate.batchUpdate(FLUSH_SQL, batch.subList(from, Math.min(from + batchSize, batch.size())));
+                }
+            } catch (RuntimeException e) {
+                log.error("写入查看次数失败，{} 张卡片的增量将在下次重试: {}", batch.size(), e.getMessage());
+                restore(batch, since);
+                return 0;
+            }
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            if (since > 0) {
+                flushLagTimer.record(System.currentTimeMillis() - since, TimeUnit.MILLISECONDS);
+            }
+            // 缓存中的查看次数已过期，下次读取时重新加载
+            batch.forEach(row -> {
+                flushedViews.increment((Long) row[0]);
+                cardCacheInvalidator.evictCard((Long) row[1]);
+            });
+
+            log.debug("写入查看次数完成: {} 张卡片", batch.size());
+            return batch.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.view-count.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("应用关闭，写入剩余查看次数");
+        flush();
+    }
+
+    /**
+     * 取出所有增量。本轮没有新增查看的卡片从缓冲中移除；
+     * 读取和移除都在 compute 中完成，与 recordView 的累加互斥。
+     */
+    private List<Object[]> drain() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Long cardId : pending.keySet()) {
+            long[] delta = new long[1];
+            pending.computeIfPresent(cardId, (key, adder) -> {
+                delta[0] = adder.sumThenReset();
+                return delta[0] == 0 ? null : adder;
+            });
+            if (delta[0] > 0) {
+                batch.add(new Object[]{delta[0], cardId});
+            }
+        }
+        return batch;
+    }
+
+    private void restore(List<Object[]> batch, long since) {
+        for (Object[] row : batch) {
+            pending.compute((Long) row[1], (key, adder) -> {
+                LongAdder target = adder != null ? adder : new LongAdder();
+                target.add((Long) row[0]);
+                return target;
+            });
+        }
+        if (since > 0) {
+            oldestPendingAt.accumulateAndGet(since, (current, previous) -> current == 0 ? previous : Math.min(current, previous));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+-- 基线表结构，与 Card、CardTag、User 实体一致
+-- 语句都可以重复执行：已有数据库（原先由 ddl-auto 或 sql/create_table.sql 建表）在 baseline-on-migrate 下同样执行本脚本补齐缺少的列和索引
+
+-- 已有数据库：早期按 IDENTITY 建的ID列改为独立序列。identity 序列不出现在 information_schema.sequences 中，
+-- 实体的池化序列(allocationSize = 50)无法通过 ddl-auto: validate
+do $$
+begin
+    if exists (select 1 from information_schema.columns
+               where table_schema = current_schema() and table_name = 'cards'
+                 and column_name = 'id' and is_identity = 'YES') then
+        alter table cards alter column id drop identity;
+    end if;
+end
+$$;
+
+create sequence if not exists cards_id_seq increment by 50;
+
+-- 思维卡片表
+create table if not exists cards
+(
+    id            bigint       not null default nextval('cards_id_seq') primary key,
+    title         varchar(200) not null,                    -- 卡片标题
+    content       text,                                     -- 卡片内容
+    category      varchar(100),                             -- 分类
+    tags          varchar(500),                             -- 标签，逗号分隔
+    priority      integer      default 0,                   -- 优先级 0-低 1-中 2-高
+    status        varchar(20)  default 'ACTIVE',            -- 状态：ACTIVE, ARCHIVED, DELETED
+    color         varchar(20)  default '#FFFFFF',           -- 卡片颜色
+    is_favorite   boolean      default false,               -- 是否收藏
+    is_public     boolean      default false,               -- 是否公开
+    view_count    integer      default 0,                   -- 查看次数
+    created_by    varchar(100),                             -- 创建者
+    updated_by    varchar(100),                             -- 更新者
+    created_at    timestamp(6) not null default CURRENT_TIMESTAMP,
+    updated_at    timestamp(6) default CURRENT_TIMESTAMP,
+    deleted_at    timestamp(6),                             -- 软删除时间
+    version       bigint       not null default 0,          -- 乐观锁版本号
+    search_tokens text,                                     -- 标题、内容、标签的分词结果
+    search_vector tsvector generated always as (to_tsvector('simple', coalesce(search_tokens, ''))) stored,
+
+    constraint cards_status_check check (status in ('ACTIVE', 'ARCHIVED', 'DELETED')),
+    constraint cards_priority_check check (priority >= 0 and priority <= 2)
+);
+
+-- 已有数据库：后来增加的列
+alter table cards add column if not exists version bigint not null default 0;
+alter table cards add column if not exists search_tokens text;
+alter table cards add column if not exists search_vector tsvector
+    generated always as (to_tsvector('simple', coalesce(search_tokens, ''))) stored;
+
+-- 序列步长与实体一致，从现有最大ID之后继续。
+-- 池化优化器把序列值当作号段的上界，取到 v 时使用 v-49 .. v，下一个序列值至少为 max(id) + 50 才不会与已有ID重叠
+alter sequence cards_id_seq increment by 50 owned by cards.id;
+alter table cards alter column id set default nextval('cards_id_seq');
+select setval('cards_id_seq', coalesce((select max(id) from cards), 0) + 50, false);
+
+create index if not exists idx_cards_status on cards (status);
+create index if not exists idx_cards_category on cards (category);
+create index if not exists idx_cards_priority on cards (priority);
+create index if not exists idx_cards_created_at on cards (created_at);
+create index if not exists idx_cards_created_by on cards (created_by);
+create index if not exists idx_cards_is_favorite on cards (is_favorite);
+create index if not exists idx_cards_is_public on cards (is_public);
+create index if not exists idx_cards_search_vector on cards using gin (search_vector);
+
+-- 卡片标签表，标签为去空格的小写形式
+create table if not exists card_tags
+(
+    card_id bigint       not null,
+    tag     varchar(100) not null,
+    primary key (card_id, tag)
+);
+
+create index if not exists idx_card_tags_tag on card_tags (tag, card_id);
+-- 非C排序规则下，标签前缀匹配需要 varchar_pattern_ops 索引
+create index if not exists idx_card_tags_tag_pattern on card_tags (tag varchar_pattern_ops);
+
+-- 用户表
+create table if not exists users
+(
+    id         bigint generated by default as identity primary key,
+    username   varchar(50)  not null unique,
+    email      varchar(100) not null unique,
+    password   varchar(255) not null,
+    nickname   varchar(50),
+    avatar_url varchar(255),
+    role       varchar(255) not null,
+    is_active  boolean,
+    is_deleted boolean      not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+
+    constraint users_role_check check (role in ('ADMIN', 'USER'))
+);
@@ -0,0 +1,29 @@
+-- 按 CardRepository 的实际查询建立复合索引和部分索引，取代只能用于过滤、不能用于排序的单列索引
+-- 全部使用 CONCURRENTLY，建索引期间不锁写；Flyway 会在事务外执行本脚本
+
+-- 按状态分页和游标分页：WHERE status = ? ORDER BY created_at DESC, id DESC
+-- 状态作为参数传入，使用完整索引而不是 status = 'ACTIVE' 的部分索引；countByStatus 也可以只扫描索引
+create index concurrently if not exists idx_cards_status_created_at on cards (status, created_at desc, id desc);
+
+-- 不带条件的时间线和游标分页：ORDER BY created_at DESC, id DESC
+create index concurrently if not exists idx_cards_created_at_id on cards (created_at desc, id desc);
+
+-- 热门卡片：WHERE status = 'ACTIVE' ORDER BY view_count DESC, id DESC
+create index concurrently if not exists idx_cards_active_view_count on cards (view_count desc, id desc)
+    where status = 'ACTIVE';
+
+-- 收藏和公开列表：WHERE is_favorite/is_public = true AND status = 'ACTIVE'，只占很小一部分行
+create index concurrently if not exists idx_cards_active_favorite on cards (created_at desc)
+    where is_favorite and status = 'ACTIVE';
+create index concurrently if not exists idx_cards_active_public on cards (created_at desc)
+    where is_public and status = 'ACTIVE';
+
+-- 分类忽略大小写：WHERE LOWER(category) = LOWER(?)
+create index concurrently if not exists idx_cards_lower_category on cards (lower(category));
+
+-- 被上面的索引取代
+drop index concurrently if exists idx_cards_status;
+drop index concurrently if exists idx_cards_created_at;
+drop index concurrently if exists idx_cards_category;
+drop index concurrently if exists idx_cards_is_favorite;
+drop index concurrently if exists idx_cards_is_public;
@@ -0,0 +1,58 @@
+-- cards 改为按状态分区：DELETED 卡片存放在 cards_deleted，其余状态在默认分区 cards_live。
+-- 带 status = 'ACTIVE' 等条件的查询只扫描 cards_live；软删除和批量改状态时 PostgreSQL 自动在分区之间移动行。
+-- 分区表的主键必须包含分区键，主键改为 (id, status)，ID 唯一性由 cards_id_seq 保证。
+-- 转换时复制整张表并持有排他锁，数据量大的库应在维护窗口执行。
+
+alter table cards rename to cards_unpartitioned;
+alter sequence cards_id_seq owned by none;
+
+create table cards
+(
+    like cards_unpartitioned including defaults including constraints including generated
+) partition by list (status);
+
+create table cards_deleted partition of cards for values in ('DELETED');
+create table cards_live partition of cards default;
+
+insert into cards (id, title, content, category, tags, priority, status, color, is_favorite, is_public, view_count,
+                   created_by, updated_by, created_at, updated_at, deleted_at, version, search_tokens)
+select id, title, content, category, tags, priority, coalesce(status, 'ACTIVE'), color, is_favorite, is_public,
+       view_count, created_by, updated_by, created_at, updated_at, deleted_at, version, search_tokens
+from cards_unpartitioned;
+
+drop table cards_unpartitioned;
+
+alter table cards alter column status set not null;
+alter table cards add constraint cards_pkey primary key (id, status);
+alter sequence cards_id_seq owned by cards.id;
+
+-- 在分区表上创建的索引自动建到每个分区
+create index idx_cards_priority on cards (priority);
+create index idx_cards_created_by on cards (created_by);
+create index idx_cards_search_vector on cards using gin (search_vector);
+create index idx_cards_status_created_at on cards (status, created_at desc, id desc);
+create index idx_cards_created_at_id on cards (created_at desc, id desc);
+create index idx_cards_active_view_count on cards (view_count desc, id desc) where status = 'ACTIVE';
+create index idx_cards_active_favorite on cards (created_at desc) where is_favorite and status = 'ACTIVE';
+create index idx_cards_active_public on cards (created_at desc) where is_public and status = 'ACTIVE';
+create index idx_cards_lower_category on cards (lower(category));
+-- 归档任务按删除时间查找过期的软删除卡片，只落在 cards_deleted 分区
+create index idx_cards_deleted_at on cards (deleted_at) where status = 'DELETED';
+
+-- 归档表：删除超过 app.lifecycle.archive-after-days 天的卡片以 gzip 压缩的JSON保存，
+-- 超过 app.lifecycle.purge-after-days 天后物理删除
+create table cards_archive
+(
+    id          bigint       not null primary key,
+    category    varchar(100),
+    created_by  varchar(100),
+    created_at  timestamp(6) not null,
+    deleted_at  timestamp(6),
+    archived_at timestamp(6) not null,
+    payload     bytea        not null
+);
+
+-- payload 已压缩，不再由TOAST重复压缩
+alter table cards_archive alter column payload set storage external;
+
+create index idx_cards_archive_archived_at on cards_archive (archived_at);
@@ -0,0 +1,18 @@
+-- 卡片变更的事务发件箱：卡片的每次写操作在同一事务中追加一行，由 CardOutboxRelay 按ID顺序投递
+-- 行在事务提交前才插入，ID 基本按提交顺序递增；回滚留下的空洞由投递端等待超时后跳过
+create table if not exists card_outbox
+(
+    id         bigint generated by default as identity primary key,
+    card_id    bigint       not null,
+    event_type varchar(20)  not null,
+    payload    text,
+    created_at timestamp(6) not null
+);
+
+-- 投递进度：每个投递端已投递的最大事件ID，投递成功后更新，进程重启后从这里继续
+create table if not exists card_outbox_offset
+(
+    name       varchar(100) not null primary key,
+    last_id    bigint       not null,
+    updated_at timestamp(6) not null
+);
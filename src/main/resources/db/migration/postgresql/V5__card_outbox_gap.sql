@@ -0,0 +1,9 @@
+-- 投递端等待超时后跳过的事件ID。慢事务可能在跳过之后才提交，投递端在 gap-recheck-ms 内持续复查这些ID，
+-- 出现时补发，过期后删除
+create table if not exists card_outbox_gap
+(
+    id         bigint       not null primary key,
+    skipped_at timestamp(6) not null
+);
+
+create index if not exists idx_card_outbox_gap_skipped_at on card_outbox_gap (skipped_at);
@@ -0,0 +1,101 @@
+package com.archie.mind_card_server.benchmark;
+
+import com.archie.mind_card_server.search.SearchTokenizer;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 基准测试数据生成：按固定随机种子生成中英文混合的卡片
+ */
+public final class BenchmarkData {
+    
+    public static final String[] WORDS = {
+            "学习", "笔记", "项目", "管理", "健康", "运动", "旅行", "日本", "读书", "效率",
+            "专注", "团队", "协作", "计划", "总结", "思考", "设计", "架构", "数据库", "索引",
+            "Java", "Spring", "Boot", "PostgreSQL", "Redis", "Kafka", "Docker", "Linux", "API", "JVM"
+    };
+    
+    public static final String[] CATEGORIES = {"技术学习", "工作管理", "生活方式", "个人成长", "旅行计划"};
+    
+    private static final String[] STATUSES = {"ACTIVE", "ACTIVE", "ACTIVE", "ARCHIVED", "DELETED"};
+    
+    private static final String INSERT_SQL = "INSERT INTO cards (title, content, category, tags, priority, status, " +
+            "color, is_favorite, is_public, view_count, created_by, updated_by, created_at, updated_at, search_tokens) " +
+            "VALUES (?, ?, ?, ?, ?, ?, '#FFFFFF', ?, ?, ?, 'bench', 'bench', ?, ?, ?)";
+    
+    private BenchmarkData() {
+    }
+    
+    /**
+     * 批量插入 count 张卡片
+     */
+    public static void seedCards(JdbcTemplate jdbcTemplate, int count) {
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.now().minusDays(365);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            batch.add(randomCard(random, base));
+            if (batch.size() == 1000) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+    }
+    
+    /**
+     * 生成 count 张卡片的 NDJSON，格式与 /cards/import 一致；同一个 random 连续调用可分批生成
+     */
+    public static byte[] ndjson(Random random, int count) {
+        LocalDateTime base = LocalDateTime.now().minusDays(365);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            Object[] card = randomCard(random, base);
+            sb.append("{\"title\":\"").append(card[0])
+                    .append("\",\"content\":\"").append(card[1])
+                    .append("\",\"category\":\"").append(card[2])
+                    .append("\",\"tags\":\"").append(card[3])
+                    .append("\",\"priority\":").append(card[4])
+                    .append(",\"status\":\"").append(card[5])
+                    .append("\",\"isFavorite\":").append(card[6])
+                    .append(",\"isPublic\":").append(card[7])
+                    .append(",\"viewCount\":").append(card[8])
+                    .append(",\"createdAt\":\"").append(((Timestamp) card[9]).toLocalDateTime())
+                    .append("\"}\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    // 与 INSERT_SQL 的参数顺序一致
+    private static Object[] randomCard(Random random, LocalDateTime base) {
+        String title = words(random, 3);
+        String content = words(random, 60);
+        String tags = String.join(",", Arrays.asList(WORDS[random.nextInt(WORDS.length)], WORDS[random.nextInt(WORDS.length)]));
+        Timestamp createdAt = Timestamp.valueOf(base.plusSeconds(random.nextInt(365 * 24 * 3600)));
+        return new Object[]{
+                title, content, CATEGORIES[random.nextInt(CATEGORIES.length)], tags, random.nextInt(3),
+                STATUSES[random.nextInt(STATUSES.length)], random.nextInt(10) == 0, random.nextBoolean(),
+                random.nextInt(10000), createdAt, createdAt, SearchTokenizer.toIndexText(title, content, tags)};
+    }
+    
+    private static String words(Random random, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (sb.length() > 0 && !SearchTokenizer.isCjk(word.codePointAt(0))) {
+                sb.append(' ');
+            }
+            sb.append(word);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,163 @@
+package com.archie.mind_card_server.benchmark;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * 批量状态更新基准测试：对比逐行加载并更新实体（原 saveAll 路径）与按批执行的集合式UPDATE。
+ * <p>
+ * 需要一个PostgreSQL实例，数据写入独立的 mind_card_bench schema：
+ * <pre>
+ * mvn test -Dtest=BulkUpdateBenchmarkTests \
+ *   -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/mind_card \
+ *   -Dbench.jdbc.username=mind_card -Dbench.jdbc.password=123456 \
+ *   -Dbench.cards=100000 -Dbench.batch-sizes=1000,10000,50000
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "bench.jdbc.url", matches = ".+")
+class BulkUpdateBenchmarkTests {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    // Hibernate 对每个脏实体发出的UPDATE，包含所有列
+    private static final String ENTITY_UPDATE_SQL = "UPDATE cards SET title = ?, content = ?, category = ?, tags = ?, " +
+            "priority = ?, status = ?, color = ?, is_favorite = ?, is_public = ?, view_count = ?, created_by = ?, " +
+            "updated_by = ?, updated_at = ?, deleted_at = ?, search_tokens = ? WHERE id = ?";
+
+    private static SingleConnectionDataSource dataSource;
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private static TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void connect() {
+        dataSource = new SingleConnectionDataSource(System.getProperty("bench.jdbc.url"),
+                System.getProperty("bench.jdbc.username", "mind_card"),
+                System.getProperty("bench.jdbc.password", ""), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS mind_card_bench");
+        jdbcTemplate.execute("SET search_path TO mind_card_bench");
+        recreateTable();
+        BenchmarkData.seedCards(jdbcTemplate, Integer.getInteger("bench.cards", 100_000));
+        jdbcTemplate.execute("ANALYZE cards");
+    }
+
+    @AfterAll
+    static void disconnect() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS mind_card_bench CASCADE");
+        dataSource.destroy();
+    }
+
+    @Test
+    void compareEntityAndSetBasedUpdates() {
+        List<Integer> batchSizes = List.of(System.getProperty("bench.batch-sizes", "1000,10000,50000").split(",")).stream()
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .collect(Collectors.toList());
+        long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM cards", Long.class);
+
+        System.out.printf("%-10s %14s %14s %14s%n", "ids", "entity(ms)", "in-list(ms)", "any-array(ms)");
+        for (int batchSize : batchSizes) {
+            List<Long> ids = LongStream.rangeClosed(1, maxId).boxed().collect(Collectors.toList());
+            Collections.shuffle(ids, new Random(7));
+            List<Long> target = ids.subList(0, Math.min(batchSize, ids.size()));
+
+            double entity = timed(target, BulkUpdateBenchmarkTests::entityUpdate);
+            double inList = timed(target, BulkUpdateBenchmarkTests::inListUpdate);
+            double anyArray = timed(target, BulkUpdateBenchmarkTests::anyArrayUpdate);
+            System.out.printf("%-10d %14.1f %14.1f %14.1f%n", target.size(), entity, inList, anyArray);
+        }
+    }
+
+    // 原实现：按ID加载整行，再逐行UPDATE
+    private static void entityUpdate(List<Long> ids) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            String placeholders = chunk.stream().map(id -> "?").collect(Collectors.joining(","));
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT * FROM cards WHERE id IN (" + placeholders + ")", chunk.toArray());
+            for (Map<String, Object> row : rows) {
+                jdbcTemplate.update(ENTITY_UPDATE_SQL, row.get("title"), row.get("content"), row.get("category"),
+                        row.get("tags"), row.get("priority"), "DELETED", row.get("color"), row.get("is_favorite"),
+                        row.get("is_public"), row.get("view_count"), row.get("created_by"), row.get("updated_by"),
+                        now, now, row.get("search_tokens"), row.get("id"));
+            }
+        }
+    }
+
+    // 新实现：每批一条 UPDATE ... WHERE id IN (...)
+    private static void inListUpdate(List<Long> ids) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            String placeholders = chunk.stream().map(id -> "?").collect(Collectors.joining(","));
+            Object[] args = new Object[chunk.size() + 2];
+            args[0] = now;
+            args[1] = now;
+            System.arraycopy(chunk.toArray(), 0, args, 2, chunk.size());
+            jdbcTemplate.update("UPDATE cards SET status = 'DELETED', deleted_at = ?, updated_at = ? " +
+                    "WHERE id IN (" + placeholders + ")", args);
+        }
+    }
+
+    // 对照：每批一条 UPDATE ... WHERE id = ANY(?)，ID以数组参数传入
+    private static void anyArrayUpdate(List<Long> ids) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            jdbcTemplate.update(connection -> {
+                Array array = connection.createArrayOf("bigint", chunk.toArray());
+                var ps = connection.prepareStatement(
+                        "UPDATE cards SET status = 'DELETED', deleted_at = ?, updated_at = ? WHERE id = ANY(?)");
+                ps.setTimestamp(1, now);
+                ps.setTimestamp(2, now);
+                ps.setArray(3, array);
+                return ps;
+            });
+        }
+    }
+
+    // 在事务中执行后回滚，保证每种方式面对相同的数据
+    private static double timed(List<Long> ids, Consumer<List<Long>> action) {
+        long[] elapsed = new long[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            long start = System.nanoTime();
+            action.accept(ids);
+            elapsed[0] = System.nanoTime() - start;
+            status.setRollbackOnly();
+        });
+        return elapsed[0] / 1_000_000.0;
+    }
+
+    private static void recreateTable() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS cards");
+        jdbcTemplate.execute("CREATE TABLE cards (" +
+                "id bigint generated by default as identity primary key, " +
+                "title varchar(200) not null, content text, category varchar(100), tags varchar(500), " +
+                "priority integer default 0, status varchar(20) default 'ACTIVE', color varchar(20), " +
+                "is_favorite boolean default false, is_public boolean default false, view_count integer default 0, " +
+                "created_by varchar(100), updated_by varchar(100), created_at timestamp(6) not null, " +
+                "updated_at timestamp(6), deleted_at timestamp(6), search_tokens text)");
+        jdbcTemplate.execute("CREATE INDEX idx_cards_status ON cards(status)");
+    }
+}
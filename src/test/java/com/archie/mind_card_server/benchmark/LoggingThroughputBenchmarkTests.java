@@ -0,0 +1,119 @@
+package com.archie.mind_card_server.benchmark;
+
+import com.archie.mind_card_server.MindCardServerApplication;
+import com.archie.mind_card_server.service.CardExportService;
+import com.archie.mind_card_server.service.CardImportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 日志基准测试：对比同步日志与 prod 日志配置下按ID获取卡片接口的吞吐量。
+ * <ul>
+ *     <li>sync-debug：同步文件输出，请求级日志和SQL日志全部打开，相当于改动前的默认配置</li>
+ *     <li>async-debug：prod 的异步输出，日志量与 sync-debug 相同</li>
+ *     <li>prod：异步输出，请求级日志关闭，访问日志按1%采样</li>
+ * </ul>
+ * <pre>
+ * mvn test -Dtest=LoggingThroughputBenchmarkTests -Dlogging.bench=true \
+ *   -Dlogging.bench.requests=50000 -Dlogging.bench.threads=32
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "logging.bench", matches = "true")
+class LoggingThroughputBenchmarkTests {
+
+    private static final int CARDS = 1000;
+
+    private static final int REQUESTS = Integer.getInteger("logging.bench.requests", 50_000);
+
+    private static final int THREADS = Integer.getInteger("logging.bench.threads", 32);
+
+    @Test
+    void compareLoggingConfigurations() throws Exception {
+        List<String> results = new ArrayList<>();
+        results.add(run("sync-debug", "test", "DEBUG", "DEBUG", "DEBUG", 1.0));
+        results.add(run("async-debug", "test,prod", "DEBUG", "DEBUG", "DEBUG", 1.0));
+        results.add(run("prod", "test,prod", "INFO", "WARN", "WARN", 0.01));
+        results.forEach(System.out::println);
+    }
+
+    private String run(String name, String profiles, String appLevel, String webLevel, String sqlLevel,
+                       double sampleRate) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MindCardServerApplication.class)
+                .profiles(profiles.split(","))
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:logging_" + name.replace('-', '_') + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.file.name=target/logging-bench/" + name + ".log",
+                        "--app.access-log.file=target/logging-bench/" + name + "-access.log",
+                        "--app.access-log.sample-rate=" + sampleRate,
+                        "--logging.level.com.archie.mind_card_server=" + appLevel,
+                        "--logging.level.org.springframework.web=" + webLevel,
+                        "--logging.level.org.hibernate.SQL=" + sqlLevel)) {
+            seed(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port + "/api/cards/";
+
+            // 预热
+            load(baseUrl, Math.min(REQUESTS, 5000));
+            long start = System.nanoTime();
+            int errors = load(baseUrl, REQUESTS);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            return String.format("%-12s requests=%d threads=%d errors=%d throughput=%.0f req/s",
+                    name, REQUESTS, THREADS, errors, REQUESTS / seconds);
+        }
+    }
+
+    private void seed(ConfigurableApplicationContext context) throws Exception {
+        byte[] cards = BenchmarkData.ndjson(new Random(42), CARDS);
+        context.getBean(CardImportService.class)
+                .importCards(CardExportService.Format.NDJSON, new ByteArrayInputStream(cards));
+    }
+
+    // 固定线程数的闭环压测，每个线程收到响应后再发下一个请求
+    private int load(String baseUrl, int requests) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        AtomicInteger remaining = new AtomicInteger(requests);
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        URI uri = URI.create(baseUrl + (1 + ThreadLocalRandom.current().nextInt(CARDS)));
+                        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 500) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return errors.get();
+    }
+}
@@ -0,0 +1,106 @@
+package com.archie.mind_card_server.benchmark;
+
+import com.archie.mind_card_server.search.PostgresFullTextSearchEngine;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 搜索基准测试：对比 LIKE '%kw%' 与 tsvector + GIN 全文检索在不同数据量下的延迟。
+ * <p>
+ * 需要一个PostgreSQL实例，数据写入独立的 mind_card_bench schema：
+ * <pre>
+ * mvn test -Dtest=SearchBenchmarkTests \
+ *   -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/mind_card \
+ *   -Dbench.jdbc.username=mind_card -Dbench.jdbc.password=123456 \
+ *   -Dbench.sizes=10000,100000,1000000
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "bench.jdbc.url", matches = ".+")
+class SearchBenchmarkTests {
+
+    private static final String LIKE_SQL = "SELECT id FROM cards WHERE " +
+            "(LOWER(title) LIKE LOWER(CONCAT('%', ?, '%')) OR LOWER(content) LIKE LOWER(CONCAT('%', ?, '%'))) " +
+            "AND status = 'ACTIVE' ORDER BY created_at DESC LIMIT 10";
+
+    private static final String FULL_TEXT_SQL = "SELECT id FROM cards WHERE status = 'ACTIVE' " +
+            "AND search_vector @@ to_tsquery('simple', ?) " +
+            "ORDER BY ts_rank(search_vector, to_tsquery('simple', ?)) DESC, created_at DESC LIMIT 10";
+
+    private static final List<String> KEYWORDS = List.of("学习", "数据库索引", "spring", "Kafka", "团队协作计划");
+
+    private static final int ITERATIONS = 20;
+
+    private static SingleConnectionDataSource dataSource;
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void connect() {
+        dataSource = new SingleConnectionDataSource(System.getProperty("bench.jdbc.url"),
+                System.getProperty("bench.jdbc.username", "mind_card"),
+                System.getProperty("bench.jdbc.password", ""), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS mind_card_bench");
+        jdbcTemplate.execute("SET search_path TO mind_card_bench");
+    }
+
+    @AfterAll
+    static void disconnect() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS mind_card_bench CASCADE");
+        dataSource.destroy();
+    }
+
+    @Test
+    void compareLikeAndFullText() {
+        List<Integer> sizes = Arrays.stream(System.getProperty("bench.sizes", "10000,100000,1000000").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .collect(Collectors.toList());
+
+        System.out.printf("%-10s %-14s %12s %12s%n", "cards", "keyword", "like(ms)", "fulltext(ms)");
+        for (int size : sizes) {
+            recreateTable();
+            BenchmarkData.seedCards(jdbcTemplate, size);
+            jdbcTemplate.execute("ANALYZE cards");
+
+            for (String keyword : KEYWORDS) {
+                String tsQuery = PostgresFullTextSearchEngine.toTsQuery(keyword);
+                double like = averageMillis(LIKE_SQL, keyword, keyword);
+                double fullText = averageMillis(FULL_TEXT_SQL, tsQuery, tsQuery);
+                System.out.printf("%-10d %-14s %12.2f %12.2f%n", size, keyword, like, fullText);
+            }
+        }
+    }
+
+    private double averageMillis(String sql, Object... args) {
+        // 预热
+        jdbcTemplate.queryForList(sql, Long.class, args);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            jdbcTemplate.queryForList(sql, Long.class, args);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+    }
+
+    private void recreateTable() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS cards");
+        jdbcTemplate.execute("CREATE TABLE cards (" +
+                "id bigint generated by default as identity primary key, " +
+                "title varchar(200) not null, content text, category varchar(100), tags varchar(500), " +
+                "priority integer default 0, status varchar(20) default 'ACTIVE', color varchar(20), " +
+                "is_favorite boolean default false, is_public boolean default false, view_count integer default 0, " +
+                "created_by varchar(100), updated_by varchar(100), created_at timestamp(6) not null, " +
+                "updated_at timestamp(6), deleted_at timestamp(6), search_tokens text, " +
+                "search_vector tsvector generated always as (to_tsvector('simple', coalesce(search_tokens, ''))) stored)");
+        jdbcTemplate.execute("CREATE INDEX idx_cards_status ON cards(status)");
+        jdbcTemplate.execute("CREATE INDEX idx_cards_search_vector ON cards USING GIN (search_vector)");
+    }
+}
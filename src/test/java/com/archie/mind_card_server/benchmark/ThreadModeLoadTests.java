@@ -0,0 +1,138 @@
+package com.archie.mind_card_server.benchmark;
+
+import com.archie.mind_card_server.MindCardServerApplication;
+import com.archie.mind_card_server.service.CardExportService;
+import com.archie.mind_card_server.service.CardImportService;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 负载测试：对比平台线程与虚拟线程模式下搜索和详情接口的吞吐量与延迟。
+ * <p>
+ * 虚拟线程模式需要在Java 21上运行：
+ * <pre>
+ * mvn -P java21 test -Dtest=ThreadModeLoadTests -Dload.test=true \
+ *   -Dload.cards=10000 -Dload.requests=20000 -Dload.concurrency=1000
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "load.test", matches = "true")
+class ThreadModeLoadTests {
+
+    private static final int CARDS = Integer.getInteger("load.cards", 10_000);
+
+    private static final int REQUESTS = Integer.getInteger("load.requests", 20_000);
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 1000);
+
+    private static final String[] KEYWORDS = {"学习", "数据库索引", "spring", "Kafka", "团队协作"};
+
+    @Test
+    void platformThreads() throws Exception {
+        run(false);
+    }
+
+    @Test
+    void virtualThreads() throws Exception {
+        Assumptions.assumeTrue(Runtime.version().feature() >= 21, "虚拟线程需要Java 21");
+        run(true);
+    }
+
+    private void run(boolean virtual) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MindCardServerApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--spring.datasource.url=jdbc:h2:mem:load_" + virtual + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.archie.mind_card_server=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN")) {
+            seed(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port + "/api/cards";
+
+            // 预热
+            load(baseUrl, Math.min(REQUESTS, 2000));
+            Result result = load(baseUrl, REQUESTS);
+            System.out.printf("%-10s requests=%d concurrency=%d errors=%d throughput=%.0f req/s p50=%.1f ms p99=%.1f ms%n",
+                    virtual ? "virtual" : "platform", REQUESTS, CONCURRENCY, result.errors(),
+                    result.throughput(), result.p50(), result.p99());
+        }
+    }
+
+    private void seed(ConfigurableApplicationContext context) throws Exception {
+        CardImportService importService = context.getBean(CardImportService.class);
+        Random random = new Random(42);
+        for (int imported = 0; imported < CARDS; imported += 10_000) {
+            byte[] batch = BenchmarkData.ndjson(random, Math.min(10_000, CARDS - imported));
+            importService.importCards(CardExportService.Format.NDJSON, new ByteArrayInputStream(batch));
+        }
+    }
+
+    // 一半为关键字搜索，一半为按ID获取卡片
+    private Result load(String baseUrl, int requests) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(requests));
+        AtomicInteger errors = new AtomicInteger();
+        Random random = new Random(7);
+        List<CompletableFuture<?>> futures = new ArrayList<>(requests);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            String url = i % 2 == 0
+                    ? baseUrl + "/search?keyword=" + URLEncoder.encode(KEYWORDS[random.nextInt(KEYWORDS.length)], StandardCharsets.UTF_8)
+                    : baseUrl + "/" + (1 + random.nextInt(CARDS));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(60)).build();
+
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        inFlight.release();
+                        latencies.add(System.nanoTime() - sent);
+                        if (error != null || response.statusCode() >= 500) {
+                            errors.incrementAndGet();
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).handle((v, e) -> null).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new Result(requests / seconds, percentile(sorted, 0.50), percentile(sorted, 0.99), errors.get());
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = Math.min(sorted.size() - 1, (int) Math.ceil(p * sorted.size()) - 1);
+        return sorted.get(Math.max(index, 0)) / 1_000_000.0;
+    }
+
+    private record Result(double throughput, double p50, double p99, int errors) {
+    }
+}
@@ -0,0 +1,156 @@
+package com.archie.mind_card_server.concurrent;
+
+import com.archie.mind_card_server.exception.SingleFlightTimeoutException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightGroupTests {
+
+    private static final int CALLERS = 50;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SingleFlightGroup group = new SingleFlightGroup(meterRegistry, true, 5000);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsShareOneExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Object value = new Object();
+
+        List<Future<Object>> results = callConcurrently(() -> group.execute("test", "key", () -> {
+            executions.incrementAndGet();
+            await(release);
+            return value;
+        }));
+        awaitFollowers(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            assertSame(value, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1, calls("leader"));
+        assertEquals(CALLERS - 1, calls("follower"));
+
+        // 完成后不再共享，再次调用重新执行
+        group.execute("test", "key", executions::incrementAndGet);
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void leaderExceptionPropagatesToAllCallers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Object>> results = callConcurrently(() -> group.execute("test", "error", () -> {
+            await(release);
+            throw new IllegalStateException("查询失败");
+        }));
+        awaitFollowers(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void followersTimeOutAndExpiredFlightsAreNotJoined() throws Exception {
+        SingleFlightGroup shortTimeout = new SingleFlightGroup(meterRegistry, true, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> leader = executor.submit(() -> shortTimeout.execute("test", "slow", () -> {
+            await(release);
+            return "slow";
+        }));
+        awaitLeaders(1);
+
+        assertThrows(SingleFlightTimeoutException.class, () -> shortTimeout.execute("test", "slow", () -> "follower"));
+        assertEquals(1, calls("timeout"));
+
+        // leader 已执行超过超时时间，新的调用自己执行
+        assertEquals("fresh", shortTimeout.execute("test", "slow", () -> "fresh"));
+
+        release.countDown();
+        assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void differentKeysDoNotShare() {
+        assertEquals("a", group.execute("test", "a", () -> "a"));
+        assertEquals("b", group.execute("test", "b", () -> "b"));
+        assertEquals(2, calls("leader"));
+    }
+
+    private List<Future<Object>> callConcurrently(Callable<Object> call) {
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+        return results;
+    }
+
+    // 等待 leader 开始执行、其余调用都阻塞在 join 中
+    private void awaitFollowers(int followers) throws InterruptedException {
+        awaitLeaders(1);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (waitingThreads() < followers && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void awaitLeaders(int leaders) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (calls("leader") < leaders && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private long waitingThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getState() == Thread.State.TIMED_WAITING
+                        || thread.getState() == Thread.State.WAITING)
+                .filter(thread -> Arrays.stream(thread.getStackTrace())
+                        .anyMatch(frame -> frame.getMethodName().equals("join")
+                                && frame.getClassName().equals(SingleFlightGroup.class.getName())))
+                .count();
+    }
+
+    private long calls(String role) {
+        var counter = meterRegistry.find("card.singleflight.calls").tag("role", role).counter();
+        return counter == null ? 0 : (long) counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.archie.mind_card_server.config;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.service.CardService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * 读写分离：两个独立的H2内存库分别作为主库和副本，副本中的数据与主库不同，
+ * 通过读到的数据判断只读事务使用了哪个库。
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replica.targets[0].url=" + ReplicaRoutingDataSourceTests.REPLICA_URL,
+        "app.datasource.replica.targets[0].username=sa",
+        "app.datasource.replica.targets[0].password=",
+        "app.datasource.replica.health-check-interval-ms=100",
+        "app.datasource.replica.max-lag-ms=1000",
+        "app.datasource.replica.lag-query=SELECT lag_ms FROM replica_lag"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingDataSourceTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    private static final String REPLICA_ONLY_TITLE = "只在副本中的卡片";
+
+    private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private CardService cardService;
+
+    @BeforeAll
+    static void createReplica() {
+        replica.execute("CREATE TABLE IF NOT EXISTS cards (id BIGINT PRIMARY KEY, title VARCHAR(200) NOT NULL, " +
+                "content CLOB, category VARCHAR(100), tags VARCHAR(500), priority INTEGER, status VARCHAR(20), " +
+                "color VARCHAR(20), is_favorite BOOLEAN, is_public BOOLEAN, view_count INTEGER, " +
+                "created_by VARCHAR(100), updated_by VARCHAR(100), created_at TIMESTAMP NOT NULL, " +
+                "updated_at TIMESTAMP, deleted_at TIMESTAMP, version BIGINT DEFAULT 0 NOT NULL, search_tokens CLOB)");
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_ms BIGINT)");
+        replica.update("DELETE FROM cards");
+        replica.update("DELETE FROM replica_lag");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+        replica.update("INSERT INTO cards (id, title, status, created_at) VALUES (1000000, ?, 'ACTIVE', CURRENT_TIMESTAMP)",
+                REPLICA_ONLY_TITLE);
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplicaUntilItLags() {
+        CardDTO card = new CardDTO();
+        card.setTitle("只在主库中的卡片");
+        cardService.createCard(card);
+
+        // 写入走主库，只读查询走副本
+        await().atMost(Duration.ofSeconds(5)).until(() -> titles().contains(REPLICA_ONLY_TITLE));
+        assertFalse(titles().contains(card.getTitle()));
+
+        // 副本延迟超过阈值后回退到主库
+        replica.update("UPDATE replica_lag SET lag_ms = 60000");
+        await().atMost(Duration.ofSeconds(5)).until(() -> titles().contains(card.getTitle()));
+        assertFalse(titles().contains(REPLICA_ONLY_TITLE));
+
+        replica.update("UPDATE replica_lag SET lag_ms = 0");
+        await().atMost(Duration.ofSeconds(5)).until(() -> titles().contains(REPLICA_ONLY_TITLE));
+    }
+
+    @Test
+    void writesAlwaysUsePrimary() {
+        CardDTO card = new CardDTO();
+        card.setTitle("写入主库");
+        CardDTO created = cardService.createCard(card);
+
+        assertEquals(0, (int) replica.queryForObject("SELECT COUNT(*) FROM cards WHERE id = ?", Integer.class,
+                created.getId()));
+        assertEquals("写入主库", cardService.updateStatus(created.getId(), created.getStatus()).getTitle());
+    }
+
+    @Test
+    void cacheLoadsUsePrimary() {
+        await().atMost(Duration.ofSeconds(5)).until(() -> titles().contains(REPLICA_ONLY_TITLE));
+        CardDTO card = new CardDTO();
+        card.setTitle("缓存读取主库");
+        card.setCategory("读写分离");
+        CardDTO created = cardService.createCard(card);
+
+        // 副本中没有这张卡片，从副本加载会找不到或把旧数据写入缓存
+        assertEquals("缓存读取主库", cardService.getCardById(created.getId()).getTitle());
+        created.setTitle("更新后读取主库");
+        cardService.updateCard(created.getId(), created);
+        assertEquals("更新后读取主库", cardService.getCardById(created.getId()).getTitle());
+        assertEquals(List.of("更新后读取主库"),
+                cardService.getCardsByCategory("读写分离").stream().map(CardDTO::getTitle).toList());
+    }
+
+    @Test
+    void connectionsWithCredentialsFollowRouting() throws Exception {
+        DataSource primary = new DriverManagerDataSource("jdbc:h2:mem:primary-credentials;DB_CLOSE_DELAY=-1", "sa", "");
+        DataSource replicaDataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        try (ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary,
+                List.of(new ReplicaRoutingDataSource.Replica("replica", replicaDataSource)),
+                1000, null, 60_000, new SimpleMeterRegistry())) {
+            router.checkReplicas();
+
+            assertEquals("jdbc:h2:mem:replica", url(router.getConnection("sa", "")));
+            assertEquals("jdbc:h2:mem:replica", url(router.getConnection()));
+            assertEquals("jdbc:h2:mem:primary-credentials",
+                    ReplicaRoutingDataSource.onPrimary(() -> url(router, "sa", "")));
+        }
+    }
+
+    private static String url(ReplicaRoutingDataSource router, String username, String password) {
+        try {
+            return url(router.getConnection(username, password));
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String url(Connection connection) throws SQLException {
+        try (connection) {
+            return connection.getMetaData().getURL();
+        }
+    }
+
+    private List<String> titles() {
+        return cardService.getAllCards().stream().map(CardDTO::getTitle).toList();
+    }
+}
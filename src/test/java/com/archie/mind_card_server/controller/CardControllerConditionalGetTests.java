@@ -0,0 +1,78 @@
+package com.archie.mind_card_server.controller;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.service.CardService;
+import com.archie.mind_card_server.service.ViewCountService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CardControllerConditionalGetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private ViewCountService viewCountService;
+
+    @Test
+    void listReturnsNotModifiedUntilACardInItChanges() throws Exception {
+        CardDTO card = new CardDTO();
+        card.setTitle("条件请求");
+        card.setCategory("条件请求测试");
+        card = cardService.createCard(card);
+
+        String eTag = eTagOf("/cards/category/条件请求测试?view=summary");
+        mockMvc.perform(get("/cards/category/条件请求测试?view=summary").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        // 同一查询的完整视图使用不同的ETag
+        assertNotEquals(eTag, eTagOf("/cards/category/条件请求测试"));
+
+        // 查看次数写回数据库不改变列表的ETag，缓存中的列表也不随之失效
+        cardService.incrementViewCount(card.getId());
+        viewCountService.flush();
+        mockMvc.perform(get("/cards/category/条件请求测试?view=summary").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        cardService.toggleFavorite(card.getId());
+        mockMvc.perform(get("/cards/category/条件请求测试?view=summary").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void cardETagFollowsVersion() throws Exception {
+        CardDTO card = new CardDTO();
+        card.setTitle("条件请求单卡片");
+        card = cardService.createCard(card);
+
+        String eTag = eTagOf("/cards/" + card.getId());
+        mockMvc.perform(get("/cards/" + card.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        cardService.togglePublic(card.getId());
+        mockMvc.perform(get("/cards/" + card.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    private String eTagOf(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
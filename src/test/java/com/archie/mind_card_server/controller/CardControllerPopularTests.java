@@ -0,0 +1,128 @@
+package com.archie.mind_card_server.controller;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.ranking.PopularityRanking;
+import com.archie.mind_card_server.repository.CardRepository;
+import com.archie.mind_card_server.service.CardService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 热门卡片分页：累计排行只在内存中保留 top-k，超出部分查询数据库，
+ * 查看次数尚未写回数据库时，逐页遍历也不能重复或遗漏卡片
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:popular",
+        "app.ranking.top-k=3",
+        "app.ranking.refresh-interval-ms=3600000",
+        "app.view-count.flush-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CardControllerPopularTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private PopularityRanking popularityRanking;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void pagesAcrossTopKBoundaryHaveNoDuplicatesOrGaps() throws Exception {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            CardDTO card = new CardDTO();
+            card.setTitle("热门分页" + i);
+            created.add(cardService.createCard(card).getId());
+        }
+        // 查看次数只在内存中，数据库里仍为0
+        for (int i = 0; i < 50; i++) {
+            cardService.incrementViewCount(created.get(5));
+        }
+        for (int i = 0; i < 20; i++) {
+            cardService.incrementViewCount(created.get(1));
+        }
+        popularityRanking.refresh();
+
+        double leaders = singleFlightLeaders();
+        List<Long> walked = new ArrayList<>();
+        int pages = 0;
+        JsonNode page;
+        do {
+            // 按 last 判断是否结束，不依赖空页
+            page = data("/cards/popular?page=" + pages + "&size=2");
+            page.get("content").forEach(card -> walked.add(card.get("id").asLong()));
+            pages++;
+        } while (!page.get("last").asBoolean());
+        // 每一页都经过按窗口和分页合并的调用
+        assertEquals(leaders + pages, singleFlightLeaders());
+
+        Set<Long> active = new HashSet<>();
+        cardRepository.findAll().stream()
+                .filter(card -> card.getStatus() == Card.CardStatus.ACTIVE)
+                .forEach(card -> active.add(card.getId()));
+        assertEquals(walked.size(), new HashSet<>(walked).size(), "重复的卡片: " + walked);
+        assertEquals(active, new HashSet<>(walked));
+        assertEquals(List.of(created.get(5), created.get(1)), walked.subList(0, 2));
+
+        // 衰减窗口只有内存排行，不回退到按累计查看次数查询数据库
+        JsonNode day = data("/cards/popular?window=24h&page=0&size=2");
+        assertEquals(2, day.get("totalElements").asInt());
+        assertTrue(day.get("last").asBoolean());
+        assertTrue(data("/cards/popular?window=24h&page=1&size=2").get("content").isEmpty());
+    }
+
+    @Test
+    void cursorPagingRejectsDecayedWindows() throws Exception {
+        mockMvc.perform(get("/cards/popular").param("cursor", "").param("window", "24h"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/cards/popular").param("cursor", "").param("window", "24h").param("view", "summary"))
+                .andExpect(status().isBadRequest());
+        assertTrue(data("/cards/popular?cursor=&window=all").has("content"));
+    }
+
+    private double singleFlightLeaders() {
+        Counter counter = meterRegistry.find("card.singleflight.calls")
+                .tags("name", "CardServiceImpl.getPopularCards(PopularityWindow,Pageable)", "role", "leader")
+                .counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private JsonNode data(String url) throws Exception {
+        String body = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("data");
+    }
+}
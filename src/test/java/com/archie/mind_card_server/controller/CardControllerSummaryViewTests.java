@@ -0,0 +1,92 @@
+package com.archie.mind_card_server.controller;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.service.CardService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 摘要视图：每个支持 view=summary 的列表，摘要不含正文，其余字段和顺序与完整视图一致
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CardControllerSummaryViewTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/cards",
+            "/cards/page?size=5",
+            "/cards/page?cursor=&size=5",
+            "/cards/status/ACTIVE?size=5",
+            "/cards/status/ACTIVE?cursor=&size=5",
+            "/cards/category/摘要视图",
+            "/cards/priority/2",
+            "/cards/favorites",
+            "/cards/public",
+            "/cards/popular?size=5",
+            "/cards/popular?cursor=&size=5"
+    })
+    void summaryMatchesFullViewWithoutContent(String url) throws Exception {
+        for (int i = 0; i < 3; i++) {
+            CardDTO card = new CardDTO();
+            card.setTitle("摘要视图" + i);
+            card.setContent("正文" + i);
+            card.setCategory("摘要视图");
+            card.setPriority(2);
+            card.setIsFavorite(true);
+            card.setIsPublic(true);
+            cardService.createCard(card);
+        }
+
+        JsonNode full = items(url);
+        JsonNode summary = items(url + (url.contains("?") ? "&" : "?") + "view=summary");
+
+        assertTrue(full.size() > 0, url);
+        assertEquals(full.size(), summary.size(), url);
+        for (int i = 0; i < full.size(); i++) {
+            JsonNode fullCard = full.get(i);
+            JsonNode summaryCard = summary.get(i);
+            assertTrue(fullCard.has("content"), url);
+            assertFalse(summaryCard.has("content"), url);
+            for (Iterator<Map.Entry<String, JsonNode>> fields = summaryCard.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                assertEquals(fullCard.get(field.getKey()), field.getValue(), url + " " + field.getKey());
+            }
+        }
+    }
+
+    // 列表接口的 data 为数组，分页接口的 data.content 为数组
+    private JsonNode items(String url) throws Exception {
+        String body = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode data = objectMapper.readTree(body).get("data");
+        return data.isArray() ? data : data.get("content");
+    }
+}
@@ -0,0 +1,176 @@
+package com.archie.mind_card_server.controller;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.repository.CardRepository;
+import com.archie.mind_card_server.service.CardService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 流式接口：按游标逐页查询，结果与完整排序一致，limit 截断后不再查询后续页
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive",
+        "app.reactive.page-size=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReactiveCardControllerTests {
+
+    // CardRepository 各方法的调用次数
+    private static final Map<String, AtomicInteger> CALLS = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void createCards() {
+        for (int i = 0; i < 5; i++) {
+            CardDTO card = new CardDTO();
+            card.setTitle("流式读取" + i);
+            card.setIsPublic(i % 2 == 0);
+            cardService.createCard(card);
+        }
+        CALLS.clear();
+    }
+
+    @Test
+    void publicCardsArePagedThroughCursorQueries() throws Exception {
+        List<Long> expected = cardRepository.findAll().stream()
+                .filter(card -> Boolean.TRUE.equals(card.getIsPublic()) && card.getStatus() == Card.CardStatus.ACTIVE)
+                .sorted(Comparator.comparing(Card::getCreatedAt).thenComparing(Card::getId).reversed())
+                .map(Card::getId)
+                .toList();
+        CALLS.clear();
+
+        assertEquals(expected, stream("/reactive/cards/public"));
+        assertEquals(1, calls("findFirstPublic"));
+        assertEquals((expected.size() - 1) / 2, calls("findAfterPublic"));
+        // 不再一次读取整个缓存列表
+        assertEquals(0, calls("findByIsPublicAndStatus"));
+    }
+
+    @Test
+    void streamsMatchCursorOrder() throws Exception {
+        List<Long> all = cardRepository.findAll().stream()
+                .sorted(Comparator.comparing(Card::getCreatedAt).thenComparing(Card::getId).reversed())
+                .map(Card::getId)
+                .toList();
+        assertEquals(all, stream("/reactive/cards"));
+
+        List<Long> searched = stream("/reactive/cards/search?keyword=流式读取");
+        assertEquals(all.stream().filter(searched::contains).toList(), searched);
+        assertEquals(cardRepository.findAll().stream()
+                .filter(card -> card.getTitle().startsWith("流式读取") && card.getStatus() == Card.CardStatus.ACTIVE)
+                .count(), searched.size());
+
+        List<Long> popular = stream("/reactive/cards/popular");
+        assertEquals(cardRepository.findAll().stream()
+                .filter(card -> card.getStatus() == Card.CardStatus.ACTIVE)
+                .count(), popular.size());
+    }
+
+    @Test
+    void limitStopsReadingFurtherPages() throws Exception {
+        assertEquals(3, stream("/reactive/cards?limit=3").size());
+        // 第一页2条，第二页取到第3条后取消，不再读取第三页
+        assertEquals(1, calls("findFirstByCreatedAt"));
+        assertEquals(1, calls("findAfterByCreatedAt"));
+    }
+
+    @Test
+    void limitAtPageBoundaryDoesNotReadAhead() throws Exception {
+        assertEquals(2, stream("/reactive/cards?limit=2").size());
+        // 第一页正好取完，没有更多请求，不预读第二页
+        assertEquals(1, calls("findFirstByCreatedAt"));
+        assertEquals(0, calls("findAfterByCreatedAt"));
+    }
+
+    private List<Long> stream(String url) throws Exception {
+        MvcResult started = mockMvc.perform(get(url).accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return Arrays.stream(body.split("\n"))
+                .filter(line -> !line.isBlank())
+                .map(this::readId)
+                .toList();
+    }
+
+    private Long readId(String line) {
+        try {
+            return objectMapper.readTree(line).get("id").asLong();
+        } catch (Exception e) {
+            throw new IllegalStateException(line, e);
+        }
+    }
+
+    private static int calls(String method) {
+        AtomicInteger count = CALLS.get(method);
+        return count != null ? count.get() : 0;
+    }
+
+    @TestConfiguration
+    static class CountingConfig {
+
+        @Bean
+        static BeanPostProcessor countingCardRepository() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof CardRepository)) {
+                        return bean;
+                    }
+                    return Proxy.newProxyInstance(bean.getClass().getClassLoader(),
+                            ClassUtils.getAllInterfaces(bean), (proxy, method, args) -> {
+                                CALLS.computeIfAbsent(method.getName(), name -> new AtomicInteger()).incrementAndGet();
+                                try {
+                                    return method.invoke(bean, args);
+                                } catch (InvocationTargetException e) {
+                                    throw e.getCause();
+                                }
+                            });
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.archie.mind_card_server.dto;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageCursorTests {
+
+    @Test
+    void roundTripsCreatedAtAndViewCount() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 0, 0, 123_456_000);
+        PageCursor byCreatedAt = PageCursor.decode(PageCursor.ofCreatedAt(createdAt, 42L).encode(), PageCursor.CREATED_AT);
+        assertEquals(createdAt, byCreatedAt.createdAt());
+        assertEquals(42L, byCreatedAt.id());
+
+        // 整分钟的时间 toString 省略秒，也能解析回来
+        LocalDateTime minute = LocalDateTime.of(2024, 3, 1, 12, 0);
+        assertEquals(minute, PageCursor.decode(PageCursor.ofCreatedAt(minute, 1L).encode(), PageCursor.CREATED_AT)
+                .createdAt());
+
+        PageCursor byViewCount = PageCursor.decode(PageCursor.ofViewCount(7, 3L).encode(), PageCursor.VIEW_COUNT);
+        assertEquals(7, byViewCount.viewCount());
+        assertEquals(3L, byViewCount.id());
+        assertEquals(0, PageCursor.decode(PageCursor.ofViewCount(null, 3L).encode(), PageCursor.VIEW_COUNT).viewCount());
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String token = PageCursor.ofCreatedAt(LocalDateTime.of(2024, 12, 31, 23, 59, 59), Long.MAX_VALUE).encode();
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void blankCursorIsFirstPage() {
+        assertNull(PageCursor.decode(null, PageCursor.CREATED_AT));
+        assertNull(PageCursor.decode("", PageCursor.CREATED_AT));
+        assertNull(PageCursor.decode("  ", PageCursor.VIEW_COUNT));
+    }
+
+    @Test
+    void cursorOfAnotherSortIsRejected() {
+        String token = PageCursor.ofViewCount(5, 1L).encode();
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(token, PageCursor.CREATED_AT));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "not base64!",
+            "createdAt|2024-03-01T12:00",
+            "createdAt|2024-03-01T12:00|1|2",
+            "createdAt|yesterday|1",
+            "createdAt|2024-03-01T12:00|abc",
+            "viewCount|many|1",
+            "unknown|1|1"
+    })
+    void invalidCursorsAreRejected(String raw) {
+        String token = raw.contains("|")
+                ? Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8))
+                : raw;
+        String sortKey = raw.startsWith(PageCursor.VIEW_COUNT) ? PageCursor.VIEW_COUNT : PageCursor.CREATED_AT;
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(token, sortKey));
+        assertTrue(e.getMessage().startsWith("无效的分页游标"), e.getMessage());
+    }
+}
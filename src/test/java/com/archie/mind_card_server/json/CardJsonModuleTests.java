@@ -0,0 +1,112 @@
+package com.archie.mind_card_server.json;
+
+import com.archie.mind_card_server.dto.ApiResponse;
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.entity.Card;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 手写序列化器的输出必须与默认的反射序列化逐字节一致
+ */
+class CardJsonModuleTests {
+
+    @Test
+    void cardMatchesBeanSerializer() throws Exception {
+        assertSameJson(fullCard(), builder -> {
+        });
+    }
+
+    @Test
+    void cardWithNullsMatchesBeanSerializer() throws Exception {
+        CardDTO card = new CardDTO();
+        card.setId(7L);
+        card.setTitle("只有标题");
+        assertSameJson(card, builder -> {
+        });
+        assertSameJson(card, builder -> builder.serializationInclusion(JsonInclude.Include.NON_NULL));
+    }
+
+    @Test
+    void responsesMatchBeanSerializer() throws Exception {
+        CardDTO card = fullCard();
+        assertSameJson(ApiResponse.success(card, "获取卡片成功"), builder -> {
+        });
+        assertSameJson(ApiResponse.success(List.of(card, card)), builder -> {
+        });
+        assertSameJson(ApiResponse.success(new PageImpl<>(List.of(card), PageRequest.of(0, 10), 21)), builder -> {
+        });
+        assertSameJson(ApiResponse.error("卡片未找到"), builder -> {
+        });
+        assertSameJson(ApiResponse.error("卡片未找到"), builder -> builder.serializationInclusion(JsonInclude.Include.NON_NULL));
+    }
+
+    @Test
+    void isoFormatMatchesDateTimeFormatter() {
+        Random random = new Random(42);
+        char[] buffer = new char[29];
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime value = LocalDateTime.of(random.nextInt(10_000), 1 + random.nextInt(12), 1 + random.nextInt(28),
+                    random.nextInt(24), random.nextInt(60), random.nextInt(60),
+                    switch (i % 4) {
+                        case 0 -> 0;
+                        case 1 -> random.nextInt(1000) * 1_000_000;
+                        case 2 -> random.nextInt(1_000_000) * 1000;
+                        default -> random.nextInt(1_000_000_000);
+                    });
+            int length = CardJsonModule.formatIsoLocalDateTime(value, buffer);
+            assertEquals(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value), new String(buffer, 0, length));
+        }
+    }
+
+    private static void assertSameJson(Object value, Consumer<Jackson2ObjectMapperBuilder> customizer) throws Exception {
+        // 与 Spring Boot 自动配置一致，日期输出为ISO字符串
+        Jackson2ObjectMapperBuilder reflective = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        customizer.accept(reflective);
+        Jackson2ObjectMapperBuilder fast = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new BlackbirdModule(), new CardJsonModule());
+        customizer.accept(fast);
+
+        ObjectMapper expected = reflective.build();
+        ObjectMapper actual = fast.build();
+        assertEquals(expected.writeValueAsString(value), actual.writeValueAsString(value));
+    }
+
+    private static CardDTO fullCard() {
+        CardDTO card = new CardDTO();
+        card.setId(1L);
+        card.setTitle("数据库索引 \"笔记\"");
+        card.setContent("B+树\n哈希索引");
+        card.setCategory("技术学习");
+        card.setTags("数据库,索引");
+        card.setPriority(2);
+        card.setStatus(Card.CardStatus.ARCHIVED);
+        card.setColor("#FFFFFF");
+        card.setIsFavorite(true);
+        card.setIsPublic(false);
+        card.setViewCount(42);
+        card.setCreatedBy("archie");
+        card.setUpdatedBy("archie");
+        card.setCreatedAt(LocalDateTime.of(2024, 5, 1, 8, 30));
+        card.setUpdatedAt(LocalDateTime.of(2024, 5, 2, 9, 15, 7, 123_456_000));
+        card.setDeletedAt(LocalDateTime.of(2024, 5, 3, 0, 0, 0, 1));
+        card.setVersion(3L);
+        return card;
+    }
+}
@@ -0,0 +1,128 @@
+package com.archie.mind_card_server.metrics;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.service.CardService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 请求和服务指标：每个请求单独记录SQL条数，card.service 按服务、方法和异常打标签
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RequestMetricsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void statementsAreRecordedPerRequest() throws Exception {
+        CardDTO card = new CardDTO();
+        card.setTitle("语句计数");
+        Long id = cardService.createCard(card).getId();
+
+        // 第一次读取未命中缓存，执行查询
+        double[] before = statements("/cards/{id}");
+        mockMvc.perform(get("/cards/{id}", id)).andExpect(status().isOk());
+        double[] first = statements("/cards/{id}");
+        assertEquals(1, first[0] - before[0]);
+        assertTrue(first[1] - before[1] >= 1, "未记录第一次请求的SQL");
+
+        // 第二次命中缓存，不能带上上一个请求的计数
+        mockMvc.perform(get("/cards/{id}", id)).andExpect(status().isOk());
+        double[] second = statements("/cards/{id}");
+        assertEquals(1, second[0] - first[0]);
+        assertEquals(0, second[1] - first[1]);
+
+        // 请求结束后当前线程不再计数
+        assertEquals(-1, statementCounter.stop());
+        cardService.getCardsByCategory("语句计数-请求之外");
+        assertEquals(-1, statementCounter.stop());
+        assertArrayEquals(second, statements("/cards/{id}"));
+    }
+
+    @Test
+    void asyncRequestsAreRecordedOnce() throws Exception {
+        double[] before = statements("/reactive/cards");
+        MvcResult started = mockMvc.perform(get("/reactive/cards?limit=1").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+        // 异步分派时不再开始新的计数
+        assertEquals(1, statements("/reactive/cards")[0] - before[0]);
+        assertEquals(-1, statementCounter.stop());
+    }
+
+    @Test
+    void serviceTimerIsTaggedByServiceMethodAndException() throws Exception {
+        CardDTO card = new CardDTO();
+        card.setTitle("服务计时");
+        Long id = cardService.createCard(card).getId();
+
+        long found = serviceCalls("incrementViewCount(Long)", "none");
+        long missing = serviceCalls("incrementViewCount(Long)", "ResourceNotFoundException");
+        mockMvc.perform(get("/cards/{id}", id)).andExpect(status().isOk());
+        mockMvc.perform(get("/cards/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+
+        assertEquals(found + 1, serviceCalls("incrementViewCount(Long)", "none"));
+        assertEquals(missing + 1, serviceCalls("incrementViewCount(Long)", "ResourceNotFoundException"));
+        assertTrue(serviceCalls("createCard(CardDTO)", "none") >= 1);
+
+        // application.yml 中配置的分位数
+        Timer timer = meterRegistry.get("card.service")
+                .tags("service", "CardService", "method", "incrementViewCount(Long)", "exception", "none")
+                .timer();
+        double[] percentiles = Arrays.stream(timer.takeSnapshot().percentileValues())
+                .mapToDouble(ValueAtPercentile::percentile)
+                .toArray();
+        assertArrayEquals(new double[]{0.5, 0.99, 0.999}, percentiles);
+
+        // 流式服务不计时
+        assertTrue(meterRegistry.find("card.service").tag("service", "CardStreamService").timers().isEmpty());
+    }
+
+    // 返回 {请求数, SQL总条数}
+    private double[] statements(String uri) {
+        DistributionSummary summary = meterRegistry.find("card.request.statements")
+                .tags("method", "GET", "uri", uri)
+                .summary();
+        return summary != null ? new double[]{summary.count(), summary.totalAmount()} : new double[]{0, 0};
+    }
+
+    private long serviceCalls(String method, String exception) {
+        Timer timer = meterRegistry.find("card.service")
+                .tags("service", "CardService", "method", method, "exception", exception)
+                .timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
@@ -0,0 +1,216 @@
+package com.archie.mind_card_server.outbox;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.entity.CardOutboxEvent;
+import com.archie.mind_card_server.repository.CardOutboxRepository;
+import com.archie.mind_card_server.service.CardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "app.outbox.gap-timeout-ms=300")
+@ActiveProfiles("test")
+class CardOutboxRelayTests {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO card_outbox (card_id, event_type, payload, created_at) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private CardOutboxRelay relay;
+
+    @Autowired
+    private CardOutboxRepository outboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RecordingSink sink;
+
+    @Test
+    void mutationsAreRelayedInCommitOrder() {
+        relay.relay();
+        CardDTO card = cardService.createCard(card("发件箱"));
+        CardDTO other = cardService.createCard(card("发件箱-批量"));
+        card.setTitle("发件箱-更新");
+        cardService.updateCard(card.getId(), card);
+        cardService.toggleFavorite(card.getId());
+        cardService.batchUpdateStatus(List.of(card.getId(), other.getId()), Card.CardStatus.ARCHIVED);
+        cardService.hardDeleteCard(card.getId());
+
+        relay.relay();
+
+        List<CardOutboxEvent.Type> types = sink.events.stream()
+                .filter(event -> event.getCardId().equals(card.getId()))
+                .map(CardOutboxEvent::getType)
+                .toList();
+        assertEquals(List.of(CardOutboxEvent.Type.CREATED, CardOutboxEvent.Type.UPDATED, CardOutboxEvent.Type.UPDATED,
+                CardOutboxEvent.Type.STATUS_CHANGED, CardOutboxEvent.Type.DELETED), types);
+        assertIncreasing(sink.events);
+
+        long last = sink.events.get(sink.events.size() - 1).getId();
+        assertEquals(last, relay.offset());
+        // 再次投递时没有新事件
+        assertEquals(0, relay.relay());
+    }
+
+    @Test
+    void rolledBackMutationWritesNoEvent() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long cardId = transaction.execute(status -> {
+            CardDTO created = cardService.createCard(card("回滚"));
+            status.setRollbackOnly();
+            return created.getId();
+        });
+
+        assertTrue(outboxRepository.findAfter(0L, Limit.unlimited()).stream()
+                .noneMatch(event -> event.getCardId().equals(cardId)));
+    }
+
+    @Test
+    void waitsForEarlierTransactionsBeforeSkippingGaps() throws Exception {
+        relay.relay();
+        int delivered = sink.events.size();
+
+        // 较小ID的事务尚未提交时，较大ID的事件不能先投递
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    jdbcTemplate.update(INSERT_SQL, -1L, "UPDATED", null, LocalDateTime.now());
+                    inserted.countDown();
+                    await(release);
+                }));
+        assertTrue(inserted.await(5, TimeUnit.SECONDS));
+        CardDTO card = cardService.createCard(card("空洞"));
+
+        assertEquals(0, relay.relay());
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+        assertEquals(2, relay.relay());
+        List<CardOutboxEvent> relayed = sink.events.subList(delivered, sink.events.size());
+        assertEquals(List.of(-1L, card.getId()), relayed.stream().map(CardOutboxEvent::getCardId).toList());
+
+        // 回滚留下的空洞等待超时后跳过
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update(INSERT_SQL, -2L, "UPDATED", null, LocalDateTime.now());
+            status.setRollbackOnly();
+        });
+        CardDTO after = cardService.createCard(card("回滚之后"));
+        assertEquals(0, relay.relay());
+        Thread.sleep(400);
+        assertEquals(1, relay.relay());
+        assertEquals(after.getId(), sink.events.get(sink.events.size() - 1).getCardId());
+    }
+
+    @Test
+    void eventsCommittedAfterTheirGapWasSkippedAreRelayedLate() throws Exception {
+        relay.relay();
+        int delivered = sink.events.size();
+
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    jdbcTemplate.update(INSERT_SQL, -3L, "STATUS_CHANGED", null, LocalDateTime.now());
+                    inserted.countDown();
+                    await(release);
+                }));
+        assertTrue(inserted.await(5, TimeUnit.SECONDS));
+        CardDTO card = cardService.createCard(card("慢事务之后"));
+
+        // 空洞超时后先投递后面的事件
+        assertEquals(0, relay.relay());
+        Thread.sleep(400);
+        assertEquals(1, relay.relay());
+
+        // 慢事务提交后补发
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+        assertEquals(1, relay.relay());
+        List<CardOutboxEvent> relayed = sink.events.subList(delivered, sink.events.size());
+        assertEquals(List.of(card.getId(), -3L), relayed.stream().map(CardOutboxEvent::getCardId).toList());
+        assertEquals(0, relay.relay());
+    }
+
+    @Test
+    void deletingAnArchivedCardWritesAnEvent() {
+        long id = 900_000L;
+        jdbcTemplate.update("INSERT INTO cards_archive (id, category, created_by, created_at, deleted_at, archived_at, payload) " +
+                "VALUES (?, '发件箱测试', 'tester', ?, ?, ?, ?)", id, LocalDateTime.now().minusDays(60),
+                LocalDateTime.now().minusDays(40), LocalDateTime.now().minusDays(10), new byte[0]);
+
+        cardService.hardDeleteCard(id);
+        relay.relay();
+
+        CardOutboxEvent event = sink.events.get(sink.events.size() - 1);
+        assertEquals(id, event.getCardId());
+        assertEquals(CardOutboxEvent.Type.DELETED, event.getType());
+        assertTrue(event.getPayload().contains("\"status\":\"DELETED\""), event.getPayload());
+    }
+
+    private static void assertIncreasing(List<CardOutboxEvent> events) {
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i).getId() > events.get(i - 1).getId());
+        }
+    }
+
+    private static CardDTO card(String title) {
+        CardDTO card = new CardDTO();
+        card.setTitle(title);
+        card.setCategory("发件箱测试");
+        return card;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @TestConfiguration
+    static class RecordingSinkConfig {
+
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+
+    static class RecordingSink implements CardEventSink {
+
+        private final List<CardOutboxEvent> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publish(List<CardOutboxEvent> batch) {
+            events.addAll(new ArrayList<>(batch));
+        }
+    }
+}
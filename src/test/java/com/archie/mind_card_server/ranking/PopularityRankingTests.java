@@ -0,0 +1,106 @@
+package com.archie.mind_card_server.ranking;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.event.CardChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PopularityRankingTests {
+
+    private final PopularityRanking ranking = new PopularityRanking(null, null, new SimpleMeterRegistry(), 2, 5);
+
+    @Test
+    void recentViewsOutrankOlderViewsInShortWindows() {
+        long now = System.currentTimeMillis();
+        track(1L, 100);
+        track(2L, 0);
+        track(3L, 0);
+
+        // 卡片2在3小时前被查看10次，卡片3刚刚被查看3次
+        view(2L, 10, now - Duration.ofHours(3).toMillis());
+        view(3L, 3, now);
+        ranking.refresh(now);
+
+        assertArrayEquals(new long[]{3L, 2L}, ranking.top(PopularityWindow.HOUR));
+        assertArrayEquals(new long[]{2L, 3L}, ranking.top(PopularityWindow.DAY));
+        assertArrayEquals(new long[]{2L, 3L}, ranking.top(PopularityWindow.WEEK));
+        // 累计排行按查看次数，只保留 top-k
+        assertArrayEquals(new long[]{1L, 2L}, ranking.top(PopularityWindow.ALL));
+        assertEquals(10, ranking.lastRankedViews());
+        assertEquals(3, ranking.size());
+
+        // 超过约 4.6 个窗口长度后不再出现在 1h 排行中
+        ranking.refresh(now + Duration.ofHours(6).toMillis());
+        assertArrayEquals(new long[0], ranking.top(PopularityWindow.HOUR));
+    }
+
+    @Test
+    void favoritesCountTowardsDecayedWindowsOnly() {
+        track(1L, 0);
+        track(2L, 0);
+        view(1L, 3, System.currentTimeMillis());
+
+        CardDTO before = card(2L, 0);
+        CardDTO after = card(2L, 0);
+        after.setIsFavorite(true);
+        ranking.onCardChanged(CardChangedEvent.updated(before, after));
+        ranking.refresh(System.currentTimeMillis());
+
+        assertArrayEquals(new long[]{2L, 1L}, ranking.top(PopularityWindow.HOUR));
+        assertArrayEquals(new long[]{1L, 2L}, ranking.top(PopularityWindow.ALL));
+    }
+
+    @Test
+    void deletedCardsLeaveRankingAndBumpVersion() {
+        assertNull(ranking.top(PopularityWindow.ALL));
+        track(1L, 5);
+        track(2L, 1);
+        ranking.refresh(System.currentTimeMillis());
+        long version = ranking.version();
+
+        ranking.onCardChanged(CardChangedEvent.deleted(card(1L, 5)));
+        ranking.refresh(System.currentTimeMillis());
+
+        assertArrayEquals(new long[]{2L}, ranking.top(PopularityWindow.ALL));
+        assertEquals(1, ranking.size());
+        assertEquals(version + 2, ranking.version());
+
+        // 已移除的卡片不再记录查看
+        view(1L, 1, System.currentTimeMillis());
+        assertEquals(1, ranking.size());
+    }
+
+    @Test
+    void parsesWindowParameter() {
+        assertEquals(PopularityWindow.DAY, PopularityWindow.of("24h"));
+        assertEquals(PopularityWindow.ALL, PopularityWindow.of("ALL"));
+        assertThrows(IllegalArgumentException.class, () -> PopularityWindow.of("30d"));
+    }
+
+    private void track(Long id, int viewCount) {
+        ranking.onCardChanged(CardChangedEvent.created(card(id, viewCount)));
+    }
+
+    private void view(Long id, int times, long at) {
+        for (int i = 0; i < times; i++) {
+            ranking.recordView(id, at);
+        }
+    }
+
+    private static CardDTO card(Long id, int viewCount) {
+        CardDTO card = new CardDTO();
+        card.setId(id);
+        card.setStatus(Card.CardStatus.ACTIVE);
+        card.setViewCount(viewCount);
+        card.setIsFavorite(false);
+        return card;
+    }
+}
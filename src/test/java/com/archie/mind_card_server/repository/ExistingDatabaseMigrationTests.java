@@ -0,0 +1,150 @@
+package com.archie.mind_card_server.repository;
+
+import com.archie.mind_card_server.MindCardServerApplication;
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.service.CardService;
+import com.archie.mind_card_server.service.impl.CardIdAllocator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 已有数据的数据库升级：原先由 ddl-auto 按 IDENTITY 建表并写入数据的 schema，
+ * 经 Flyway 迁移后新卡片的ID不能与已有ID重复。
+ * <p>
+ * 与 {@link RepositoryQueryPlanTests} 使用同一个PostgreSQL实例，在独立的 mind_card_upgrade schema 中执行。
+ */
+@EnabledIfSystemProperty(named = "explain.jdbc.url", matches = ".+")
+class ExistingDatabaseMigrationTests {
+
+    private static final String SCHEMA = "mind_card_upgrade";
+
+    private static final int EXISTING_CARDS = 120;
+
+    private static SingleConnectionDataSource adminDataSource;
+
+    private static JdbcTemplate admin;
+
+    private static ConfigurableApplicationContext context;
+
+    @BeforeAll
+    static void start() {
+        String url = System.getProperty("explain.jdbc.url");
+        String username = System.getProperty("explain.jdbc.username", "mind_card");
+        String password = System.getProperty("explain.jdbc.password", "");
+        String schemaUrl = url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA;
+
+        adminDataSource = new SingleConnectionDataSource(url, username, password, true);
+        admin = new JdbcTemplate(adminDataSource);
+        admin.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        admin.execute("CREATE SCHEMA " + SCHEMA);
+        admin.execute("SET search_path TO " + SCHEMA);
+
+        // 引入 Flyway 之前 ddl-auto 生成的表结构
+        admin.execute("""
+                create table cards
+                (
+                    id          bigint generated by default as identity primary key,
+                    title       varchar(200) not null,
+                    content     text,
+                    category    varchar(100),
+                    tags        varchar(500),
+                    priority    integer,
+                    status      varchar(20),
+                    color       varchar(20),
+                    is_favorite boolean,
+                    is_public   boolean,
+                    view_count  integer,
+                    created_by  varchar(100),
+                    updated_by  varchar(100),
+                    created_at  timestamp(6) not null,
+                    updated_at  timestamp(6),
+                    deleted_at  timestamp(6)
+                )""");
+        admin.update("insert into cards (title, priority, status, is_favorite, is_public, view_count, created_at) " +
+                "select '已有卡片' || n, 0, 'ACTIVE', false, false, 0, now() from generate_series(1, ?) n", EXISTING_CARDS);
+
+        context = new SpringApplicationBuilder(MindCardServerApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + schemaUrl,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        "--spring.flyway.schemas=" + SCHEMA,
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.archie.mind_card_server=WARN");
+    }
+
+    @AfterAll
+    static void stop() {
+        if (context != null) {
+            context.close();
+        }
+        admin.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        adminDataSource.destroy();
+    }
+
+    @Test
+    void newIdsStartAfterExistingRows() {
+        CardService cardService = context.getBean(CardService.class);
+        CardIdAllocator allocator = context.getBean(CardIdAllocator.class);
+
+        Set<Long> ids = new HashSet<>();
+        // JPA 插入和直接分配共享号段，跨越多个号段
+        for (int i = 0; i < 60; i++) {
+            CardDTO card = new CardDTO();
+            card.setTitle("新卡片" + i);
+            ids.add(cardService.createCard(card).getId());
+            for (long id : allocator.allocate(2)) {
+                ids.add(id);
+            }
+        }
+
+        assertEquals(180, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id > EXISTING_CARDS), "新ID与已有ID重叠: " +
+                ids.stream().filter(id -> id <= EXISTING_CARDS).sorted().toList());
+        assertEquals(EXISTING_CARDS + 60, admin.queryForObject("select count(*) from cards", Integer.class));
+    }
+
+    @Test
+    void searchTokensAreWrittenOutsideTheEntity() {
+        CardService cardService = context.getBean(CardService.class);
+        // 已有卡片在启动时回填分词
+        assertEquals(0, admin.queryForObject("select count(*) from cards where id <= ? and search_tokens is null",
+                Integer.class, EXISTING_CARDS));
+
+        CardDTO card = new CardDTO();
+        card.setTitle("分词 quartz");
+        card = cardService.createCard(card);
+        assertEquals(List.of(card.getId()), ids(cardService.searchByKeyword("quartz")));
+
+        card.setTitle("分词 zephyr");
+        cardService.updateCard(card.getId(), card);
+        assertEquals(List.of(), ids(cardService.searchByKeyword("quartz")));
+        assertEquals(List.of(card.getId()), ids(cardService.searchByKeyword("zephyr")));
+
+        // 其他写操作不改写分词
+        admin.update("update cards set search_tokens = 'kept' where id = ?", card.getId());
+        cardService.toggleFavorite(card.getId());
+        cardService.updateCard(card.getId(), cardService.getCardById(card.getId()));
+        assertEquals("kept", admin.queryForObject("select search_tokens from cards where id = ?", String.class,
+                card.getId()));
+
+        cardService.hardDeleteCard(card.getId());
+    }
+
+    private static List<Long> ids(List<CardDTO> cards) {
+        return cards.stream().map(CardDTO::getId).toList();
+    }
+}
@@ -0,0 +1,321 @@
+package com.archie.mind_card_server.repository;
+
+import com.archie.mind_card_server.MindCardServerApplication;
+import com.archie.mind_card_server.benchmark.BenchmarkData;
+import com.archie.mind_card_server.config.CardTagBackfill;
+import com.archie.mind_card_server.entity.Card;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 查询计划检查：调用 CardRepository、CardRepositoryCustom、CardTagRepository、CardArchiveRepository 和发件箱各仓库中声明的每个方法，
+ * 记录实际执行的SQL和绑定参数，在 enable_seqscan = off 下 EXPLAIN，计划中仍出现 Seq Scan
+ * 说明没有任何索引可以满足该查询的条件或排序。
+ * <p>
+ * 需要一个PostgreSQL实例，表结构由 Flyway 迁移脚本在独立的 mind_card_explain schema 中创建：
+ * <pre>
+ * mvn test -Dtest=RepositoryQueryPlanTests \
+ *   -Dexplain.jdbc.url=jdbc:postgresql://localhost:5432/mind_card \
+ *   -Dexplain.jdbc.username=mind_card -Dexplain.jdbc.password=123456
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "explain.jdbc.url", matches = ".+")
+class RepositoryQueryPlanTests {
+
+    private static final String SCHEMA = "mind_card_explain";
+
+    private static final int CARDS = Integer.getInteger("explain.cards", 20_000);
+
+    // 本身需要读取整张表的查询
+    private static final Map<String, String> FULL_SCAN_ALLOWED = Map.of(
+            "findByTitleContainingIgnoreCase", "LIKE '%关键词%' 无法使用B-tree索引",
+            "searchByKeyword", "LIKE搜索，PostgreSQL环境使用全文检索",
+            "searchFirstByKeyword", "LIKE搜索，PostgreSQL环境使用全文检索",
+            "searchAfterByKeyword", "LIKE搜索，PostgreSQL环境使用全文检索",
+            "findAllSummaries", "不带条件的全表列表",
+            "countGroups", "全表分组统计",
+            "validateAll", "全表聚合");
+
+    private static final ThreadLocal<String> CURRENT_METHOD = new ThreadLocal<>();
+
+    private static final List<RecordedStatement> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    private static SingleConnectionDataSource adminDataSource;
+
+    private static JdbcTemplate admin;
+
+    private static ConfigurableApplicationContext context;
+
+    @BeforeAll
+    static void start() {
+        String url = System.getProperty("explain.jdbc.url");
+        String username = System.getProperty("explain.jdbc.username", "mind_card");
+        String password = System.getProperty("explain.jdbc.password", "");
+        String schemaUrl = url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA;
+
+        adminDataSource = new SingleConnectionDataSource(url, username, password, true);
+        admin = new JdbcTemplate(adminDataSource);
+        admin.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        admin.execute("CREATE SCHEMA " + SCHEMA);
+        admin.execute("SET search_path TO " + SCHEMA);
+
+        context = new SpringApplicationBuilder(MindCardServerApplication.class)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new RecordingPostProcessor()))
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + schemaUrl,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        "--spring.flyway.schemas=" + SCHEMA,
+                        "--app.search.engine=fulltext",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.archie.mind_card_server=WARN");
+
+        BenchmarkData.seedCards(admin, CARDS);
+        context.getBean(CardTagBackfill.class).backfill();
+        admin.execute("VACUUM ANALYZE cards");
+        admin.execute("VACUUM ANALYZE card_tags");
+    }
+
+    @AfterAll
+    static void stop() {
+        if (context != null) {
+            context.close();
+        }
+        admin.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        adminDataSource.destroy();
+    }
+
+    @Test
+    void repositoryQueriesUseIndexes() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        Map<Class<?>, Object> repositories = Map.of(
+                CardRepository.class, context.getBean(CardRepository.class),
+                CardRepositoryCustom.class, context.getBean(CardRepository.class),
+                CardTagRepository.class, context.getBean(CardTagRepository.class),
+                CardArchiveRepository.class, context.getBean(CardArchiveRepository.class),
+                CardOutboxRepository.class, context.getBean(CardOutboxRepository.class),
+                CardOutboxGapRepository.class, context.getBean(CardOutboxGapRepository.class));
+
+        List<Method> methods = repositories.keySet().stream()
+                .flatMap(type -> Arrays.stream(type.getDeclaredMethods()))
+                .filter(method -> !method.isSynthetic() && !method.isDefault() && !Modifier.isStatic(method.getModifiers()))
+                .sorted(Comparator.comparing(Method::getName))
+                .collect(Collectors.toList());
+
+        for (Method method : methods) {
+            Object repository = repositories.get(method.getDeclaringClass());
+            Object[] args = Arrays.stream(method.getParameters()).map(p -> argument(method, p)).toArray();
+            // 修改类查询也只需要执行计划，事务最后回滚
+            transaction.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                CURRENT_METHOD.set(method.getName());
+                try {
+                    Object result = method.invoke(repository, args);
+                    if (result instanceof Stream<?> stream) {
+                        stream.close();
+                    }
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new IllegalStateException("调用失败: " + method, e);
+                } finally {
+                    CURRENT_METHOD.remove();
+                }
+            });
+        }
+
+        admin.execute("SET enable_seqscan = off");
+        Map<String, List<String>> failures = new TreeMap<>();
+        for (RecordedStatement statement : STATEMENTS) {
+            String sql = statement.inlined();
+            String plan = String.join("\n", admin.queryForList("EXPLAIN " + sql, String.class));
+            if (plan.contains("Seq Scan") && !FULL_SCAN_ALLOWED.containsKey(statement.method())) {
+                failures.computeIfAbsent(statement.method(), key -> new ArrayList<>()).add(sql + "\n" + plan);
+            }
+        }
+        admin.execute("RESET enable_seqscan");
+
+        List<String> invoked = methods.stream().map(Method::getName).distinct().toList();
+        List<String> recorded = STATEMENTS.stream().map(RecordedStatement::method).distinct().toList();
+        assertTrue(recorded.containsAll(invoked), "未记录到SQL的方法: " +
+                invoked.stream().filter(name -> !recorded.contains(name)).toList());
+        assertTrue(failures.isEmpty(), "以下查询只能顺序扫描:\n" + failures.entrySet().stream()
+                .map(entry -> entry.getKey() + ":\n" + String.join("\n", entry.getValue()))
+                .collect(Collectors.joining("\n\n")));
+    }
+
+    // 按参数类型和名称生成与种子数据匹配的参数
+    private static Object argument(Method method, Parameter parameter) {
+        Class<?> type = parameter.getType();
+        String name = parameter.getName();
+        if (type == String.class) {
+            return switch (name) {
+                case "category" -> BenchmarkData.CATEGORIES[0];
+                case "createdBy" -> "bench";
+                case "pattern" -> "学%";
+                case "tag" -> method.isAnnotationPresent(Modifying.class) ? "explain" : "学习";
+                default -> "学习";
+            };
+        }
+        if (type == Long.class || type == long.class) {
+            return name.equals("tagCount") ? 2L : 1L;
+        }
+        if (type == Integer.class || type == int.class) {
+            return switch (name) {
+                case "priority" -> 2;
+                case "viewCount" -> 100;
+                default -> 10;
+            };
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return true;
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now().minusDays(180);
+        }
+        if (type == Card.CardStatus.class) {
+            return Card.CardStatus.ACTIVE;
+        }
+        if (type == Limit.class) {
+            return Limit.of(10);
+        }
+        if (type.getName().equals("org.springframework.data.domain.Pageable")) {
+            // 查询本身带排序时不再追加，否则与接口一样按创建时间倒序
+            Query query = method.getAnnotation(Query.class);
+            boolean ordered = method.getName().contains("OrderBy")
+                    || (query != null && query.value().toUpperCase().contains("ORDER BY"));
+            return ordered ? PageRequest.of(0, 10) : PageRequest.of(0, 10, Sort.by("createdAt").descending());
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            Class<?> element = (Class<?>) ((ParameterizedType) parameter.getParameterizedType()).getActualTypeArguments()[0];
+            return element == Long.class ? List.of(1L, 51L, 101L) : List.of("学习", "笔记");
+        }
+        throw new IllegalArgumentException("不支持的参数类型: " + method + " " + parameter);
+    }
+
+    private record RecordedStatement(String method, String sql, Map<Integer, Object> parameters) {
+
+        // 把 ? 替换为参数字面量，让计划器按实际取值选择索引（包括部分索引）
+        String inlined() {
+            StringBuilder sb = new StringBuilder();
+            boolean quoted = false;
+            int index = 1;
+            for (char c : sql.toCharArray()) {
+                if (c == '\'') {
+                    quoted = !quoted;
+                }
+                if (c == '?' && !quoted) {
+                    sb.append(literal(parameters.get(index++)));
+                } else {
+                    sb.append(c);
+                }
+            }
+            return sb.toString();
+        }
+
+        private static String literal(Object value) {
+            if (value == null) {
+                return "NULL";
+            }
+            if (value instanceof Number || value instanceof Boolean) {
+                return value.toString();
+            }
+            if (value instanceof Temporal || value instanceof java.util.Date) {
+                return "'" + value + "'::timestamp";
+            }
+            return "'" + value.toString().replace("'", "''") + "'";
+        }
+    }
+
+    /**
+     * 包装应用的 DataSource，记录测试方法调用期间执行的预编译语句及其参数
+     */
+    private static class RecordingPostProcessor implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && beanName.equals("dataSource")) {
+                return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                    Object result = method.invoke(target, args);
+                    return result instanceof Connection connection ? connection(connection) : result;
+                });
+            }
+            return bean;
+        }
+
+        private static Connection connection(Connection connection) {
+            return proxy(Connection.class, connection, (target, method, args) -> {
+                Object result = method.invoke(target, args);
+                if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                    return statement(statement, (String) args[0]);
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement statement(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return proxy(PreparedStatement.class, statement, (target, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, name.equals("setNull") ? null : args[1]);
+                } else if (name.startsWith("execute") && (args == null || args.length == 0)
+                        && CURRENT_METHOD.get() != null) {
+                    STATEMENTS.add(new RecordedStatement(CURRENT_METHOD.get(), sql, new TreeMap<>(parameters)));
+                }
+                return method.invoke(target, args);
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, Handler<T> handler) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                try {
+                    return handler.invoke(target, method, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+
+        private interface Handler<T> {
+            Object invoke(T target, Method method, Object[] args) throws Throwable;
+        }
+    }
+}
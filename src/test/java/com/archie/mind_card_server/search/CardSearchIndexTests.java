@@ -0,0 +1,157 @@
+package com.archie.mind_card_server.search;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.repository.CardRepository;
+import com.archie.mind_card_server.service.CardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 内存倒排索引：启动构建、单卡片和批量状态变更的增量更新，以及游标分页
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:search_index",
+        "app.search.engine=index"
+})
+@ActiveProfiles("test")
+class CardSearchIndexTests {
+
+    @Autowired
+    private CardSearchIndex index;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void buildIndexesExistingActiveCards() {
+        // 直接写入仓库不发布事件，只有重建后才能搜到
+        Card active = cardRepository.save(entity("rebuild alpha", Card.CardStatus.ACTIVE));
+        cardRepository.save(entity("rebuild beta", Card.CardStatus.ARCHIVED));
+        assertEquals(List.of(), ids("rebuild"));
+
+        index.build();
+
+        assertEquals(List.of(active.getId()), ids("rebuild"));
+        assertEquals(List.of(), ids("beta"));
+    }
+
+    @Test
+    void singleCardChangesUpdateIndex() {
+        CardDTO card = cardService.createCard(card("increment 增量索引", "originaltag"));
+        assertEquals(List.of(card.getId()), ids("increment 索引"));
+        assertEquals(List.of(card.getId()), ids("originaltag"));
+
+        card.setTitle("increment renamed");
+        card.setTags("replacedtag");
+        cardService.updateCard(card.getId(), card);
+        assertEquals(List.of(), ids("增量"));
+        assertEquals(List.of(), ids("originaltag"));
+        assertEquals(List.of(card.getId()), ids("increment renamed replacedtag"));
+
+        cardService.deleteCard(card.getId());
+        assertEquals(List.of(), ids("increment"));
+    }
+
+    @Test
+    void bulkStatusChangesUpdateIndex() {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            created.add(cardService.createCard(card("bulkstatus " + i, null)).getId());
+        }
+
+        cardService.batchUpdateStatus(created.subList(0, 2), Card.CardStatus.ARCHIVED);
+        assertEquals(List.of(created.get(2)), ids("bulkstatus"));
+
+        cardService.batchUpdateStatus(created, Card.CardStatus.ACTIVE);
+        assertEquals(List.of(created.get(2), created.get(1), created.get(0)), ids("bulkstatus"));
+    }
+
+    @Test
+    void searchAfterWalksAllMatchesInOrder() {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            created.add(cardService.createCard(card("cursorwalk " + i, null)).getId());
+        }
+        // 一部分卡片创建时间相同，按ID倒序区分先后
+        LocalDateTime tie = LocalDateTime.now().minusHours(1).withNano(0);
+        jdbcTemplate.update("UPDATE cards SET created_at = ? WHERE id IN (?, ?, ?, ?)",
+                tie, created.get(1), created.get(2), created.get(4), created.get(5));
+        index.build();
+
+        List<Long> expected = ids("cursorwalk");
+        assertEquals(List.of(created.get(6), created.get(3), created.get(0),
+                created.get(5), created.get(4), created.get(2), created.get(1)), expected);
+        assertEquals(expected, index.search("cursorwalk", PageRequest.of(0, 10)).map(Card::getId).getContent());
+
+        List<Long> walked = new ArrayList<>();
+        List<Card> page = index.searchAfter("cursorwalk", null, null, 2);
+        while (!page.isEmpty()) {
+            page.forEach(card -> walked.add(card.getId()));
+            Card last = page.get(page.size() - 1);
+            page = index.searchAfter("cursorwalk", last.getCreatedAt(), last.getId(), 2);
+        }
+        assertEquals(expected, walked);
+
+        // 游标指向已不在结果中的卡片时，从它之后的位置继续
+        Card removed = cardRepository.findById(created.get(4)).orElseThrow();
+        cardService.deleteCard(removed.getId());
+        List<Long> remaining = index.searchAfter("cursorwalk", removed.getCreatedAt(), removed.getId(), 10).stream()
+                .map(Card::getId)
+                .toList();
+        assertEquals(expected.subList(expected.indexOf(removed.getId()) + 1, expected.size()), remaining);
+        assertTrue(index.searchAfter("cursorwalk", LocalDateTime.now().minusYears(1), 1L, 10).isEmpty());
+    }
+
+    @Test
+    void intersectionKeepsResultOrder() {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            created.add(cardService.createCard(card("intersect " + i, i % 2 == 0 ? "evenside" : null)).getId());
+        }
+        LocalDateTime tie = LocalDateTime.now().minusHours(2).withNano(0);
+        jdbcTemplate.update("UPDATE cards SET created_at = ? WHERE id IN (?, ?)", tie, created.get(2), created.get(4));
+        index.build();
+
+        // 倒排表按结果顺序保存，多个词求交集后顺序不变
+        assertEquals(List.of(created.get(0), created.get(4), created.get(2)), ids("intersect evenside"));
+        assertEquals(List.of(created.get(4), created.get(2)),
+                index.searchAfter("evenside intersect", index.search("intersect evenside").get(0).getCreatedAt(),
+                        created.get(0), 10).stream().map(Card::getId).toList());
+    }
+
+    private List<Long> ids(String keyword) {
+        return index.search(keyword).stream().map(Card::getId).toList();
+    }
+
+    private static CardDTO card(String title, String tags) {
+        CardDTO card = new CardDTO();
+        card.setTitle(title);
+        card.setTags(tags);
+        return card;
+    }
+
+    private static Card entity(String title, Card.CardStatus status) {
+        Card card = new Card();
+        card.setTitle(title);
+        card.setStatus(status);
+        return card;
+    }
+}
@@ -0,0 +1,159 @@
+package com.archie.mind_card_server.service.impl;
+
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.service.CardExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 流式导出测试
+ * <p>
+ * 默认导出 2 万行；使用 export-heap-test profile 时在 -Xmx64m 下导出 100 万行，
+ * 验证导出不会把结果集加载到内存：
+ * <pre>
+ * mvn test -P export-heap-test
+ * </pre>
+ */
+class CardExportServiceImplTests {
+
+    private static final int ROWS = Integer.getInteger("export.test.rows", 20_000);
+
+    @TempDir
+    static Path dataDir;
+
+    private static SingleConnectionDataSource dataSource;
+
+    private static CardExportServiceImpl exportService;
+
+    @BeforeAll
+    static void seed() {
+        // 使用文件数据库，数据不占用测试进程的堆内存
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:file:" + dataDir.resolve("export") + ";MAX_MEMORY_ROWS=1000", "sa", "", true);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        exportService = new CardExportServiceImpl(dataSource, transactionManager, new ObjectMapper(), 500);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE cards (id BIGINT PRIMARY KEY, title VARCHAR(200), content TEXT, " +
+                "category VARCHAR(100), tags VARCHAR(500), priority INT, status VARCHAR(20), color VARCHAR(20), " +
+                "is_favorite BOOLEAN, is_public BOOLEAN, view_count INT, created_by VARCHAR(100), " +
+                "updated_by VARCHAR(100), created_at TIMESTAMP(6), updated_at TIMESTAMP(6), deleted_at TIMESTAMP(6))");
+
+        String insert = "INSERT INTO cards VALUES (?, ?, ?, '测试', 'a,b', 1, ?, '#FFFFFF', false, true, 0, " +
+                "'test', 'test', ?, ?, NULL)";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            List<Object[]> batch = new ArrayList<>();
+            for (long id = 1; id <= ROWS; id++) {
+                String status = id % 10 == 0 ? "DELETED" : "ACTIVE";
+                String content = "第" + id + "张卡片的内容，包含逗号、\"引号\"和\n换行";
+                batch.add(new Object[]{id, "卡片" + id, content, status, now, now});
+                if (batch.size() == 1000) {
+                    jdbcTemplate.batchUpdate(insert, batch);
+                    batch.clear();
+                }
+            }
+            jdbcTemplate.batchUpdate(insert, batch);
+        });
+    }
+
+    @AfterAll
+    static void close() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void exportsAllRowsAsNdjson() throws Exception {
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        long exported = exportService.exportCards(CardExportService.Format.NDJSON, null, out);
+
+        assertEquals(ROWS, exported);
+        assertEquals(ROWS, out.lines);
+        JsonNode first = new ObjectMapper().readTree(out.firstLine.toString(StandardCharsets.UTF_8));
+        assertEquals(1, first.get("id").asLong());
+        assertEquals("卡片1", first.get("title").asText());
+        assertTrue(first.get("deletedAt").isNull());
+    }
+
+    @Test
+    void exportsFilteredRowsAsCsv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int rows = Math.min(ROWS, 20);
+        ExportLimit limited = new ExportLimit(out, rows + 1);
+
+        exportService.exportCards(CardExportService.Format.CSV, Card.CardStatus.DELETED, limited);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("id,title,content,"));
+        // 含逗号、引号和换行的字段需要加引号并转义
+        assertTrue(csv.contains("\"第10张卡片的内容，包含逗号、\"\"引号\"\"和\n换行\""));
+        assertTrue(csv.contains(",DELETED,"));
+    }
+
+    /**
+     * 只统计行数，不保存导出内容
+     */
+    private static class LineCountingOutputStream extends OutputStream {
+
+        private final ByteArrayOutputStream firstLine = new ByteArrayOutputStream();
+
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            } else if (lines == 0) {
+                firstLine.write(b);
+            }
+        }
+    }
+
+    /**
+     * 只保留前 maxLines 行，避免CSV测试在大数据量下占用内存
+     */
+    private static class ExportLimit extends OutputStream {
+
+        private final OutputStream target;
+
+        private final int maxLines;
+
+        private int lines;
+
+        ExportLimit(OutputStream target, int maxLines) {
+            this.target = target;
+            this.maxLines = maxLines;
+        }
+
+        @Override
+        public void write(int b) throws java.io.IOException {
+            if (lines < maxLines) {
+                target.write(b);
+            }
+            if (b == '\n') {
+                lines++;
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.archie.mind_card_server.service.impl;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.dto.ImportResult;
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.repository.CardRepository;
+import com.archie.mind_card_server.repository.CardTagRepository;
+import com.archie.mind_card_server.service.CardExportService;
+import com.archie.mind_card_server.service.CardImportService;
+import com.archie.mind_card_server.service.CardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CardImportServiceImplTests {
+
+    @Autowired
+    private CardImportService cardImportService;
+
+    @Autowired
+    private CardExportService cardExportService;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private CardTagRepository cardTagRepository;
+
+    @Test
+    void importsValidRowsAndReportsInvalidOnes() throws Exception {
+        String ndjson = String.join("\n",
+                "{\"title\":\"导入卡片一\",\"content\":\"内容\",\"category\":\"导入测试\",\"tags\":\"Import, 测试\"}",
+                "",
+                "{\"title\":\"\",\"content\":\"缺少标题\"}",
+                "{\"title\":\"导入卡片二\",\"status\":\"UNKNOWN\"}",
+                "{not json}",
+                "{\"title\":\"导入卡片三\",\"category\":\"导入测试\",\"priority\":2,\"status\":\"ARCHIVED\"}");
+
+        ImportResult result = cardImportService.importCards(CardExportService.Format.NDJSON, stream(ndjson));
+
+        assertEquals(5, result.getTotal());
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(3L, 4L, 5L), result.getErrors().stream().map(ImportResult.RowError::getLine).toList());
+
+        List<CardDTO> imported = cardService.getCardsByCategory("导入测试");
+        assertEquals(2, imported.size());
+        CardDTO first = imported.stream().filter(card -> card.getTitle().equals("导入卡片一")).findFirst().orElseThrow();
+        assertEquals(Card.CardStatus.ACTIVE, first.getStatus());
+        assertEquals(List.of("import", "测试"), cardTagRepository.findTagsByCardId(first.getId()).stream().sorted().toList());
+    }
+
+    @Test
+    void importsExportedCsv() throws Exception {
+        long before = cardRepository.count();
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        long rows = cardExportService.exportCards(CardExportService.Format.CSV, null, exported);
+
+        ImportResult result = cardImportService.importCards(CardExportService.Format.CSV,
+                new ByteArrayInputStream(exported.toByteArray()));
+
+        assertEquals(rows, result.getTotal());
+        assertEquals(rows, result.getImported());
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(before + rows, cardRepository.count());
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
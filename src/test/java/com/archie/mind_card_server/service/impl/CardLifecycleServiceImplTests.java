@@ -0,0 +1,118 @@
+package com.archie.mind_card_server.service.impl;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.entity.CardArchive;
+import com.archie.mind_card_server.exception.ResourceNotFoundException;
+import com.archie.mind_card_server.repository.CardArchiveRepository;
+import com.archie.mind_card_server.repository.CardRepository;
+import com.archie.mind_card_server.repository.CardTagRepository;
+import com.archie.mind_card_server.service.CardLifecycleService;
+import com.archie.mind_card_server.service.CardService;
+import com.archie.mind_card_server.service.CardStatisticsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CardLifecycleServiceImplTests {
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private CardLifecycleService cardLifecycleService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private CardTagRepository cardTagRepository;
+
+    @Autowired
+    private CardArchiveRepository cardArchiveRepository;
+
+    @Autowired
+    private CardStatisticsService cardStatisticsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void archivesExpiredDeletedCardsAndPurgesOldArchives() throws Exception {
+        CardDTO expired = cardService.createCard(card("过期删除", "归档,测试"));
+        CardDTO recent = cardService.createCard(card("最近删除", "归档"));
+        CardDTO active = cardService.createCard(card("正常卡片", "归档"));
+        cardService.deleteCard(expired.getId());
+        cardService.deleteCard(recent.getId());
+        jdbcTemplate.update("UPDATE cards SET deleted_at = ? WHERE id = ?",
+                LocalDateTime.now().minusDays(60), expired.getId());
+
+        assertTrue(cardLifecycleService.archiveDeletedCards() >= 1);
+
+        assertFalse(cardRepository.existsById(expired.getId()));
+        assertTrue(cardTagRepository.findTagsByCardId(expired.getId()).isEmpty());
+        assertTrue(cardRepository.existsById(recent.getId()));
+        assertTrue(cardRepository.existsById(active.getId()));
+
+        CardArchive archive = cardArchiveRepository.findById(expired.getId()).orElseThrow();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(archive.getPayload()))) {
+            CardDTO restored = objectMapper.readValue(in, CardDTO.class);
+            assertEquals("过期删除", restored.getTitle());
+            assertEquals("归档,测试", restored.getTags());
+        }
+
+        // 超过保留期的归档被清理
+        jdbcTemplate.update("UPDATE cards_archive SET archived_at = ? WHERE id = ?",
+                LocalDateTime.now().minusDays(400), expired.getId());
+        assertTrue(cardLifecycleService.purgeArchivedCards() >= 1);
+        assertFalse(cardArchiveRepository.existsById(expired.getId()));
+    }
+
+    @Test
+    void hardDeleteRemovesArchivedCard() {
+        CardDTO card = cardService.createCard(card("归档后物理删除", null));
+        cardService.deleteCard(card.getId());
+        jdbcTemplate.update("UPDATE cards SET deleted_at = ? WHERE id = ?",
+                LocalDateTime.now().minusDays(60), card.getId());
+        cardLifecycleService.archiveDeletedCards();
+        assertTrue(cardArchiveRepository.existsById(card.getId()));
+        // 归档不再发出删除事件，增量统计与数据库一致
+        assertEquals(0, deletedEvents(card.getId()));
+        assertEquals(cardStatisticsService.getStatistics(false), cardStatisticsService.getStatistics(true));
+
+        cardService.hardDeleteCard(card.getId());
+
+        assertFalse(cardArchiveRepository.existsById(card.getId()));
+        assertEquals(1, deletedEvents(card.getId()));
+        assertThrows(ResourceNotFoundException.class, () -> cardService.hardDeleteCard(card.getId()));
+    }
+
+    private int deletedEvents(Long cardId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM card_outbox WHERE card_id = ? AND event_type = 'DELETED'",
+                Integer.class, cardId);
+    }
+
+    private static CardDTO card(String title, String tags) {
+        CardDTO card = new CardDTO();
+        card.setTitle(title);
+        card.setCategory("生命周期测试");
+        card.setTags(tags);
+        return card;
+    }
+}
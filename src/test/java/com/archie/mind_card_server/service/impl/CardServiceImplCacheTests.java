@@ -0,0 +1,135 @@
+package com.archie.mind_card_server.service.impl;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.repository.CardRepository;
+import com.archie.mind_card_server.service.CardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 缓存一致性：加载缓存期间有写操作提交时不写入旧数据，返回给调用方的都是副本。
+ * CardRepository 被包装为代理，指定的查询返回之后、写入缓存之前执行一次其他操作。
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CardServiceImplCacheTests {
+
+    private static final AtomicReference<AfterQuery> AFTER_QUERY = new AtomicReference<>();
+
+    @Autowired
+    private CardService cardService;
+
+    @Test
+    void cardUpdatedWhileLoadingIsNotCached() {
+        CardDTO card = cardService.createCard(card("加载前", "缓存竞争"));
+        card.setTitle("加载期间更新");
+
+        // 读到旧行之后、写入缓存之前，另一个线程提交更新并淘汰缓存
+        afterQuery("findById", () -> CompletableFuture.runAsync(() -> cardService.updateCard(card.getId(), card)).join());
+        assertEquals("加载前", cardService.getCardById(card.getId()).getTitle());
+
+        assertNull(AFTER_QUERY.get());
+        assertEquals("加载期间更新", cardService.getCardById(card.getId()).getTitle());
+    }
+
+    @Test
+    void listUpdatedWhileLoadingIsNotCached() {
+        CardDTO card = cardService.createCard(card("列表加载前", "列表竞争"));
+        card.setTitle("列表加载期间更新");
+
+        afterQuery("findByCategoryIgnoreCase",
+                () -> CompletableFuture.runAsync(() -> cardService.updateCard(card.getId(), card)).join());
+        assertEquals(List.of("列表加载前"), titles(cardService.getCardsByCategory("列表竞争")));
+
+        assertEquals(List.of("列表加载期间更新"), titles(cardService.getCardsByCategory("列表竞争")));
+    }
+
+    @Test
+    void cachedListsReturnCopies() {
+        CardDTO card = card("列表副本", "列表副本");
+        card.setIsFavorite(true);
+        cardService.createCard(card);
+
+        cardService.getCardsByCategory("列表副本").get(0).setTitle("调用方修改");
+        cardService.getFavoriteCards().forEach(favorite -> favorite.setTitle("调用方修改"));
+
+        assertEquals(List.of("列表副本"), titles(cardService.getCardsByCategory("列表副本")));
+        assertEquals(List.of("列表副本"), cardService.getFavoriteCards().stream()
+                .filter(favorite -> "列表副本".equals(favorite.getCategory()))
+                .map(CardDTO::getTitle)
+                .toList());
+    }
+
+    @Test
+    void cachedCardsReturnCopies() {
+        CardDTO card = cardService.createCard(card("单张副本", "单张副本"));
+
+        cardService.getCardById(card.getId()).setTitle("调用方修改");
+
+        assertEquals("单张副本", cardService.getCardById(card.getId()).getTitle());
+    }
+
+    private static void afterQuery(String method, Runnable action) {
+        AFTER_QUERY.set(new AfterQuery(method, action));
+    }
+
+    private static List<String> titles(List<CardDTO> cards) {
+        return cards.stream().map(CardDTO::getTitle).toList();
+    }
+
+    private static CardDTO card(String title, String category) {
+        CardDTO card = new CardDTO();
+        card.setTitle(title);
+        card.setCategory(category);
+        return card;
+    }
+
+    private record AfterQuery(String method, Runnable action) {
+    }
+
+    @TestConfiguration
+    static class InterceptingConfig {
+
+        @Bean
+        static BeanPostProcessor interceptingCardRepository() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof CardRepository)) {
+                        return bean;
+                    }
+                    return Proxy.newProxyInstance(bean.getClass().getClassLoader(),
+                            ClassUtils.getAllInterfaces(bean), (proxy, method, args) -> {
+                                Object result;
+                                try {
+                                    result = method.invoke(bean, args);
+                                } catch (InvocationTargetException e) {
+                                    throw e.getCause();
+                                }
+                                AfterQuery after = AFTER_QUERY.get();
+                                if (after != null && after.method().equals(method.getName())
+                                        && AFTER_QUERY.compareAndSet(after, null)) {
+                                    after.action().run();
+                                }
+                                return result;
+                            });
+                }
+            };
+        }
+    }
+}
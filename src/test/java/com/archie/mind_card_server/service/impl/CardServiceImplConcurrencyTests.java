@@ -0,0 +1,83 @@
+package com.archie.mind_card_server.service.impl;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.exception.VersionConflictException;
+import com.archie.mind_card_server.service.CardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CardServiceImplConcurrencyTests {
+
+    private static final int THREADS = 8;
+
+    private static final int TOGGLES_PER_THREAD = 25;
+
+    @Autowired
+    private CardService cardService;
+
+    @Test
+    void concurrentTogglesAreNotLost() throws Exception {
+        CardDTO card = cardService.createCard(card("并发切换"));
+
+        // 一半线程切换收藏，一半切换公开，每个字段都切换偶数次
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            boolean favorite = i % 2 == 0;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < TOGGLES_PER_THREAD; j++) {
+                    if (favorite) {
+                        cardService.toggleFavorite(card.getId());
+                    } else {
+                        cardService.togglePublic(card.getId());
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        CardDTO result = cardService.getCardById(card.getId());
+        assertEquals(card.getIsFavorite(), result.getIsFavorite());
+        assertEquals(card.getIsPublic(), result.getIsPublic());
+        assertEquals(card.getVersion() + THREADS * TOGGLES_PER_THREAD, result.getVersion());
+    }
+
+    @Test
+    void updateWithStaleVersionIsRejected() {
+        CardDTO card = cardService.createCard(card("版本冲突"));
+        cardService.toggleFavorite(card.getId());
+
+        card.setTitle("版本冲突-改");
+        assertThrows(VersionConflictException.class, () -> cardService.updateCard(card.getId(), card));
+
+        card.setVersion(cardService.getCardById(card.getId()).getVersion());
+        assertEquals("版本冲突-改", cardService.updateCard(card.getId(), card).getTitle());
+    }
+
+    private static CardDTO card(String title) {
+        CardDTO card = new CardDTO();
+        card.setTitle(title);
+        return card;
+    }
+}
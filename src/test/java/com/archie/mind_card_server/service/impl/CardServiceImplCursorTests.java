@@ -0,0 +1,124 @@
+package com.archie.mind_card_server.service.impl;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.dto.CardSummaryDTO;
+import com.archie.mind_card_server.dto.CursorPage;
+import com.archie.mind_card_server.dto.PageCursor;
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.repository.CardRepository;
+import com.archie.mind_card_server.service.CardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 游标分页：排序值相同的卡片按ID区分先后，逐页遍历得到与完整排序相同的结果，不重复也不遗漏
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CardServiceImplCursorTests {
+
+    private static final Comparator<Card> BY_CREATED_AT = Comparator.comparing(Card::getCreatedAt)
+            .thenComparing(Card::getId)
+            .reversed();
+
+    private static final Comparator<Card> BY_VIEW_COUNT = Comparator.comparing(Card::getViewCount)
+            .thenComparing(Card::getId)
+            .reversed();
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createCardsWithEqualSortKeys() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            CardDTO card = new CardDTO();
+            card.setTitle("游标遍历" + i);
+            ids.add(cardService.createCard(card).getId());
+        }
+        // 三张一组，组内创建时间和查看次数都相同
+        LocalDateTime base = LocalDateTime.now().minusDays(1).withNano(0);
+        for (int i = 0; i < ids.size(); i++) {
+            jdbcTemplate.update("UPDATE cards SET created_at = ?, view_count = ? WHERE id = ?",
+                    base.plusMinutes(i / 3), 1000 + i / 3, ids.get(i));
+        }
+        cardService.batchUpdateStatus(List.of(ids.get(4)), Card.CardStatus.ARCHIVED);
+    }
+
+    @Test
+    void walkingAllPagesMatchesFullOrder() {
+        assertEquals(expected(card -> true, BY_CREATED_AT),
+                walk((cursor, size) -> cardService.getCards(cursor, size), CardDTO::getId));
+        assertEquals(expected(card -> card.getStatus() == Card.CardStatus.ACTIVE, BY_CREATED_AT),
+                walk((cursor, size) -> cardService.getCardsByStatus(Card.CardStatus.ACTIVE, cursor, size),
+                        CardDTO::getId));
+        assertEquals(expected(card -> card.getStatus() == Card.CardStatus.ACTIVE, BY_VIEW_COUNT),
+                walk((cursor, size) -> cardService.getPopularCards(cursor, size), CardDTO::getId));
+        assertEquals(expected(card -> card.getTitle().startsWith("游标遍历")
+                                && card.getStatus() == Card.CardStatus.ACTIVE, BY_CREATED_AT),
+                walk((cursor, size) -> cardService.searchByKeyword("游标遍历", cursor, size), CardDTO::getId));
+        assertEquals(expected(card -> true, BY_CREATED_AT),
+                walk((cursor, size) -> cardService.getCardSummaries(cursor, size), CardSummaryDTO::getId));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        CursorPage<CardDTO> page = cardService.searchByKeyword("游标遍历", "", 100);
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void invalidCursorsAndSizesAreRejected() {
+        String popular = PageCursor.ofViewCount(1, 1L).encode();
+        assertThrows(IllegalArgumentException.class, () -> cardService.getCards(popular, 10));
+        assertThrows(IllegalArgumentException.class, () -> cardService.getPopularCards("garbage", 10));
+        assertThrows(IllegalArgumentException.class, () -> cardService.getCards("", 0));
+        assertThrows(IllegalArgumentException.class, () -> cardService.getCards("", 1001));
+    }
+
+    private List<Long> expected(Predicate<Card> filter, Comparator<Card> order) {
+        return cardRepository.findAll().stream()
+                .filter(filter)
+                .sorted(order)
+                .map(Card::getId)
+                .toList();
+    }
+
+    // 每页3条，跟随 nextCursor 直到最后一页
+    private static <T> List<Long> walk(BiFunction<String, Integer, CursorPage<T>> query, Function<T, Long> id) {
+        List<Long> walked = new ArrayList<>();
+        String cursor = "";
+        while (true) {
+            CursorPage<T> page = query.apply(cursor, 3);
+            page.getContent().forEach(item -> walked.add(id.apply(item)));
+            if (!page.isHasNext()) {
+                return walked;
+            }
+            cursor = page.getNextCursor();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.archie.mind_card_server.service.impl;
+
+import com.archie.mind_card_server.config.CardTagBackfill;
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.dto.TagCountDTO;
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.service.CardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 标签查询：精确、前缀、任一和全部匹配，标签统计，以及从 cards.tags 回填 card_tags
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tags",
+        "app.tags.backfill-batch-size=2"
+})
+@ActiveProfiles("test")
+class CardServiceImplTagTests {
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private CardTagBackfill backfill;
+
+    @Autowired
+    private CardIdAllocator idAllocator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void matchesExactPrefixAnyAndAllTags() {
+        Long java = create("tq-java, TQ-Spring").getId();
+        Long javascript = create("tq-javascript，tq-web").getId();
+        Long spring = create("tq-spring").getId();
+        Long percent = create("tq-100%done").getId();
+        Long underscore = create("tq-100x").getId();
+        CardDTO archived = create("tq-java");
+        cardService.updateStatus(archived.getId(), Card.CardStatus.ARCHIVED);
+
+        // 大小写和首尾空格在查询前标准化，非激活的卡片不返回
+        assertEquals(Set.of(java), ids(cardService.searchByTag(" TQ-Java ")));
+        assertEquals(Set.of(java, javascript), ids(cardService.searchByTagPrefix("tq-jav")));
+        // 前缀中的 % 和 _ 按字面匹配
+        assertEquals(Set.of(percent), ids(cardService.searchByTagPrefix("tq-100%")));
+        assertEquals(Set.of(), ids(cardService.searchByTagPrefix("tq-10_")));
+        assertEquals(Set.of(percent, underscore), ids(cardService.searchByTagPrefix("tq-100")));
+
+        assertEquals(Set.of(java, spring, javascript),
+                ids(cardService.searchByTags(List.of("tq-spring", "tq-web"), false)));
+        assertEquals(Set.of(java), ids(cardService.searchByTags(List.of("tq-spring", "tq-java"), true)));
+        assertEquals(Set.of(), ids(cardService.searchByTags(List.of("tq-spring", "tq-web"), true)));
+        assertEquals(Set.of(), ids(cardService.searchByTags(List.of(" ", ","), true)));
+
+        Map<String, Long> counts = counts("tq-");
+        assertEquals(2L, counts.get("tq-spring"));
+        assertEquals(1L, counts.get("tq-java"));
+    }
+
+    @Test
+    void tagCardinalityLimitIsValidated() {
+        assertThrows(IllegalArgumentException.class, () -> cardService.getTagCardinality(0));
+        assertThrows(IllegalArgumentException.class, () -> cardService.getTagCardinality(-1));
+        assertThrows(IllegalArgumentException.class, () -> cardService.getTagCardinality(1001));
+
+        create("tl-a, tl-b, tl-c");
+        assertEquals(1, cardService.getTagCardinality(1).size());
+    }
+
+    @Test
+    void backfillCreatesMissingTagRowsOnce() {
+        // 绕过服务直接写入 cards.tags，模拟引入 card_tags 之前的数据
+        long[] ids = idAllocator.allocate(5);
+        for (int i = 0; i < ids.length; i++) {
+            jdbcTemplate.update("INSERT INTO cards (id, title, tags, status, priority, is_favorite, is_public, " +
+                            "view_count, created_at, version) VALUES (?, ?, ?, 'ACTIVE', 0, false, false, 0, ?, 0)",
+                    ids[i], "回填" + i, "tb-all, TB-" + i + ", tb-all", LocalDateTime.now());
+        }
+        assertEquals(List.of(), cardService.searchByTag("tb-all"));
+
+        // 批次大小为2，需要多批才能处理完；再次执行不会重复写入
+        backfill.backfill();
+        backfill.backfill();
+
+        assertEquals(5, cardService.searchByTag("tb-all").size());
+        assertEquals(1, cardService.searchByTag("tb-3").size());
+        Map<String, Long> counts = counts("tb-");
+        assertEquals(5L, counts.get("tb-all"));
+        assertEquals(6, counts.size());
+    }
+
+    private CardDTO create(String tags) {
+        CardDTO card = new CardDTO();
+        card.setTitle("标签 " + tags);
+        card.setTags(tags);
+        return cardService.createCard(card);
+    }
+
+    private Map<String, Long> counts(String prefix) {
+        return cardService.getTagCardinality(1000).stream()
+                .filter(count -> count.getTag().startsWith(prefix))
+                .collect(Collectors.toMap(TagCountDTO::getTag, TagCountDTO::getCount));
+    }
+
+    private static Set<Long> ids(List<CardDTO> cards) {
+        return cards.stream().map(CardDTO::getId).collect(Collectors.toSet());
+    }
+}
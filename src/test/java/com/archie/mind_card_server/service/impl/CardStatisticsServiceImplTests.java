@@ -0,0 +1,95 @@
+package com.archie.mind_card_server.service.impl;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.entity.Card;
+import com.archie.mind_card_server.event.CardChangedEvent;
+import com.archie.mind_card_server.event.CardsStatusChangedEvent;
+import com.archie.mind_card_server.repository.CardRepository;
+import com.archie.mind_card_server.service.CardService;
+import com.archie.mind_card_server.service.CardStatisticsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CardStatisticsServiceImplTests {
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private CardStatisticsService cardStatisticsService;
+
+    @Test
+    void countersFollowWritesWithoutRecompute() {
+        cardStatisticsService.reconcile();
+        long active = (long) cardStatisticsService.getStatistics(false).get("activeCards");
+
+        CardDTO first = cardService.createCard(card("统计一", "统计测试", 2));
+        CardDTO second = cardService.createCard(card("统计二", "统计测试", 1));
+        CardDTO third = cardService.createCard(card("统计三", "统计测试", 1));
+
+        first.setCategory("统计测试-改");
+        cardService.updateCard(first.getId(), first);
+        cardService.updateStatus(second.getId(), Card.CardStatus.ARCHIVED);
+        cardService.batchDeleteCards(List.of(third.getId(), first.getId()));
+        cardService.batchUpdateStatus(List.of(third.getId()), Card.CardStatus.ACTIVE);
+        cardService.hardDeleteCard(second.getId());
+
+        Map<String, Object> cached = cardStatisticsService.getStatistics(false);
+        assertEquals(active + 1, cached.get("activeCards"));
+        assertEquals(1L, ((Map<?, ?>) cached.get("categoryStats")).get("统计测试"));
+        assertEquals(cardStatisticsService.getStatistics(true), cached);
+    }
+
+    @Test
+    void changesCommittedDuringRecomputeAreKept() {
+        // 分组查询返回之前提交了一次新建和一次状态变更，查询结果中都没有
+        AtomicReference<CardStatisticsServiceImpl> service = new AtomicReference<>();
+        CardRepository repository = (CardRepository) Proxy.newProxyInstance(CardRepository.class.getClassLoader(),
+                new Class<?>[]{CardRepository.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("countGroups")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    if (service.get() != null) {
+                        CardDTO created = card("重算期间新建", "重算", 1);
+                        created.setStatus(Card.CardStatus.ACTIVE);
+                        service.get().onCardChanged(CardChangedEvent.created(created));
+                        service.get().onCardsStatusChanged(new CardsStatusChangedEvent(List.of(1L),
+                                List.of(new CardsStatusChangedEvent.Group(Card.CardStatus.ACTIVE, "重算", 2, 1)),
+                                Card.CardStatus.ARCHIVED));
+                    }
+                    return List.<Object[]>of(
+                            new Object[]{Card.CardStatus.ACTIVE, "重算", 2, 3L},
+                            new Object[]{Card.CardStatus.DELETED, "重算", 1, 1L});
+                });
+        CardStatisticsServiceImpl statistics = new CardStatisticsServiceImpl(repository);
+        statistics.reconcile();
+        service.set(statistics);
+
+        Map<String, Object> stats = statistics.getStatistics(true);
+
+        assertEquals(5L, stats.get("totalCards"));
+        assertEquals(3L, stats.get("activeCards"));
+        assertEquals(1L, stats.get("archivedCards"));
+        assertEquals(Map.of("重算", 3L), stats.get("categoryStats"));
+        assertEquals(Map.of(1, 1L, 2, 2L), stats.get("priorityStats"));
+    }
+
+    private static CardDTO card(String title, String category, int priority) {
+        CardDTO card = new CardDTO();
+        card.setTitle(title);
+        card.setCategory(category);
+        card.setPriority(priority);
+        return card;
+    }
+}
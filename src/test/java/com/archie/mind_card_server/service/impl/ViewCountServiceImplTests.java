@@ -0,0 +1,109 @@
+package com.archie.mind_card_server.service.impl;
+
+import com.archie.mind_card_server.dto.CardDTO;
+import com.archie.mind_card_server.service.CardService;
+import com.archie.mind_card_server.service.ViewCountService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ViewCountServiceImplTests {
+
+    private static final int THREADS = 8;
+
+    private static final int VIEWS_PER_THREAD = 5000;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private ViewCountService viewCountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentViewsAndFlushesLoseNoIncrements() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(cardService.createCard(card("查看次数" + i)).getId());
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean recording = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            writers.add(executor.submit(() -> {
+                await(start);
+                for (int i = 0; i < VIEWS_PER_THREAD; i++) {
+                    viewCountService.recordView(ids.get(i % ids.size()));
+                }
+            }));
+        }
+        // 写回与累加并发进行，不断把计数器清零、移除
+        Future<?> flusher = executor.submit(() -> {
+            await(start);
+            while (recording.get()) {
+                viewCountService.flush();
+            }
+        });
+
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(60, TimeUnit.SECONDS);
+        }
+        recording.set(false);
+        flusher.get(60, TimeUnit.SECONDS);
+        // 定时写回可能正持有写回锁，等待所有增量写入
+        long deadline = System.currentTimeMillis() + 10000;
+        while (ids.stream().anyMatch(id -> viewCountService.getPendingViews(id) > 0)
+                && System.currentTimeMillis() < deadline) {
+            viewCountService.flush();
+            Thread.sleep(10);
+        }
+
+        long total = 0;
+        for (Long id : ids) {
+            total += jdbcTemplate.queryForObject("SELECT view_count FROM cards WHERE id = ?", Long.class, id);
+        }
+        assertEquals((long) THREADS * VIEWS_PER_THREAD, total);
+    }
+
+    private static CardDTO card(String title) {
+        CardDTO card = new CardDTO();
+        card.setTitle(title);
+        card.setCategory("查看次数测试");
+        return card;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}